@@ -1,14 +1,26 @@
 package org.example.controller;
 
+import jakarta.validation.Valid;
+import org.example.dto.Request.HotelModerationRequest;
+import org.example.dto.Response.AdminHotelResponse;
+import org.example.dto.Response.AdminListPageResponse;
+import org.example.dto.Response.AdminUserResponse;
+import org.example.dto.Response.HotelModerationReport;
+import org.example.dto.Response.LoyaltyExpiryReport;
+import org.example.dto.Response.ReviewDuplicateScanReport;
 import org.example.entity.Hotel;
-import org.example.entity.User;
+import org.example.service.AdminListingService;
 import org.example.service.AdminService;
+import org.example.util.CursorCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -28,22 +40,108 @@ public class AdminController {
         return ResponseEntity.ok(adminService.getDashboardStats());
     }
 
+    @GetMapping(value = "/dashboard/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public SseEmitter streamDashboardStats() {
+        return adminService.streamDashboardStats();
+    }
+
+    @GetMapping("/cache/hotel-details")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getHotelDetailCacheStats() {
+        return ResponseEntity.ok(adminService.getHotelDetailCacheStats());
+    }
+
+    @GetMapping("/cache/principals")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getPrincipalCacheStats() {
+        return ResponseEntity.ok(adminService.getPrincipalCacheStats());
+    }
+
+    @PostMapping("/loyalty/expire")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> runLoyaltyExpiry(@RequestParam(defaultValue = "true") boolean dryRun) {
+        try {
+            LoyaltyExpiryReport report = adminService.runLoyaltyExpiry(dryRun);
+            return ResponseEntity.ok(report);
+        } catch (IllegalStateException e) {
+            logger.warn("Loyalty expiry not started: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/reviews/aggregates/repair")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> repairRatingAggregates() {
+        try {
+            return ResponseEntity.ok(adminService.repairRatingAggregates());
+        } catch (IllegalStateException e) {
+            logger.warn("Rating aggregate repair not started: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/reviews/duplicates/scan")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> scanReviewDuplicates(@RequestParam(defaultValue = "true") boolean dryRun) {
+        try {
+            ReviewDuplicateScanReport report = adminService.scanReviewDuplicates(dryRun);
+            return ResponseEntity.ok(report);
+        } catch (IllegalStateException e) {
+            logger.warn("Review duplicate scan not started: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/reviews/{reviewId}/unflag")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> unflagReview(@PathVariable Long reviewId) {
+        try {
+            return ResponseEntity.ok(adminService.unflagReview(reviewId));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/analytics/backfill")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> backfillAnalytics() {
+        try {
+            return ResponseEntity.ok(adminService.backfillAnalytics());
+        } catch (IllegalStateException e) {
+            logger.warn("Analytics backfill not started: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @GetMapping("/users")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<User>> getAllUsers() {
-        return ResponseEntity.ok(adminService.getAllUsers());
+    public ResponseEntity<List<AdminUserResponse>> listUsers(@RequestParam(required = false) String role,
+                                                             @RequestParam(required = false) String email,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(required = false) Integer size,
+                                                             @RequestParam(required = false) String count) {
+        return listing(adminService.listUsers(role, email, cursor, size, count));
     }
 
     @GetMapping("/hotels")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<Hotel>> getAllHotels() {
-        return ResponseEntity.ok(adminService.getAllHotels());
+    public ResponseEntity<List<AdminHotelResponse>> listHotels(@RequestParam(required = false) String status,
+                                                               @RequestParam(required = false) String managerEmail,
+                                                               @RequestParam(required = false) String name,
+                                                               @RequestParam(required = false) String cursor,
+                                                               @RequestParam(required = false) Integer size,
+                                                               @RequestParam(required = false) String count) {
+        return listing(adminService.listHotels(status, managerEmail, name, cursor, size, count));
     }
 
     @GetMapping("/hotels/{status}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<Hotel>> getHotelsByStatus(@PathVariable String status) {
-        return ResponseEntity.ok(adminService.getHotelsByStatus(status.toUpperCase()));
+    public ResponseEntity<List<AdminHotelResponse>> getHotelsByStatus(@PathVariable String status,
+                                                                      @RequestParam(required = false) String cursor,
+                                                                      @RequestParam(required = false) Integer size,
+                                                                      @RequestParam(required = false) String count) {
+        return listing(adminService.listHotels(status, null, null, cursor, size, count));
     }
 
     @PutMapping("/hotels/{hotelId}/approve")
@@ -57,4 +155,22 @@ public class AdminController {
     public ResponseEntity<Hotel> rejectHotel(@PathVariable Long hotelId) {
         return ResponseEntity.ok(adminService.rejectHotel(hotelId));
     }
+
+    @PostMapping("/hotels/moderation")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<HotelModerationReport> moderateHotels(@Valid @RequestBody HotelModerationRequest request) {
+        return ResponseEntity.ok(adminService.moderateHotels(request));
+    }
+
+    private <T> ResponseEntity<List<T>> listing(AdminListPageResponse<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(CursorCodec.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        if (page.getTotalCount() != null) {
+            response.header(AdminListingService.TOTAL_COUNT_HEADER, page.getTotalCount().toString());
+            response.header(AdminListingService.COUNT_ACCURACY_HEADER, page.getCountAccuracy());
+        }
+        return response.body(page.getItems());
+    }
 }
@@ -1,8 +1,14 @@
 package org.example.controller;
 
 import org.example.dto.Response.HotelDetailResponse;
+import org.example.dto.Response.HotelSearchPageResponse;
 import org.example.dto.Response.HotelSummaryResponse;
+import org.example.dto.Response.RateQuoteResponse;
+import org.example.dto.Response.ReviewPageResponse;
+import org.example.dto.Response.ReviewResponse;
 import org.example.service.HotelService;
+import org.example.service.ReviewService;
+import org.example.util.CursorCodec;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,13 +23,26 @@ public class HotelController {
     @Autowired
     private HotelService hotelService;
 
+    @Autowired
+    private ReviewService reviewService;
+
     @GetMapping
     public ResponseEntity<List<HotelSummaryResponse>> searchHotels(
             @RequestParam(required = false) String location,
-            @RequestParam(required = false) String roomType) {
+            @RequestParam(required = false) String roomType,
+            @RequestParam(required = false) String checkin,
+            @RequestParam(required = false) String checkout,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
 
-        List<HotelSummaryResponse> hotels = hotelService.searchHotels(location, roomType);
-        return ResponseEntity.ok(hotels);
+        HotelSearchPageResponse page = hotelService.searchHotels(location, roomType, checkin, checkout,
+                sort, cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(CursorCodec.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getHotels());
     }
 
     @GetMapping("/{id}")
@@ -31,4 +50,28 @@ public class HotelController {
         HotelDetailResponse hotel = hotelService.getHotelDetail(id);
         return ResponseEntity.ok(hotel);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/{id}/quote")
+    public ResponseEntity<RateQuoteResponse> quoteStay(
+            @PathVariable Long id,
+            @RequestParam String roomType,
+            @RequestParam String checkin,
+            @RequestParam String checkout) {
+        return ResponseEntity.ok(hotelService.quoteStay(id, roomType, checkin, checkout));
+    }
+
+    @GetMapping("/{id}/reviews")
+    public ResponseEntity<List<ReviewResponse>> getHotelReviews(
+            @PathVariable Long id,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+
+        ReviewPageResponse page = reviewService.getHotelReviews(id, sort, cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(CursorCodec.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getReviews());
+    }
+}
@@ -1,18 +1,29 @@
 package org.example.controller;
 
-import org.example.dto.Response.ManagerBookingResponse;
+import org.example.dto.Request.RoomRateRequest;
+import org.example.dto.Response.HotelImportReport;
+import org.example.dto.Response.ManagerAnalyticsResponse;
+import org.example.dto.Response.ManagerBookingPageResponse;
 import org.example.dto.Response.ManagerHotelResponse;
 import org.example.dto.Response.ManagerReviewResponse;
+import org.example.exceptions.ResourceNotFoundException;
+import org.example.service.ExportService;
 import org.example.service.ManagerService;
+import org.example.util.CursorCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
@@ -48,6 +59,60 @@ public class ManagerController {
         }
     }
 
+    @PostMapping("/hotels/import")
+    @PreAuthorize("hasRole('MANAGER')")
+    public ResponseEntity<?> importHotels(InputStream body,
+                                          @RequestParam(required = false) String format,
+                                          @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+                                          Authentication authentication) {
+        try {
+            HotelImportReport report = managerService.importHotels(body, format, contentType, authentication.getName());
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        } catch (Exception e) {
+            logger.error("Error importing hotels: ", e);
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to import hotels: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    @PutMapping("/hotels/{id}/rates")
+    @PreAuthorize("hasRole('MANAGER')")
+    public ResponseEntity<?> updateRates(@PathVariable Long id,
+                                         @RequestBody List<RoomRateRequest> rates,
+                                         Authentication authentication) {
+        try {
+            String managerEmail = authentication.getName();
+            int stored = managerService.updateRates(id, rates, managerEmail);
+            Map<String, Object> successResponse = new HashMap<>();
+            successResponse.put("message", "Rates updated successfully");
+            successResponse.put("updated", stored);
+            return ResponseEntity.ok(successResponse);
+        } catch (ResourceNotFoundException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        } catch (AccessDeniedException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(errorResponse);
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid rate data: ", e);
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        } catch (Exception e) {
+            logger.error("Error updating rates: ", e);
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to update rates: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
     @GetMapping("/hotels")
     @PreAuthorize("hasRole('MANAGER')")
     public ResponseEntity<?> getManagerHotels(Authentication authentication) {
@@ -65,11 +130,35 @@ public class ManagerController {
 
     @GetMapping("/bookings")
     @PreAuthorize("hasRole('MANAGER')")
-    public ResponseEntity<?> getManagerBookings(Authentication authentication) {
+    public ResponseEntity<?> getManagerBookings(@RequestParam(required = false) Long hotelId,
+                                                @RequestParam(required = false) String status,
+                                                @RequestParam(required = false) String from,
+                                                @RequestParam(required = false) String to,
+                                                @RequestParam(required = false) String guest,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(required = false) Integer size,
+                                                Authentication authentication) {
         try {
             String managerEmail = authentication.getName();
-            List<ManagerBookingResponse> bookings = managerService.getManagerBookings(managerEmail);
-            return ResponseEntity.ok(bookings);
+            ManagerBookingPageResponse page = managerService.getManagerBookings(managerEmail, hotelId, status,
+                    from, to, guest, cursor, size);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.getNextCursor() != null) {
+                response.header(CursorCodec.NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return response.body(page.getBookings());
+        } catch (ResourceNotFoundException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        } catch (AccessDeniedException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(errorResponse);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
         } catch (Exception e) {
             logger.error("Error getting manager bookings: ", e);
             Map<String, String> errorResponse = new HashMap<>();
@@ -78,6 +167,72 @@ public class ManagerController {
         }
     }
 
+    @GetMapping("/analytics")
+    @PreAuthorize("hasRole('MANAGER')")
+    public ResponseEntity<?> getAnalytics(@RequestParam(required = false) Long hotelId,
+                                          @RequestParam(required = false) String from,
+                                          @RequestParam(required = false) String to,
+                                          Authentication authentication) {
+        try {
+            String managerEmail = authentication.getName();
+            ManagerAnalyticsResponse analytics = managerService.getAnalytics(managerEmail, hotelId, from, to);
+            return ResponseEntity.ok(analytics);
+        } catch (AccessDeniedException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(errorResponse);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        } catch (Exception e) {
+            logger.error("Error getting manager analytics: ", e);
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to get analytics: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    @GetMapping("/exports/bookings")
+    @PreAuthorize("hasRole('MANAGER')")
+    public ResponseEntity<?> exportBookings(@RequestParam(required = false) String format,
+                                            @RequestParam(required = false) String from,
+                                            @RequestParam(required = false) String to,
+                                            @RequestParam(defaultValue = "false") boolean gzip,
+                                            Authentication authentication) {
+        try {
+            return streamExport(managerService.exportBookings(authentication.getName(), format, from, to, gzip));
+        } catch (IllegalArgumentException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+
+    @GetMapping("/exports/reviews")
+    @PreAuthorize("hasRole('MANAGER')")
+    public ResponseEntity<?> exportReviews(@RequestParam(required = false) String format,
+                                           @RequestParam(required = false) String from,
+                                           @RequestParam(required = false) String to,
+                                           @RequestParam(defaultValue = "false") boolean gzip,
+                                           Authentication authentication) {
+        try {
+            return streamExport(managerService.exportReviews(authentication.getName(), format, from, to, gzip));
+        } catch (IllegalArgumentException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+
+    private ResponseEntity<StreamingResponseBody> streamExport(ExportService.Export export) {
+        return ResponseEntity.ok()
+                .contentType(export.contentType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(export.filename()).build().toString())
+                .body(export.body());
+    }
+
     @GetMapping("/reviews")
     @PreAuthorize("hasRole('MANAGER')")
     public ResponseEntity<?> getManagerReviews(Authentication authentication) {
@@ -2,17 +2,21 @@ package org.example.controller;
 
 import org.example.dto.Request.BookingRequest;
 import org.example.dto.Response.BookingResponse;
+import org.example.dto.Response.LoyaltyHistoryPageResponse;
 import org.example.dto.Response.LoyaltyResponse;
-import org.example.dto.Response.LoyaltyHistoryResponse;
 import org.example.dto.Response.PaymentResponse;
 import org.example.dto.Response.ReviewResponse;
 import org.example.entity.Loyalty;
+import org.example.exceptions.BookingExpiredException;
 import org.example.exceptions.DuplicatePaymentException;
 import org.example.exceptions.ResourceNotFoundException;
+import org.example.exceptions.RoomUnavailableException;
 import org.example.service.BookingService;
+import org.example.service.IdempotencyService;
 import org.example.service.LoyaltyService;
 import org.example.service.PaymentService;
 import org.example.service.ReviewService;
+import org.example.util.CursorCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -45,14 +49,38 @@ public class UserController {
     @Autowired
     private LoyaltyService loyaltyService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     @PostMapping("/bookings")
     @PreAuthorize("hasRole('USER')")
     public ResponseEntity<?> createBooking(@RequestBody BookingRequest request,
+                                           @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
                                            Authentication authentication) {
+        String userEmail = authentication.getName();
+        return idempotencyService.execute(idempotencyKey, userEmail, "POST /api/user/bookings", request,
+                () -> doCreateBooking(request, userEmail));
+    }
+
+    private ResponseEntity<?> doCreateBooking(BookingRequest request, String userEmail) {
         try {
-            String userEmail = authentication.getName();
             BookingResponse booking = bookingService.createBooking(request, userEmail);
             return ResponseEntity.ok(booking);
+        } catch (RoomUnavailableException e) {
+            logger.warn("Booking rejected: {}", e.getMessage());
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+        } catch (ResourceNotFoundException e) {
+            logger.error("Resource not found: ", e);
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid booking data: ", e);
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
         } catch (Exception e) {
             logger.error("Error creating booking: ", e);
             Map<String, String> errorResponse = new HashMap<>();
@@ -79,11 +107,22 @@ public class UserController {
     @PostMapping("/payments")
     @PreAuthorize("hasRole('USER')")
     public ResponseEntity<?> createPayment(@RequestBody Map<String, Object> paymentData,
+                                           @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
                                            Authentication authentication) {
+        String userEmail = authentication.getName();
+        return idempotencyService.execute(idempotencyKey, userEmail, "POST /api/user/payments", paymentData,
+                () -> doCreatePayment(paymentData, userEmail));
+    }
+
+    private ResponseEntity<?> doCreatePayment(Map<String, Object> paymentData, String userEmail) {
         try {
-            String userEmail = authentication.getName();
             PaymentResponse payment = paymentService.createPayment(paymentData, userEmail);
             return ResponseEntity.ok(payment);
+        } catch (BookingExpiredException e) {
+            logger.error("Payment for expired booking: ", e);
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
         } catch (DuplicatePaymentException e) {
             logger.error("Duplicate payment attempt: ", e);
             Map<String, String> errorResponse = new HashMap<>();
@@ -195,13 +234,38 @@ public class UserController {
         }
     }
 
+    @GetMapping("/loyalty/balance")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<?> getLoyaltyBalance(Authentication authentication) {
+        try {
+            String userEmail = authentication.getName();
+            LoyaltyResponse balance = loyaltyService.getLoyaltyBalance(userEmail);
+            return ResponseEntity.ok(balance);
+        } catch (Exception e) {
+            logger.error("Error getting loyalty balance: ", e);
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to get loyalty balance: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
     @GetMapping("/loyalty/history")
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<?> getLoyaltyHistory(Authentication authentication) {
+    public ResponseEntity<?> getLoyaltyHistory(@RequestParam(required = false) String cursor,
+                                               @RequestParam(required = false) Integer size,
+                                               Authentication authentication) {
         try {
             String userEmail = authentication.getName();
-            List<LoyaltyHistoryResponse> history = loyaltyService.getLoyaltyHistory(userEmail);
-            return ResponseEntity.ok(history);
+            LoyaltyHistoryPageResponse page = loyaltyService.getLoyaltyHistory(userEmail, cursor, size);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.getNextCursor() != null) {
+                response.header(CursorCodec.NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return response.body(page.getHistory());
+        } catch (IllegalArgumentException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
         } catch (Exception e) {
             logger.error("Error getting loyalty history: ", e);
             Map<String, String> errorResponse = new HashMap<>();
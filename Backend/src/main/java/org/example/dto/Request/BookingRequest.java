@@ -21,12 +21,10 @@ public class BookingRequest {
     @NotNull
     private String checkout;
 
-    @NotNull
+    // Informational only; the server prices the stay from the rate calendar
     private Integer nights;
 
-    @NotNull
     private Double pricePerNight;
 
-    @NotNull
     private Double total;
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package org.example.dto.Request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotelImportRow {
+    private String name;
+
+    private String location;
+
+    private String description;
+
+    private List<String> amenities = new ArrayList<>();
+
+    private List<String> images = new ArrayList<>();
+
+    private List<Room> rooms = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Room {
+        private String type;
+
+        private Double price;
+
+        private Integer available;
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.dto.Request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotelModerationRequest {
+    @NotEmpty
+    private List<Long> hotelIds;
+
+    // APPROVED, REJECTED or PENDING
+    @NotNull
+    private String status;
+
+    // Only hotels currently in this status are changed; others are reported as conflicts
+    private String expectedStatus;
+}
@@ -0,0 +1,27 @@
+package org.example.dto.Request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomRateRequest {
+    @NotNull
+    private String roomType;
+
+    @NotNull
+    private String startDate;
+
+    @NotNull
+    private String endDate;
+
+    @NotNull
+    private Double price;
+
+    private Double weekendPrice;
+
+    private Integer minStay;
+}
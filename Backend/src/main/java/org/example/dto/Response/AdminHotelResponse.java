@@ -0,0 +1,24 @@
+package org.example.dto.Response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+import org.example.enums.HotelStatus;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true)
+public class AdminHotelResponse {
+    private Long id;
+    private String name;
+    private String location;
+    private Double rating;
+    private String managerEmail;
+    private HotelStatus status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,21 @@
+package org.example.dto.Response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true)
+public class AdminListPageResponse<T> {
+    private List<T> items;
+    private String nextCursor;
+    // Null unless a count was asked for
+    private Long totalCount;
+    // exact, estimate or at-least (the count stopped at a cap)
+    private String countAccuracy;
+}
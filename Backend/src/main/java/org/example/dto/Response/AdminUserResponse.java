@@ -0,0 +1,21 @@
+package org.example.dto.Response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+import org.example.enums.Roles;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true)
+public class AdminUserResponse {
+    private Long id;
+    private String email;
+    private String name;
+    private Roles role;
+    private Instant createdAt;
+}
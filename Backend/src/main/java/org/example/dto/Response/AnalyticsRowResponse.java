@@ -0,0 +1,25 @@
+package org.example.dto.Response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true)
+public class AnalyticsRowResponse {
+    private String hotelId;
+    private String hotelName;
+    // Null on the per-hotel totals rows
+    private String date;
+    private String roomType;
+    private long bookings;
+    private long arrivals;
+    private long roomNights;
+    private long capacity;
+    private Double occupancy;
+    private double revenue;
+    private Double adr;
+}
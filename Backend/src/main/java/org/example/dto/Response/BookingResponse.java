@@ -22,6 +22,7 @@ public class BookingResponse {
     private Double pricePerNight;
     private Double total;
     private String status;
+    private String holdExpiresAt;
 
     public BookingResponse(Booking booking) {
         this.id = booking.getId().toString();
@@ -35,5 +36,6 @@ public class BookingResponse {
         this.pricePerNight = booking.getPricePerNight();
         this.total = booking.getTotal();
         this.status = booking.getStatus().name().toLowerCase();
+        this.holdExpiresAt = booking.getHoldExpiresAt() != null ? booking.getHoldExpiresAt().toString() : null;
     }
 }
\ No newline at end of file
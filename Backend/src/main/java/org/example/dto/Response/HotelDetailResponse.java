@@ -1,6 +1,7 @@
 package org.example.dto.Response;
 
 import org.example.entity.Hotel;
+import org.example.entity.HotelRatingAggregate;
 import org.example.entity.Room;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -20,15 +21,19 @@ public class HotelDetailResponse {
     private String[] images;
     private String[] amenities;
     private Double rating;
+    private Long reviewCount;
+    private Map<Integer, Long> ratingHistogram;
     private String location;
     private Map<String, RoomInfo> rooms;
 
-    public HotelDetailResponse(Hotel hotel) {
+    public HotelDetailResponse(Hotel hotel, HotelRatingAggregate ratings) {
         this.id = hotel.getId().toString();
         this.name = hotel.getName();
         this.images = hotel.getImages().toArray(new String[0]);
         this.amenities = hotel.getAmenities().toArray(new String[0]);
         this.rating = hotel.getRating();
+        this.reviewCount = ratings.getReviewCount();
+        this.ratingHistogram = ratings.histogram();
         this.location = hotel.getLocation();
 
         this.rooms = new HashMap<>();
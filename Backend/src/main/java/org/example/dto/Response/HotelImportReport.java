@@ -0,0 +1,34 @@
+package org.example.dto.Response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true)
+public class HotelImportReport {
+    private long rowsRead;
+    private long hotelsImported;
+    private long roomsImported;
+    private long rowsFailed;
+    private List<Long> hotelIds = new ArrayList<>();
+    // Only the first errors are listed; rowsFailed has the full count
+    private List<RowError> errors = new ArrayList<>();
+    private long durationMs;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        // 1-based position of the hotel in the file, not counting a CSV header
+        private long row;
+        private String name;
+        private String error;
+    }
+}
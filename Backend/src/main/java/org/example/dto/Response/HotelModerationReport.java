@@ -0,0 +1,36 @@
+package org.example.dto.Response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+import org.example.enums.HotelStatus;
+import org.example.enums.ModerationOutcome;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true)
+public class HotelModerationReport {
+    private HotelStatus status;
+    private long requested;
+    private long updated;
+    private long unchanged;
+    private long conflicts;
+    private long notFound;
+    private List<Outcome> outcomes = new ArrayList<>();
+    private long durationMs;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Outcome {
+        private Long hotelId;
+        private ModerationOutcome outcome;
+        // Status before this request; null when the hotel does not exist
+        private HotelStatus previousStatus;
+    }
+}
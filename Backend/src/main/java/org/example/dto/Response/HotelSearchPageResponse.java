@@ -0,0 +1,15 @@
+package org.example.dto.Response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotelSearchPageResponse {
+    private List<HotelSummaryResponse> hotels;
+    private String nextCursor;
+}
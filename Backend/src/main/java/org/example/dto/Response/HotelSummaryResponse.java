@@ -8,6 +8,8 @@ import lombok.NoArgsConstructor;
 import lombok.experimental.Accessors;
 import org.example.entity.Room;
 
+import java.util.List;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,6 +21,8 @@ public class HotelSummaryResponse {
     private String[] amenities;
     private Double rating;
     private Double price;
+    // Cheapest matching room before rate calendar rules; the key of the base_price sort
+    private Double basePrice;
     private String location;
 
     public HotelSummaryResponse(Hotel hotel, RoomType roomType) {
@@ -34,5 +38,16 @@ public class HotelSummaryResponse {
                 .findFirst()
                 .map(Room::getPrice)
                 .orElse(0.0);
+        this.basePrice = this.price;
+    }
+
+    public HotelSummaryResponse(Hotel hotel, List<String> images, List<String> amenities, Double price) {
+        this.id = hotel.getId().toString();
+        this.name = hotel.getName();
+        this.image = images.isEmpty() ? "" : images.get(0);
+        this.amenities = amenities.toArray(new String[0]);
+        this.rating = hotel.getRating();
+        this.location = hotel.getLocation();
+        this.price = price != null ? price : 0.0;
     }
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package org.example.dto.Response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true)
+public class LoyaltyExpiryReport {
+    private boolean dryRun;
+    private LocalDateTime cutoff;
+    private long accountsScanned;
+    private long accountsExpired;
+    private long pointsExpired;
+    // Accounts whose balance changed mid-run; they are picked up by the next run
+    private long accountsSkipped;
+    private long durationMs;
+}
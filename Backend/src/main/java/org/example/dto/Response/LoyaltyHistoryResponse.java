@@ -18,6 +18,7 @@ public class LoyaltyHistoryResponse {
     private LoyaltyHistoryType type;
     private Integer points;
     private String description;
+    private Integer balanceAfter;
     private LocalDateTime date;
 
     public LoyaltyHistoryResponse(LoyaltyHistory history) {
@@ -25,6 +26,7 @@ public class LoyaltyHistoryResponse {
         this.type = history.getType();
         this.points = history.getPoints();
         this.description = history.getDescription();
+        this.balanceAfter = history.getBalanceAfter();
         this.date = history.getDate();
     }
 }
\ No newline at end of file
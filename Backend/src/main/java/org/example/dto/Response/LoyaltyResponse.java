@@ -20,6 +20,8 @@ public class LoyaltyResponse {
     private Integer totalEarned;
     private Integer totalRedeemed;
     private List<LoyaltyHistoryResponse> history;
+    // Continues the history from the last embedded entry via /api/user/loyalty/history
+    private String nextCursor;
 
     public LoyaltyResponse(Loyalty loyalty) {
         this.id = loyalty.getId();
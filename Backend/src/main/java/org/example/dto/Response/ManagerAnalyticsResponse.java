@@ -0,0 +1,19 @@
+package org.example.dto.Response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true)
+public class ManagerAnalyticsResponse {
+    private String from;
+    private String to;
+    private List<AnalyticsRowResponse> daily;
+    private List<AnalyticsRowResponse> totals;
+}
@@ -29,6 +29,13 @@ public class ManagerBookingResponse {
     private BookingStatus status;
     private LocalDateTime createdAt;
 
+    public ManagerBookingResponse(Long id, Long hotelId, String hotelName, String userEmail, RoomType roomType,
+                                  LocalDate checkin, LocalDate checkout, Integer nights, Double pricePerNight,
+                                  Double total, BookingStatus status, LocalDateTime createdAt) {
+        this(id, hotelId.toString(), hotelName, userEmail, roomType, checkin, checkout, nights, pricePerNight,
+                total, status, createdAt);
+    }
+
     public ManagerBookingResponse(Booking booking) {
         this.id = booking.getId();
         this.hotelId = booking.getHotel().getId().toString();
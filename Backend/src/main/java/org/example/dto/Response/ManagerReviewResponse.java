@@ -24,6 +24,8 @@ public class ManagerReviewResponse {
     private String replyManagerEmail;
     private String replyText;
     private LocalDateTime replyCreatedAt;
+    private Boolean flagged;
+    private Long duplicateOfId;
 
     public ManagerReviewResponse(Review review) {
         this.id = review.getId();
@@ -37,5 +39,7 @@ public class ManagerReviewResponse {
         this.replyManagerEmail = review.getReplyManagerEmail();
         this.replyText = review.getReplyText();
         this.replyCreatedAt = review.getReplyCreatedAt();
+        this.flagged = review.getFlagged();
+        this.duplicateOfId = review.getDuplicateOfId();
     }
 }
\ No newline at end of file
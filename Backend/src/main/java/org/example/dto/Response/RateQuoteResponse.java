@@ -0,0 +1,20 @@
+package org.example.dto.Response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true)
+public class RateQuoteResponse {
+    private String hotelId;
+    private String roomType;
+    private String checkin;
+    private String checkout;
+    private Integer nights;
+    private Double pricePerNight;
+    private Double total;
+}
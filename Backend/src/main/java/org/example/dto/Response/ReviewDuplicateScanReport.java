@@ -0,0 +1,19 @@
+package org.example.dto.Response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true)
+public class ReviewDuplicateScanReport {
+    private boolean dryRun;
+    private long reviewsScanned;
+    private long duplicatesFound;
+    // Duplicates that were not flagged before this scan
+    private long reviewsFlagged;
+    private long durationMs;
+}
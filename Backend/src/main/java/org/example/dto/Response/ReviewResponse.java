@@ -44,4 +44,22 @@ public class ReviewResponse {
         this.replyCreatedAt = review.getReplyCreatedAt();
         this.hasReply = review.getReplyText() != null && !review.getReplyText().trim().isEmpty();
     }
+
+    // Projection constructor for queries that select only these columns
+    public ReviewResponse(Long id, Long bookingId, Long hotelId, String hotelName, String userEmail, Integer rating,
+                          String comment, LocalDateTime createdAt, String replyManagerEmail, String replyText,
+                          LocalDateTime replyCreatedAt) {
+        this.id = id;
+        this.bookingId = bookingId == null ? null : bookingId.toString();
+        this.hotelId = hotelId.toString();
+        this.hotelName = hotelName;
+        this.userEmail = userEmail;
+        this.rating = rating;
+        this.comment = comment;
+        this.createdAt = createdAt;
+        this.replyManagerEmail = replyManagerEmail;
+        this.replyText = replyText;
+        this.replyCreatedAt = replyCreatedAt;
+        this.hasReply = replyText != null && !replyText.trim().isEmpty();
+    }
 }
\ No newline at end of file
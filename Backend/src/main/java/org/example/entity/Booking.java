@@ -19,7 +19,14 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_status_hold", columnList = "status, hold_expires_at"),
+        @Index(name = "idx_bookings_hotel_checkin", columnList = "hotel_id, checkin, id"),
+        @Index(name = "idx_bookings_hotel_status_checkin", columnList = "hotel_id, status, checkin, id"),
+        @Index(name = "idx_bookings_user_checkin", columnList = "user_email, checkin, id"),
+        @Index(name = "idx_bookings_manager_checkin", columnList = "manager_email, checkin, id"),
+        @Index(name = "idx_bookings_manager_status_checkin", columnList = "manager_email, status, checkin, id")
+})
 public class Booking {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -34,6 +41,10 @@ public class Booking {
     @NotNull
     private String userEmail;
 
+    // Copied from the hotel so a manager's bookings across all hotels are one index range
+    @Column(name = "manager_email")
+    private String managerEmail;
+
     @Enumerated(EnumType.STRING)
     private RoomType roomType;
 
@@ -58,4 +69,8 @@ public class Booking {
 
     @CreationTimestamp
     private LocalDateTime createdAt;
+
+    // Unpaid bookings release their inventory once this passes; null for bookings made before holds
+    @Column(name = "hold_expires_at")
+    private LocalDateTime holdExpiresAt;
 }
\ No newline at end of file
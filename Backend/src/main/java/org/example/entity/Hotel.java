@@ -20,7 +20,12 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "hotels")
+@Table(name = "hotels", indexes = {
+        @Index(name = "idx_hotels_status_rating", columnList = "status, rating, id"),
+        @Index(name = "idx_hotels_manager", columnList = "manager_email, id"),
+        @Index(name = "idx_hotels_status", columnList = "status, id"),
+        @Index(name = "idx_hotels_name", columnList = "name")
+})
 public class Hotel {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,55 @@
+package org.example.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.enums.RoomType;
+
+import java.time.LocalDate;
+
+/**
+ * Daily rollup per hotel and room type. Booking counts are keyed by the day the booking
+ * was made; arrivals, room nights and revenue by the night of the stay and only for
+ * paid bookings.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "hotel_daily_stats", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_hotel_daily_stats", columnNames = {"hotel_id", "stat_date", "room_type"})
+})
+public class HotelDailyStats {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "hotel_id", nullable = false)
+    private Long hotelId;
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "room_type", nullable = false)
+    private RoomType roomType;
+
+    @Builder.Default
+    @Column(name = "bookings_created", nullable = false)
+    private Integer bookingsCreated = 0;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer arrivals = 0;
+
+    @Builder.Default
+    @Column(name = "room_nights", nullable = false)
+    private Integer roomNights = 0;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Double revenue = 0.0;
+}
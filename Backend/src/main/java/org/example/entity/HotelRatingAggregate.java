@@ -0,0 +1,67 @@
+package org.example.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "hotel_rating_aggregates")
+public class HotelRatingAggregate {
+    @Id
+    @Column(name = "hotel_id")
+    private Long hotelId;
+
+    @Builder.Default
+    @Column(name = "review_count", nullable = false)
+    private Long reviewCount = 0L;
+
+    @Builder.Default
+    @Column(name = "rating_sum", nullable = false)
+    private Long ratingSum = 0L;
+
+    @Builder.Default
+    @Column(name = "stars_1", nullable = false)
+    private Long stars1 = 0L;
+
+    @Builder.Default
+    @Column(name = "stars_2", nullable = false)
+    private Long stars2 = 0L;
+
+    @Builder.Default
+    @Column(name = "stars_3", nullable = false)
+    private Long stars3 = 0L;
+
+    @Builder.Default
+    @Column(name = "stars_4", nullable = false)
+    private Long stars4 = 0L;
+
+    @Builder.Default
+    @Column(name = "stars_5", nullable = false)
+    private Long stars5 = 0L;
+
+    public Double averageRating() {
+        if (reviewCount == 0) {
+            return null;
+        }
+        return Math.round(ratingSum * 10.0 / reviewCount) / 10.0; // Round to 1 decimal
+    }
+
+    public Map<Integer, Long> histogram() {
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        histogram.put(1, stars1);
+        histogram.put(2, stars2);
+        histogram.put(3, stars3);
+        histogram.put(4, stars4);
+        histogram.put(5, stars5);
+        return histogram;
+    }
+}
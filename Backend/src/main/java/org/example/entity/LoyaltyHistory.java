@@ -10,7 +10,9 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "loyalty_history")
+@Table(name = "loyalty_history", indexes = {
+        @Index(name = "idx_loyalty_history_account_date", columnList = "loyalty_id, date, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -33,6 +35,10 @@ public class LoyaltyHistory {
 
     private String description;
 
+    // Account balance right after this entry; null for entries written before it was tracked
+    @Column(name = "balance_after")
+    private Integer balanceAfter;
+
     @Column(nullable = false)
     @Builder.Default
     private LocalDateTime date = LocalDateTime.now();
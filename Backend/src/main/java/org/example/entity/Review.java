@@ -14,7 +14,10 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = {
+        @Index(name = "idx_reviews_hotel_created", columnList = "hotel_id, created_at, id"),
+        @Index(name = "idx_reviews_hotel_rating_created", columnList = "hotel_id, rating, created_at, id")
+})
 public class Review {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -45,6 +48,20 @@ public class Review {
     @Column(name = "reply_created_at")
     private LocalDateTime replyCreatedAt;
 
+    // Set when the comment is a near-duplicate of an earlier review
+    @Builder.Default
+    @Column(name = "flagged", columnDefinition = "boolean default false")
+    private Boolean flagged = false;
+
+    @Column(name = "duplicate_of_id")
+    private Long duplicateOfId;
+
+    // Flagged reviews earn their points only once a moderator clears them. Rows written
+    // before this column existed default to true, so clearing them awards nothing twice
+    @Builder.Default
+    @Column(name = "points_awarded", columnDefinition = "boolean default true")
+    private Boolean pointsAwarded = false;
+
     @CreationTimestamp
     @Column(name = "created_at")
     private LocalDateTime createdAt;
@@ -14,7 +14,9 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "rooms")
+@Table(name = "rooms", indexes = {
+        @Index(name = "idx_rooms_hotel_type_price", columnList = "hotel_id, type, price")
+})
 public class Room {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,47 @@
+package org.example.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.enums.RoomType;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "room_inventory", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_room_inventory_night", columnNames = {"hotel_id", "room_type", "night"})
+})
+public class RoomInventory {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(name = "hotel_id", nullable = false)
+    private Long hotelId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "room_type", nullable = false)
+    private RoomType roomType;
+
+    @NotNull
+    @Column(nullable = false)
+    private LocalDate night;
+
+    @NotNull
+    @Column(nullable = false)
+    private Integer total;
+
+    @NotNull
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer reserved = 0;
+}
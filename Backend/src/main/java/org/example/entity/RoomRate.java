@@ -0,0 +1,58 @@
+package org.example.entity;
+
+import org.example.enums.RoomType;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * A rate rule for one room type over a range of nights, end exclusive. Rules are kept
+ * as ranges rather than per-night rows; where ranges overlap the later rule wins.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "room_rates", indexes = {
+        @Index(name = "idx_room_rates_hotel_type", columnList = "hotel_id, room_type, start_date")
+})
+public class RoomRate {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(name = "hotel_id", nullable = false)
+    private Long hotelId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "room_type", nullable = false)
+    private RoomType roomType;
+
+    @NotNull
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @NotNull
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    @NotNull
+    @Column(name = "price", nullable = false)
+    private Double price;
+
+    // Friday and Saturday nights; falls back to price when null
+    @Column(name = "weekend_price")
+    private Double weekendPrice;
+
+    // Minimum nights for stays arriving in the range
+    @Column(name = "min_stay")
+    private Integer minStay;
+}
@@ -0,0 +1,36 @@
+package org.example.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tokens of a user with a version below minTokenVersion are no longer accepted. A row is
+ * only needed while such tokens could still be unexpired, so old rows are purged.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "token_revocations", indexes = {
+        @Index(name = "idx_token_revocations_revoked_at", columnList = "revoked_at")
+})
+public class TokenRevocation {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @NotNull
+    @Column(name = "min_token_version", nullable = false)
+    private Integer minTokenVersion;
+
+    @NotNull
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+}
@@ -21,7 +21,9 @@ import java.util.Collection;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "Users")
+@Table(name = "Users", indexes = {
+        @Index(name = "idx_users_role", columnList = "role, id")
+})
 public class User implements UserDetails {
 
     @Id
@@ -45,6 +47,11 @@ public class User implements UserDetails {
     @Column(nullable = false)
     private Roles role;
 
+    // Embedded in issued tokens; bumping it invalidates every token issued before
+    @Builder.Default
+    @Column(name = "token_version", nullable = false, columnDefinition = "int default 0")
+    private int tokenVersion = 0;
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return Arrays.asList(new SimpleGrantedAuthority(role.name()));
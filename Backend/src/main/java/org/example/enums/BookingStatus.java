@@ -1,5 +1,5 @@
 package org.example.enums;
 
 public enum BookingStatus {
-    PENDING_PAYMENT, PAID
+    PENDING_PAYMENT, PAID, EXPIRED
 }
\ No newline at end of file
@@ -0,0 +1,5 @@
+package org.example.enums;
+
+public enum CountMode {
+    NONE, EXACT, ESTIMATE
+}
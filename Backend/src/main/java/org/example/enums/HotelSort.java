@@ -0,0 +1,7 @@
+package org.example.enums;
+
+public enum HotelSort {
+    // BASE_PRICE orders by the cheapest matching room's base price, which the rate
+    // calendar may override for particular nights
+    RATING, BASE_PRICE, ID
+}
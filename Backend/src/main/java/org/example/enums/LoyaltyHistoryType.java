@@ -1,5 +1,5 @@
 package org.example.enums;
 
 public enum LoyaltyHistoryType {
-    EARNED, REDEEMED
+    EARNED, REDEEMED, EXPIRED
 }
\ No newline at end of file
@@ -0,0 +1,5 @@
+package org.example.enums;
+
+public enum ModerationOutcome {
+    UPDATED, UNCHANGED, CONFLICT, NOT_FOUND
+}
@@ -0,0 +1,5 @@
+package org.example.enums;
+
+public enum OutboxEventType {
+    LOYALTY_AWARD, HOTEL_RATING_REFRESH
+}
@@ -0,0 +1,7 @@
+package org.example.exceptions;
+
+public class RoomUnavailableException extends RuntimeException {
+    public RoomUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -1,22 +1,54 @@
 package org.example.repository;
 
 import org.example.entity.Booking;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, ManagerBookingSearchRepository {
     List<Booking> findByUserEmail(String userEmail);
 
-    @Query("SELECT b FROM Booking b WHERE b.hotel.managerEmail = :managerEmail")
-    List<Booking> findByManagerEmail(String managerEmail);
+    @Query("SELECT b.id, b.holdExpiresAt FROM Booking b " +
+            "WHERE b.status = 'PENDING_PAYMENT' AND b.holdExpiresAt IS NOT NULL")
+    List<Object[]> findPendingHolds();
 
-    @Query("SELECT COUNT(b) FROM Booking b")
-    long countAllBookings();
+    @Query("SELECT b.id FROM Booking b " +
+            "WHERE b.status = 'PENDING_PAYMENT' AND b.holdExpiresAt <= :now ORDER BY b.holdExpiresAt")
+    List<Long> findExpiredHoldIds(@Param("now") LocalDateTime now, Pageable pageable);
 
-    @Query("SELECT SUM(b.total) FROM Booking b WHERE b.status = 'PAID'")
-    Double sumTotalRevenue();
-}
\ No newline at end of file
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.id IN :ids AND b.status = 'PENDING_PAYMENT' AND b.holdExpiresAt <= :now")
+    List<Booking> lockExpiredHolds(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = org.example.enums.BookingStatus.EXPIRED WHERE b.id IN :ids")
+    int markExpired(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = org.example.enums.BookingStatus.PAID " +
+            "WHERE b.id = :id AND b.status = 'PENDING_PAYMENT' " +
+            "AND (b.holdExpiresAt IS NULL OR b.holdExpiresAt > :now)")
+    int markPaid(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // One chunk per transaction; bookings of hotels without a manager are left alone
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE bookings SET manager_email = " +
+            "(SELECT h.manager_email FROM hotels h WHERE h.id = bookings.hotel_id) " +
+            "WHERE manager_email IS NULL AND EXISTS " +
+            "(SELECT 1 FROM hotels h WHERE h.id = bookings.hotel_id AND h.manager_email IS NOT NULL) " +
+            "LIMIT :limit", nativeQuery = true)
+    int backfillManagerEmails(@Param("limit") int limit);
+}
@@ -0,0 +1,27 @@
+package org.example.repository;
+
+import org.example.entity.HotelDailyStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface HotelDailyStatsRepository extends JpaRepository<HotelDailyStats, Long> {
+
+    @Query("SELECT s FROM HotelDailyStats s WHERE s.hotelId IN :hotelIds AND s.statDate BETWEEN :from AND :to " +
+            "ORDER BY s.hotelId, s.statDate, s.roomType")
+    List<HotelDailyStats> findRange(@Param("hotelIds") Collection<Long> hotelIds,
+                                    @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM HotelDailyStats s WHERE s.hotelId = :hotelId")
+    int deleteByHotelId(@Param("hotelId") Long hotelId);
+}
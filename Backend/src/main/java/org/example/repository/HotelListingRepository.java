@@ -0,0 +1,22 @@
+package org.example.repository;
+
+import org.example.dto.Response.AdminHotelResponse;
+import org.example.enums.HotelStatus;
+
+import java.util.List;
+
+public interface HotelListingRepository {
+
+    /**
+     * Returns one keyset page of hotels of any status, newest first, without loading
+     * their collections. The name filter is a prefix match.
+     */
+    List<AdminHotelResponse> listPage(HotelStatus status, String managerEmail, String namePrefix,
+                                      Long beforeId, int limit);
+
+    /**
+     * Counts the hotels matching the filters, stopping at {@code cap} + 1 when a cap is
+     * given.
+     */
+    long countMatching(HotelStatus status, String managerEmail, String namePrefix, Integer cap);
+}
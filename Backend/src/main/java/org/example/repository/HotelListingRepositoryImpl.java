@@ -0,0 +1,72 @@
+package org.example.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.example.dto.Response.AdminHotelResponse;
+import org.example.enums.HotelStatus;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class HotelListingRepositoryImpl implements HotelListingRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AdminHotelResponse> listPage(HotelStatus status, String managerEmail, String namePrefix,
+                                             Long beforeId, int limit) {
+        Map<String, Object> parameters = new HashMap<>();
+        String where = where(status, managerEmail, namePrefix, beforeId, parameters);
+        TypedQuery<AdminHotelResponse> query = entityManager.createQuery(
+                        "SELECT new org.example.dto.Response.AdminHotelResponse(h.id, h.name, h.location, h.rating, " +
+                                "h.managerEmail, h.status, h.createdAt, h.updatedAt) " +
+                                "FROM Hotel h" + where + " ORDER BY h.id DESC", AdminHotelResponse.class)
+                .setMaxResults(limit);
+        parameters.forEach(query::setParameter);
+        return query.getResultList();
+    }
+
+    @Override
+    public long countMatching(HotelStatus status, String managerEmail, String namePrefix, Integer cap) {
+        Map<String, Object> parameters = new HashMap<>();
+        String where = where(status, managerEmail, namePrefix, null, parameters);
+        if (cap == null) {
+            TypedQuery<Long> query = entityManager.createQuery("SELECT COUNT(h) FROM Hotel h" + where, Long.class);
+            parameters.forEach(query::setParameter);
+            return query.getSingleResult();
+        }
+        TypedQuery<Long> query = entityManager.createQuery("SELECT h.id FROM Hotel h" + where, Long.class)
+                .setMaxResults(cap + 1);
+        parameters.forEach(query::setParameter);
+        return query.getResultList().size();
+    }
+
+    private static String where(HotelStatus status, String managerEmail, String namePrefix, Long beforeId,
+                                Map<String, Object> parameters) {
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+        if (status != null) {
+            where.append(" AND h.status = :status");
+            parameters.put("status", status);
+        }
+        if (managerEmail != null) {
+            where.append(" AND h.managerEmail = :managerEmail");
+            parameters.put("managerEmail", managerEmail);
+        }
+        if (namePrefix != null) {
+            where.append(" AND h.name LIKE :namePrefix ESCAPE '!'");
+            parameters.put("namePrefix", likePrefix(namePrefix));
+        }
+        if (beforeId != null) {
+            where.append(" AND h.id < :beforeId");
+            parameters.put("beforeId", beforeId);
+        }
+        return where.toString();
+    }
+
+    static String likePrefix(String prefix) {
+        return prefix.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.repository;
+
+import org.example.entity.HotelRatingAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface HotelRatingAggregateRepository extends JpaRepository<HotelRatingAggregate, Long> {
+
+    @Modifying
+    @Query("UPDATE HotelRatingAggregate a SET a.reviewCount = a.reviewCount + 1, a.ratingSum = a.ratingSum + :rating, " +
+            "a.stars1 = a.stars1 + CASE WHEN :rating = 1 THEN 1 ELSE 0 END, " +
+            "a.stars2 = a.stars2 + CASE WHEN :rating = 2 THEN 1 ELSE 0 END, " +
+            "a.stars3 = a.stars3 + CASE WHEN :rating = 3 THEN 1 ELSE 0 END, " +
+            "a.stars4 = a.stars4 + CASE WHEN :rating = 4 THEN 1 ELSE 0 END, " +
+            "a.stars5 = a.stars5 + CASE WHEN :rating = 5 THEN 1 ELSE 0 END " +
+            "WHERE a.hotelId = :hotelId")
+    int addRating(@Param("hotelId") Long hotelId, @Param("rating") int rating);
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO hotel_rating_aggregates " +
+            "(hotel_id, review_count, rating_sum, stars_1, stars_2, stars_3, stars_4, stars_5) " +
+            "VALUES (:hotelId, 0, 0, 0, 0, 0, 0, 0)", nativeQuery = true)
+    int insertIfAbsent(@Param("hotelId") Long hotelId);
+}
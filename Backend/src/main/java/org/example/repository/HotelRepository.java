@@ -2,23 +2,31 @@ package org.example.repository;
 
 import org.example.entity.Hotel;
 import org.example.enums.HotelStatus;
-import org.example.enums.RoomType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface HotelRepository extends JpaRepository<Hotel, Long> {
+public interface HotelRepository extends JpaRepository<Hotel, Long>, HotelSearchRepository, HotelListingRepository {
     List<Hotel> findByManagerEmail(String managerEmail);
+
+    @Query("SELECT h.id, h.name FROM Hotel h WHERE h.managerEmail = :managerEmail ORDER BY h.id")
+    List<Object[]> findIdsAndNamesByManagerEmail(@Param("managerEmail") String managerEmail);
     List<Hotel> findByStatus(HotelStatus status);
     List<Hotel> findByLocationContainingIgnoreCaseAndStatus(String location, HotelStatus status);
 
-    @Query("SELECT h FROM Hotel h LEFT JOIN h.rooms r WHERE " +
-            "(:location IS NULL OR LOWER(h.location) LIKE LOWER(CONCAT('%', :location, '%'))) AND " +
-            "(:roomType IS NULL OR r.type = :roomType) AND " +
-            "h.status = 'APPROVED'")
-    List<Hotel> searchHotels(@Param("location") String location, @Param("roomType") RoomType roomType);
+    // The collection tables have no order column, so the value orders them and every
+    // search shows the same first image
+    @Query("SELECT h.id, i FROM Hotel h JOIN h.images i WHERE h.id IN :ids ORDER BY h.id, i")
+    List<Object[]> findImagesByHotelIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT h.id, a FROM Hotel h JOIN h.amenities a WHERE h.id IN :ids ORDER BY h.id, a")
+    List<Object[]> findAmenitiesByHotelIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT h.id, h.name, h.location FROM Hotel h WHERE h.status = 'APPROVED'")
+    List<Object[]> findApprovedSearchEntries();
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package org.example.repository;
+
+import org.example.enums.HotelSort;
+import org.example.enums.RoomType;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface HotelSearchRepository {
+
+    /**
+     * Returns one keyset page of approved hotels as {@code [hotelId, sortKey]} rows,
+     * ordered by the given sort with the hotel id as tie-breaker.
+     */
+    List<Object[]> searchPage(Collection<Long> hotelIds, String text, RoomType roomType,
+                              HotelSort sort, Double afterKey, Long afterId, int limit);
+}
@@ -0,0 +1,96 @@
+package org.example.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.example.enums.HotelSort;
+import org.example.enums.HotelStatus;
+import org.example.enums.RoomType;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+public class HotelSearchRepositoryImpl implements HotelSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Object[]> searchPage(Collection<Long> hotelIds, String text, RoomType roomType,
+                                     HotelSort sort, Double afterKey, Long afterId, int limit) {
+        boolean byPrice = sort == HotelSort.BASE_PRICE;
+        boolean after = afterId != null;
+        // MySQL sorts NULL keys first ascending and last descending; a null afterKey means
+        // the previous page ended among them
+        boolean afterNull = after && afterKey == null;
+
+        StringBuilder jpql = new StringBuilder();
+        switch (sort) {
+            case BASE_PRICE -> jpql.append("SELECT h.id, MIN(r.price) FROM Hotel h JOIN h.rooms r ");
+            case RATING -> jpql.append("SELECT h.id, h.rating FROM Hotel h ");
+            default -> jpql.append("SELECT h.id, h.id FROM Hotel h ");
+        }
+        jpql.append("WHERE h.status = :status");
+
+        if (hotelIds != null) {
+            jpql.append(" AND h.id IN :hotelIds");
+        }
+        if (text != null) {
+            jpql.append(" AND (LOWER(h.location) LIKE :text OR LOWER(h.name) LIKE :text)");
+        }
+        if (roomType != null) {
+            jpql.append(byPrice
+                    ? " AND r.type = :roomType"
+                    : " AND EXISTS (SELECT rt.id FROM Room rt WHERE rt.hotel = h AND rt.type = :roomType)");
+        }
+
+        switch (sort) {
+            case BASE_PRICE -> {
+                jpql.append(" GROUP BY h.id");
+                if (afterNull) {
+                    jpql.append(" HAVING MIN(r.price) IS NOT NULL OR h.id > :afterId");
+                } else if (after) {
+                    jpql.append(" HAVING MIN(r.price) > :afterKey OR (MIN(r.price) = :afterKey AND h.id > :afterId)");
+                }
+                jpql.append(" ORDER BY MIN(r.price) ASC, h.id ASC");
+            }
+            case RATING -> {
+                if (afterNull) {
+                    jpql.append(" AND h.rating IS NULL AND h.id > :afterId");
+                } else if (after) {
+                    jpql.append(" AND (h.rating < :afterKey OR h.rating IS NULL " +
+                            "OR (h.rating = :afterKey AND h.id > :afterId))");
+                }
+                jpql.append(" ORDER BY h.rating DESC, h.id ASC");
+            }
+            default -> {
+                if (after) {
+                    jpql.append(" AND h.id > :afterId");
+                }
+                jpql.append(" ORDER BY h.id ASC");
+            }
+        }
+
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class)
+                .setParameter("status", HotelStatus.APPROVED)
+                .setMaxResults(limit);
+
+        if (hotelIds != null) {
+            query.setParameter("hotelIds", hotelIds);
+        }
+        if (text != null) {
+            query.setParameter("text", "%" + text.toLowerCase(Locale.ROOT) + "%");
+        }
+        if (roomType != null) {
+            query.setParameter("roomType", roomType);
+        }
+        if (after) {
+            query.setParameter("afterId", afterId);
+            if (sort != HotelSort.ID && !afterNull) {
+                query.setParameter("afterKey", afterKey);
+            }
+        }
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.repository;
+
+import org.example.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+    Optional<IdempotencyRecord> findByUserEmailAndIdempotencyKey(String userEmail, String idempotencyKey);
+
+    // Only succeeds for an unfinished claim whose lease ran out
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.claimToken = :token, r.claimedUntil = :until WHERE r.id = :id " +
+            "AND r.status IS NULL AND (r.claimedUntil IS NULL OR r.claimedUntil < :now)")
+    int takeOver(@Param("id") Long id, @Param("token") String token, @Param("until") LocalDateTime until,
+                 @Param("now") LocalDateTime now);
+
+    // Joins the caller's transaction, so the response is stored together with the request's writes
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = :status, r.responseBody = :body, r.claimedUntil = NULL " +
+            "WHERE r.id = :id AND r.claimToken = :token AND r.status IS NULL")
+    int complete(@Param("id") Long id, @Param("token") String token, @Param("status") Integer status,
+                 @Param("body") String body);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id AND r.claimToken = :token AND r.status IS NULL")
+    int release(@Param("id") Long id, @Param("token") String token);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
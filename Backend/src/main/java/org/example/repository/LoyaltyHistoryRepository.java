@@ -2,11 +2,13 @@ package org.example.repository;
 
 import org.example.entity.Loyalty;
 import org.example.entity.LoyaltyHistory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -19,4 +21,15 @@ public interface LoyaltyHistoryRepository extends JpaRepository<LoyaltyHistory,
     @Query("SELECT lh FROM LoyaltyHistory lh JOIN lh.loyalty l WHERE l.userEmail = :userEmail ORDER BY lh.date DESC")
     List<LoyaltyHistory> findByUserEmailOrderByDateDesc(@Param("userEmail") String userEmail);
 
+    @Query("SELECT lh FROM LoyaltyHistory lh WHERE lh.loyalty.id = :loyaltyId ORDER BY lh.date DESC, lh.id DESC")
+    List<LoyaltyHistory> findFirstPage(@Param("loyaltyId") Long loyaltyId, Pageable pageable);
+
+    @Query("SELECT lh FROM LoyaltyHistory lh WHERE lh.loyalty.id = :loyaltyId " +
+            "AND (lh.date < :afterDate OR (lh.date = :afterDate AND lh.id < :afterId)) " +
+            "ORDER BY lh.date DESC, lh.id DESC")
+    List<LoyaltyHistory> findPageAfter(@Param("loyaltyId") Long loyaltyId,
+                                       @Param("afterDate") LocalDateTime afterDate,
+                                       @Param("afterId") Long afterId,
+                                       Pageable pageable);
+
 }
\ No newline at end of file
@@ -2,11 +2,35 @@ package org.example.repository;
 
 import org.example.entity.Loyalty;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface LoyaltyRepository extends JpaRepository<Loyalty, Long> {
     Optional<Loyalty> findByUserEmail(String userEmail);
-}
\ No newline at end of file
+
+    // Balance changes are single-statement increments so concurrent writers never lose updates
+    @Modifying
+    @Query("UPDATE Loyalty l SET l.points = l.points + :points, l.available = l.available + :points, " +
+            "l.totalEarned = l.totalEarned + :points, l.updatedAt = CURRENT_TIMESTAMP WHERE l.userEmail = :userEmail")
+    int credit(@Param("userEmail") String userEmail, @Param("points") int points);
+
+    @Modifying
+    @Query("UPDATE Loyalty l SET l.available = l.available - :points, " +
+            "l.totalRedeemed = l.totalRedeemed + :points, l.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE l.userEmail = :userEmail AND l.available >= :points")
+    int debit(@Param("userEmail") String userEmail, @Param("points") int points);
+
+    @Query("SELECT l.id, l.available FROM Loyalty l WHERE l.userEmail = :userEmail")
+    List<Object[]> findBalance(@Param("userEmail") String userEmail);
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO loyalty (user_email, points, available, total_earned, total_redeemed, created_at, updated_at) " +
+            "VALUES (:userEmail, 0, 0, 0, 0, NOW(), NOW())", nativeQuery = true)
+    int insertIfAbsent(@Param("userEmail") String userEmail);
+}
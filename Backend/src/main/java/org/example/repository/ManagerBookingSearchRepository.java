@@ -0,0 +1,19 @@
+package org.example.repository;
+
+import org.example.dto.Response.ManagerBookingResponse;
+import org.example.enums.BookingStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ManagerBookingSearchRepository {
+
+    /**
+     * Returns one keyset page of the bookings at a manager's hotels, projected straight
+     * into responses, latest check-in first with the booking id as tie-breaker. Null
+     * filters are left out of the query.
+     */
+    List<ManagerBookingResponse> searchPage(String managerEmail, Long hotelId, BookingStatus status,
+                                            LocalDate checkinFrom, LocalDate checkinTo, String guestEmail,
+                                            LocalDate afterCheckin, Long afterId, int limit);
+}
@@ -0,0 +1,82 @@
+package org.example.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.example.dto.Response.ManagerBookingResponse;
+import org.example.enums.BookingStatus;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Each search is one query reading one bookings index in order: (user_email, checkin, id)
+ * for a guest, (hotel_id, status, checkin, id) or (hotel_id, checkin, id) for a hotel,
+ * and (manager_email, status, checkin, id) or (manager_email, checkin, id) across all of
+ * the manager's hotels. The ORDER BY repeats the index's equality columns, which MySQL
+ * ignores but some planners need to see that the index already gives the order.
+ */
+public class ManagerBookingSearchRepositoryImpl implements ManagerBookingSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ManagerBookingResponse> searchPage(String managerEmail, Long hotelId, BookingStatus status,
+                                                   LocalDate checkinFrom, LocalDate checkinTo, String guestEmail,
+                                                   LocalDate afterCheckin, Long afterId, int limit) {
+        Map<String, Object> parameters = new HashMap<>();
+        StringBuilder jpql = new StringBuilder(
+                "SELECT new org.example.dto.Response.ManagerBookingResponse(b.id, b.hotel.id, b.hotel.name, " +
+                        "b.userEmail, b.roomType, b.checkin, b.checkout, b.nights, b.pricePerNight, b.total, " +
+                        "b.status, b.createdAt) FROM Booking b WHERE b.managerEmail = :managerEmail");
+        parameters.put("managerEmail", managerEmail);
+
+        if (hotelId != null) {
+            jpql.append(" AND b.hotel.id = :hotelId");
+            parameters.put("hotelId", hotelId);
+        }
+        if (status != null) {
+            jpql.append(" AND b.status = :status");
+            parameters.put("status", status);
+        }
+        if (checkinFrom != null) {
+            jpql.append(" AND b.checkin >= :checkinFrom");
+            parameters.put("checkinFrom", checkinFrom);
+        }
+        if (checkinTo != null) {
+            jpql.append(" AND b.checkin <= :checkinTo");
+            parameters.put("checkinTo", checkinTo);
+        }
+        if (guestEmail != null) {
+            jpql.append(" AND b.userEmail = :guestEmail");
+            parameters.put("guestEmail", guestEmail);
+        }
+        if (afterId != null) {
+            jpql.append(" AND (b.checkin < :afterCheckin OR (b.checkin = :afterCheckin AND b.id < :afterId))");
+            parameters.put("afterCheckin", afterCheckin);
+            parameters.put("afterId", afterId);
+        }
+
+        if (guestEmail != null) {
+            // A guest has few bookings, so their index beats the hotel's even with a hotel filter
+            jpql.append(" ORDER BY b.userEmail DESC, b.checkin DESC, b.id DESC");
+        } else if (hotelId != null && status != null) {
+            jpql.append(" ORDER BY b.hotel.id DESC, b.status DESC, b.checkin DESC, b.id DESC");
+        } else if (hotelId != null) {
+            jpql.append(" ORDER BY b.hotel.id DESC, b.checkin DESC, b.id DESC");
+        } else if (status != null) {
+            jpql.append(" ORDER BY b.managerEmail DESC, b.status DESC, b.checkin DESC, b.id DESC");
+        } else {
+            jpql.append(" ORDER BY b.managerEmail DESC, b.checkin DESC, b.id DESC");
+        }
+
+        TypedQuery<ManagerBookingResponse> query = entityManager
+                .createQuery(jpql.toString(), ManagerBookingResponse.class)
+                .setMaxResults(limit);
+        parameters.forEach(query::setParameter);
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.example.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    // Events waiting out a retry backoff are left out, so they cannot fill every batch
+    @Query("SELECT e FROM OutboxEvent e WHERE e.status = org.example.enums.OutboxStatus.PENDING " +
+            "AND (e.availableAt IS NULL OR e.availableAt <= :now) ORDER BY e.id")
+    List<OutboxEvent> findPending(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Per ordering key, the oldest event still in backoff; later events of the key must wait for it
+    @Query("SELECT e.orderingKey, MIN(e.id) FROM OutboxEvent e WHERE e.status = org.example.enums.OutboxStatus.PENDING " +
+            "AND e.availableAt > :now AND e.orderingKey IN :keys GROUP BY e.orderingKey")
+    List<Object[]> findBackoffStarts(@Param("keys") Collection<String> keys, @Param("now") LocalDateTime now);
+
+    // Lock timeout -2 is SKIP LOCKED: rows another dispatcher holds are left out, not waited on
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboxEvent e WHERE e.id IN :ids " +
+            "AND e.status = org.example.enums.OutboxStatus.PENDING ORDER BY e.id")
+    List<OutboxEvent> lockPending(@Param("ids") Collection<Long> ids);
+}
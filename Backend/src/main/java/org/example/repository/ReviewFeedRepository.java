@@ -0,0 +1,18 @@
+package org.example.repository;
+
+import org.example.dto.Response.ReviewResponse;
+import org.example.enums.ReviewSort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ReviewFeedRepository {
+
+    /**
+     * Returns one keyset page of a hotel's reviews, projected straight into responses.
+     * Every sort ends with newest first and the review id as tie-breaker; {@code afterKey}
+     * is the rating for rating sorts and 1 or 0 for whether the review has a reply.
+     */
+    List<ReviewResponse> feedPage(Long hotelId, ReviewSort sort, Integer afterKey,
+                                  LocalDateTime afterCreatedAt, Long afterId, int limit);
+}
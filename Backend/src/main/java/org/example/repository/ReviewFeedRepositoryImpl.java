@@ -0,0 +1,76 @@
+package org.example.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.example.dto.Response.ReviewResponse;
+import org.example.enums.ReviewSort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ReviewFeedRepositoryImpl implements ReviewFeedRepository {
+
+    private static final String NEWER_THAN_CURSOR =
+            "(r.createdAt < :afterCreatedAt OR (r.createdAt = :afterCreatedAt AND r.id < :afterId))";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ReviewResponse> feedPage(Long hotelId, ReviewSort sort, Integer afterKey,
+                                         LocalDateTime afterCreatedAt, Long afterId, int limit) {
+        boolean after = afterId != null;
+
+        StringBuilder jpql = new StringBuilder(
+                "SELECT new org.example.dto.Response.ReviewResponse(r.id, r.booking.id, h.id, h.name, r.userEmail, " +
+                        "r.rating, r.comment, r.createdAt, r.replyManagerEmail, r.replyText, r.replyCreatedAt) " +
+                        "FROM Review r JOIN r.hotel h WHERE h.id = :hotelId AND r.flagged = false");
+
+        switch (sort) {
+            case HIGHEST -> {
+                if (after) {
+                    jpql.append(" AND (r.rating < :afterKey OR (r.rating = :afterKey AND ")
+                            .append(NEWER_THAN_CURSOR).append("))");
+                }
+                jpql.append(" ORDER BY r.rating DESC, r.createdAt DESC, r.id DESC");
+            }
+            case LOWEST -> {
+                if (after) {
+                    jpql.append(" AND (r.rating > :afterKey OR (r.rating = :afterKey AND ")
+                            .append(NEWER_THAN_CURSOR).append("))");
+                }
+                jpql.append(" ORDER BY r.rating ASC, r.createdAt DESC, r.id DESC");
+            }
+            case REPLIED -> {
+                if (after) {
+                    // Replied reviews come first, so past a replied cursor every unreplied review is still ahead
+                    jpql.append(afterKey == 1
+                            ? " AND (r.replyCreatedAt IS NULL OR " + NEWER_THAN_CURSOR + ")"
+                            : " AND r.replyCreatedAt IS NULL AND " + NEWER_THAN_CURSOR);
+                }
+                jpql.append(" ORDER BY CASE WHEN r.replyCreatedAt IS NULL THEN 0 ELSE 1 END DESC, " +
+                        "r.createdAt DESC, r.id DESC");
+            }
+            default -> {
+                if (after) {
+                    jpql.append(" AND ").append(NEWER_THAN_CURSOR);
+                }
+                jpql.append(" ORDER BY r.createdAt DESC, r.id DESC");
+            }
+        }
+
+        TypedQuery<ReviewResponse> query = entityManager.createQuery(jpql.toString(), ReviewResponse.class)
+                .setParameter("hotelId", hotelId)
+                .setMaxResults(limit);
+
+        if (after) {
+            query.setParameter("afterCreatedAt", afterCreatedAt);
+            query.setParameter("afterId", afterId);
+            if (sort == ReviewSort.HIGHEST || sort == ReviewSort.LOWEST) {
+                query.setParameter("afterKey", afterKey);
+            }
+        }
+        return query.getResultList();
+    }
+}
@@ -2,6 +2,7 @@ package org.example.repository;
 
 import org.example.entity.Review;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -9,12 +10,21 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface ReviewRepository extends JpaRepository<Review, Long> {
+public interface ReviewRepository extends JpaRepository<Review, Long>, ReviewFeedRepository {
     List<Review> findByUserEmail(String userEmail);
-    List<Review> findByHotelId(Long hotelId);
     boolean existsByBookingId(Long bookingId);
 
     // Add this method to find reviews by manager email
     @Query("SELECT r FROM Review r WHERE r.hotel.managerEmail = :managerEmail")
     List<Review> findByManagerEmail(@Param("managerEmail") String managerEmail);
+
+    // Both updates are conditional, so a review is counted and rewarded once however
+    // many moderators clear it at the same time
+    @Modifying
+    @Query("UPDATE Review r SET r.flagged = false WHERE r.id = :id AND r.flagged = true")
+    int unflag(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Review r SET r.pointsAwarded = true WHERE r.id = :id AND r.pointsAwarded = false")
+    int markPointsAwarded(@Param("id") Long id);
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package org.example.repository;
+
+import org.example.entity.RoomInventory;
+import org.example.enums.RoomType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RoomInventoryRepository extends JpaRepository<RoomInventory, Long> {
+
+    @Query("SELECT i.night FROM RoomInventory i WHERE i.hotelId = :hotelId AND i.roomType = :roomType " +
+            "AND i.night >= :checkin AND i.night < :checkout")
+    List<LocalDate> findNights(@Param("hotelId") Long hotelId, @Param("roomType") RoomType roomType,
+                               @Param("checkin") LocalDate checkin, @Param("checkout") LocalDate checkout);
+
+    @Query("SELECT i.hotelId, i.roomType, i.night, i.total, i.reserved FROM RoomInventory i WHERE i.night >= :from")
+    List<Object[]> findOccupancyFrom(@Param("from") LocalDate from);
+
+    @Query("SELECT i.hotelId, i.roomType, i.night, i.total FROM RoomInventory i WHERE i.hotelId IN :hotelIds " +
+            "AND i.night >= :from AND i.night <= :to")
+    List<Object[]> findTotals(@Param("hotelIds") Collection<Long> hotelIds,
+                              @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Only nights with spare rooms are touched; the caller compares the count with the stay length
+    @Modifying
+    @Query("UPDATE RoomInventory i SET i.reserved = i.reserved + 1 WHERE i.hotelId = :hotelId " +
+            "AND i.roomType = :roomType AND i.night >= :checkin AND i.night < :checkout AND i.reserved < i.total")
+    int reserve(@Param("hotelId") Long hotelId, @Param("roomType") RoomType roomType,
+                @Param("checkin") LocalDate checkin, @Param("checkout") LocalDate checkout);
+
+    @Modifying
+    @Query("UPDATE RoomInventory i SET i.reserved = i.reserved - 1 WHERE i.hotelId = :hotelId " +
+            "AND i.roomType = :roomType AND i.night >= :checkin AND i.night < :checkout AND i.reserved > 0")
+    int release(@Param("hotelId") Long hotelId, @Param("roomType") RoomType roomType,
+                @Param("checkin") LocalDate checkin, @Param("checkout") LocalDate checkout);
+}
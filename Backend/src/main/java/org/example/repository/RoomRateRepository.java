@@ -0,0 +1,23 @@
+package org.example.repository;
+
+import org.example.entity.RoomRate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RoomRateRepository extends JpaRepository<RoomRate, Long> {
+    @Query("SELECT r FROM RoomRate r WHERE r.hotelId IN :hotelIds ORDER BY r.id")
+    List<RoomRate> findByHotelIds(@Param("hotelIds") Collection<Long> hotelIds);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RoomRate r WHERE r.hotelId = :hotelId")
+    int deleteByHotelId(@Param("hotelId") Long hotelId);
+}
@@ -3,8 +3,11 @@ package org.example.repository;
 import org.example.entity.Room;
 import org.example.enums.RoomType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +15,17 @@ import java.util.Optional;
 public interface RoomRepository extends JpaRepository<Room, Long> {
     List<Room> findByHotelId(Long hotelId);
     Optional<Room> findByHotelIdAndType(Long hotelId, RoomType type);
+
+    // A hotel may list one type in several rows; null when it has none
+    @Query("SELECT SUM(r.available) FROM Room r WHERE r.hotel.id = :hotelId AND r.type = :type")
+    Long sumAvailable(@Param("hotelId") Long hotelId, @Param("type") RoomType type);
+
+    @Query("SELECT r.hotel.id, r.type, r.price FROM Room r WHERE r.hotel.id IN :hotelIds")
+    List<Object[]> findPricesByHotelIds(@Param("hotelIds") Collection<Long> hotelIds);
+
+    @Query("SELECT r.hotel.id, r.type, r.available FROM Room r")
+    List<Object[]> findCapacities();
+
+    @Query("SELECT r.hotel.id, r.type, r.available FROM Room r WHERE r.hotel.id IN :hotelIds")
+    List<Object[]> findCapacitiesByHotelIds(@Param("hotelIds") Collection<Long> hotelIds);
 }
\ No newline at end of file
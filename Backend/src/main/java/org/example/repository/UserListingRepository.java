@@ -0,0 +1,21 @@
+package org.example.repository;
+
+import org.example.dto.Response.AdminUserResponse;
+import org.example.enums.Roles;
+
+import java.util.List;
+
+public interface UserListingRepository {
+
+    /**
+     * Returns one keyset page of users, newest first, without password hashes. The
+     * email filter is a prefix match so it can use the unique email index.
+     */
+    List<AdminUserResponse> listPage(Roles role, String emailPrefix, Long beforeId, int limit);
+
+    /**
+     * Counts the users matching the filters, stopping at {@code cap} + 1 when a cap is
+     * given.
+     */
+    long countMatching(Roles role, String emailPrefix, Integer cap);
+}
@@ -0,0 +1,61 @@
+package org.example.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.example.dto.Response.AdminUserResponse;
+import org.example.enums.Roles;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class UserListingRepositoryImpl implements UserListingRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AdminUserResponse> listPage(Roles role, String emailPrefix, Long beforeId, int limit) {
+        Map<String, Object> parameters = new HashMap<>();
+        String where = where(role, emailPrefix, beforeId, parameters);
+        TypedQuery<AdminUserResponse> query = entityManager.createQuery(
+                        "SELECT new org.example.dto.Response.AdminUserResponse(u.id, u.email, u.name, u.role, u.createdAt) " +
+                                "FROM User u" + where + " ORDER BY u.id DESC", AdminUserResponse.class)
+                .setMaxResults(limit);
+        parameters.forEach(query::setParameter);
+        return query.getResultList();
+    }
+
+    @Override
+    public long countMatching(Roles role, String emailPrefix, Integer cap) {
+        Map<String, Object> parameters = new HashMap<>();
+        String where = where(role, emailPrefix, null, parameters);
+        if (cap == null) {
+            TypedQuery<Long> query = entityManager.createQuery("SELECT COUNT(u) FROM User u" + where, Long.class);
+            parameters.forEach(query::setParameter);
+            return query.getSingleResult();
+        }
+        TypedQuery<Long> query = entityManager.createQuery("SELECT u.id FROM User u" + where, Long.class)
+                .setMaxResults(cap + 1);
+        parameters.forEach(query::setParameter);
+        return query.getResultList().size();
+    }
+
+    private static String where(Roles role, String emailPrefix, Long beforeId, Map<String, Object> parameters) {
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+        if (role != null) {
+            where.append(" AND u.role = :role");
+            parameters.put("role", role);
+        }
+        if (emailPrefix != null) {
+            where.append(" AND u.email LIKE :emailPrefix ESCAPE '!'");
+            parameters.put("emailPrefix", HotelListingRepositoryImpl.likePrefix(emailPrefix));
+        }
+        if (beforeId != null) {
+            where.append(" AND u.id < :beforeId");
+            parameters.put("beforeId", beforeId);
+        }
+        return where.toString();
+    }
+}
@@ -3,6 +3,7 @@ package org.example.security.jwt;
 import org.example.enums.Roles;
 import org.example.entity.User;
 import org.example.repository.UserRepository;
+import org.example.service.DashboardMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -36,6 +37,9 @@ public class AuthController {
     @Autowired
     private JwtUtils jwtUtils;
 
+    @Autowired
+    private DashboardMetrics dashboardMetrics;
+
     @PostMapping("/login")
     public ResponseEntity<?> authenticateUser(@RequestBody LoginRequest loginRequest) {
         try {
@@ -93,6 +97,7 @@ public class AuthController {
         }
 
         userRepository.save(user);
+        dashboardMetrics.userAdded();
 
         return ResponseEntity.ok("User registered successfully!");
     }
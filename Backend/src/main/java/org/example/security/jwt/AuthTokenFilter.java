@@ -1,9 +1,12 @@
 package org.example.security.jwt;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.example.security.service.TokenRevocationService;
+import org.example.security.service.UserDetailsImpl;
 import org.example.security.service.UserDetailsServiceImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,6 +28,12 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private JwtPrincipalCache principalCache;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
     @Override
@@ -45,10 +54,8 @@ public class AuthTokenFilter extends OncePerRequestFilter {
 
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
+            UserDetails userDetails = jwt == null ? null : authenticate(jwt);
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(userDetails,
                                 null,
@@ -64,6 +71,38 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Returns the principal for a token, from the cache when this token was verified
+     * before, otherwise by verifying it once. Tokens carrying role and user-id claims
+     * are turned into a principal directly; older tokens fall back to loading the user.
+     * Revocation is checked on every request, cached or not.
+     */
+    private UserDetails authenticate(String jwt) {
+        UserDetails userDetails = principalCache.get(jwt);
+        if (userDetails == null) {
+            Claims claims = jwtUtils.parseJwtToken(jwt);
+            if (claims == null) {
+                return null;
+            }
+            userDetails = jwtUtils.getPrincipalFromClaims(claims);
+            if (userDetails == null) {
+                userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+                if (userDetails instanceof UserDetailsImpl user) {
+                    user.setTokenVersion(jwtUtils.getTokenVersion(claims));
+                }
+            }
+            if (claims.getExpiration() != null) {
+                principalCache.put(jwt, userDetails, claims.getExpiration().getTime());
+            }
+        }
+        if (userDetails instanceof UserDetailsImpl user
+                && tokenRevocationService.isRevoked(user.getId(), user.getTokenVersion())) {
+            logger.debug("Rejected revoked token of {}", user.getUsername());
+            return null;
+        }
+        return userDetails;
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String jwt = jwtUtils.getJwtFromHeader(request);
         logger.debug("AuthTokenFilter.java: {}", jwt);
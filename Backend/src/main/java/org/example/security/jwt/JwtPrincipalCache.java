@@ -0,0 +1,60 @@
+package org.example.security.jwt;
+
+import org.example.util.BoundedTtlCache;
+import org.example.util.TransactionCallbacks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Remembers the principal behind tokens that already passed signature verification,
+ * so repeat requests with the same token skip both the parse and the user lookup.
+ * Entries are keyed by the SHA-256 of the token rather than the token itself and
+ * never outlive the token's expiry.
+ */
+@Component
+public class JwtPrincipalCache {
+
+    private final BoundedTtlCache<String, UserDetails> cache;
+
+    public JwtPrincipalCache(@Value("${security.principal-cache.max-size:10000}") int maxSize,
+                             @Value("${security.principal-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.cache = new BoundedTtlCache<>(maxSize, ttlSeconds * 1000);
+    }
+
+    public UserDetails get(String token) {
+        return cache.get(hash(token));
+    }
+
+    public void put(String token, UserDetails userDetails, long expiresAt) {
+        cache.put(hash(token), userDetails, expiresAt);
+    }
+
+    /**
+     * Drops every cached token of the user now and again after the current transaction
+     * commits, so a request in flight cannot re-cache the old role.
+     */
+    public void evictUser(String username) {
+        cache.invalidateIf(details -> details.getUsername().equals(username));
+        TransactionCallbacks.afterCommit(() -> cache.invalidateIf(details -> details.getUsername().equals(username)));
+    }
+
+    public Map<String, Object> stats() {
+        return cache.stats();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.security.service;
+
+import org.example.entity.TokenRevocation;
+import org.example.repository.TokenRevocationRepository;
+import org.example.security.jwt.JwtUtils;
+import org.example.util.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides whether a token that verified correctly has since been revoked. Tokens carry
+ * the user's token version; revoking a user's tokens records the minimum version still
+ * accepted. The check runs against an in-memory copy of the recent revocations, so it
+ * costs a map lookup. Revocations made on this instance apply as soon as they commit;
+ * those made elsewhere arrive with the next background refresh.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    // Deleted users keep no valid version at all
+    public static final int REVOKE_ALL = Integer.MAX_VALUE;
+
+    @Autowired
+    private TokenRevocationRepository tokenRevocationRepository;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    private volatile Map<Long, Revocation> revocations = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refresh();
+    }
+
+    public boolean isRevoked(Long userId, int tokenVersion) {
+        Revocation revocation = revocations.get(userId);
+        return revocation != null && tokenVersion < revocation.minTokenVersion();
+    }
+
+    /**
+     * Rejects every token of the user with a version below the given one from the
+     * moment the current transaction commits.
+     */
+    public void revoke(Long userId, int minTokenVersion) {
+        LocalDateTime now = LocalDateTime.now();
+        tokenRevocationRepository.save(TokenRevocation.builder()
+                .userId(userId)
+                .minTokenVersion(minTokenVersion)
+                .revokedAt(now)
+                .build());
+        TransactionCallbacks.afterCommit(() -> apply(userId, new Revocation(minTokenVersion, System.currentTimeMillis())));
+    }
+
+    /**
+     * Reloads the revocations that may still matter and purges the rest. Once a
+     * revocation is older than the token lifetime, every token it covers has expired.
+     */
+    @Scheduled(fixedDelayString = "${security.revocation.refresh-interval-ms:30000}",
+            initialDelayString = "${security.revocation.refresh-interval-ms:30000}")
+    public void refresh() {
+        long start = System.currentTimeMillis();
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(jwtUtils.getAccessToken().getExpirationMs() * 1_000_000L);
+        int purged = tokenRevocationRepository.deleteRevokedBefore(cutoff);
+
+        Map<Long, Revocation> loaded = new ConcurrentHashMap<>();
+        for (TokenRevocation revocation : tokenRevocationRepository.findByRevokedAtAfter(cutoff)) {
+            // A user revoked more than once keeps the highest minimum, whatever the row order
+            loaded.merge(revocation.getUserId(), new Revocation(revocation.getMinTokenVersion(), start),
+                    Revocation::stricter);
+        }
+        synchronized (this) {
+            // Keep revocations applied locally while the query ran; it may not have seen them
+            revocations.forEach((userId, revocation) -> {
+                if (revocation.appliedAt() >= start) {
+                    loaded.merge(userId, revocation, Revocation::stricter);
+                }
+            });
+            revocations = loaded;
+        }
+        if (purged > 0) {
+            logger.info("Purged {} token revocations older than the token lifetime", purged);
+        }
+    }
+
+    public int size() {
+        return revocations.size();
+    }
+
+    private synchronized void apply(Long userId, Revocation revocation) {
+        revocations.merge(userId, revocation, Revocation::stricter);
+    }
+
+    private record Revocation(int minTokenVersion, long appliedAt) {
+        Revocation stricter(Revocation other) {
+            return other.minTokenVersion > minTokenVersion ? other : this;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package org.example.service;
+
+import org.example.dto.Response.AdminHotelResponse;
+import org.example.dto.Response.AdminListPageResponse;
+import org.example.dto.Response.AdminUserResponse;
+import org.example.enums.CountMode;
+import org.example.enums.HotelStatus;
+import org.example.enums.Roles;
+import org.example.repository.HotelRepository;
+import org.example.repository.UserRepository;
+import org.example.util.CursorCodec;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Paged admin listings of users and hotels, newest first. Rows are projected into
+ * response objects, so password hashes and hotel collections are never loaded. A total
+ * is only computed when asked for: an exact count runs COUNT(*), while an estimate
+ * reads the dashboard counters when the filters allow it and otherwise counts no
+ * further than {@link #COUNT_CAP} rows.
+ */
+@Service
+public class AdminListingService {
+
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    public static final String COUNT_ACCURACY_HEADER = "X-Total-Count-Accuracy";
+
+    static final int COUNT_CAP = 10_000;
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private DashboardMetrics dashboardMetrics;
+
+    public AdminListPageResponse<AdminUserResponse> listUsers(String role, String email, String cursor,
+                                                              Integer size, String count) {
+        Roles parsedRole = parseRole(role);
+        String emailPrefix = blankToNull(email);
+        int pageSize = pageSize(size);
+
+        List<AdminUserResponse> users = userRepository.listPage(parsedRole, emailPrefix, decodeCursor(cursor), pageSize + 1);
+        AdminListPageResponse<AdminUserResponse> page = page(users, pageSize, AdminUserResponse::getId);
+
+        boolean unfiltered = parsedRole == null && emailPrefix == null;
+        return withCount(page, parseCountMode(count),
+                () -> userRepository.countMatching(parsedRole, emailPrefix, null),
+                unfiltered ? dashboardMetrics::userCount : null,
+                () -> userRepository.countMatching(parsedRole, emailPrefix, COUNT_CAP));
+    }
+
+    public AdminListPageResponse<AdminHotelResponse> listHotels(String status, String managerEmail, String name,
+                                                                String cursor, Integer size, String count) {
+        HotelStatus parsedStatus = parseStatus(status);
+        String manager = blankToNull(managerEmail);
+        String namePrefix = blankToNull(name);
+        int pageSize = pageSize(size);
+
+        List<AdminHotelResponse> hotels = hotelRepository.listPage(parsedStatus, manager, namePrefix,
+                decodeCursor(cursor), pageSize + 1);
+        AdminListPageResponse<AdminHotelResponse> page = page(hotels, pageSize, AdminHotelResponse::getId);
+
+        boolean byStatusOnly = manager == null && namePrefix == null;
+        return withCount(page, parseCountMode(count),
+                () -> hotelRepository.countMatching(parsedStatus, manager, namePrefix, null),
+                byStatusOnly ? () -> dashboardMetrics.hotelCount(parsedStatus) : null,
+                () -> hotelRepository.countMatching(parsedStatus, manager, namePrefix, COUNT_CAP));
+    }
+
+    private static <T> AdminListPageResponse<T> page(List<T> rows, int pageSize,
+                                                     Function<T, Long> id) {
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            nextCursor = CursorCodec.encode(id.apply(rows.get(pageSize - 1)));
+        }
+        return new AdminListPageResponse<>(rows, nextCursor, null, null);
+    }
+
+    private static <T> AdminListPageResponse<T> withCount(AdminListPageResponse<T> page, CountMode mode,
+                                                          LongSupplier exact, LongSupplier counters,
+                                                          LongSupplier capped) {
+        switch (mode) {
+            case EXACT -> page.setTotalCount(exact.getAsLong()).setCountAccuracy("exact");
+            case ESTIMATE -> {
+                if (counters != null) {
+                    page.setTotalCount(counters.getAsLong()).setCountAccuracy("estimate");
+                } else {
+                    long total = capped.getAsLong();
+                    page.setTotalCount(Math.min(total, COUNT_CAP))
+                            .setCountAccuracy(total > COUNT_CAP ? "at-least" : "exact");
+                }
+            }
+            default -> {
+            }
+        }
+        return page;
+    }
+
+    private static int pageSize(Integer size) {
+        return size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(CursorCodec.decode(cursor, 1)[0]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+
+    private static Roles parseRole(String role) {
+        if (role == null || role.isEmpty()) {
+            return null;
+        }
+        String name = role.toUpperCase(Locale.ROOT);
+        try {
+            return Roles.valueOf(name.startsWith("ROLE_") ? name : "ROLE_" + name);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid role: " + role + ". Valid values are " + Arrays.toString(Roles.values()));
+        }
+    }
+
+    private static HotelStatus parseStatus(String status) {
+        if (status == null || status.isEmpty()) {
+            return null;
+        }
+        try {
+            return HotelStatus.valueOf(status.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid hotel status: " + status);
+        }
+    }
+
+    private static CountMode parseCountMode(String count) {
+        if (count == null || count.isEmpty()) {
+            return CountMode.NONE;
+        }
+        try {
+            return CountMode.valueOf(count.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid count: " + count + ". Valid values are none, exact and estimate");
+        }
+    }
+}
@@ -1,17 +1,31 @@
 package org.example.service;
 
+import org.example.dto.Request.HotelModerationRequest;
+import org.example.dto.Response.AdminHotelResponse;
+import org.example.dto.Response.AdminListPageResponse;
+import org.example.dto.Response.AdminUserResponse;
+import org.example.dto.Response.HotelModerationReport;
+import org.example.dto.Response.LoyaltyExpiryReport;
+import org.example.dto.Response.ReviewDuplicateScanReport;
+import org.example.dto.Response.ReviewResponse;
 import org.example.entity.Hotel;
 import org.example.entity.User;
 import org.example.enums.HotelStatus;
 import org.example.enums.Roles;
 import org.example.exceptions.ResourceNotFoundException;
-import org.example.repository.BookingRepository;
+import org.example.repository.HotelDailyStatsRepository;
+import org.example.repository.HotelRatingAggregateRepository;
 import org.example.repository.HotelRepository;
+import org.example.repository.RoomRateRepository;
 import org.example.repository.UserRepository;
+import org.example.security.jwt.JwtPrincipalCache;
+import org.example.security.service.TokenRevocationService;
+import org.example.util.TransactionCallbacks;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.List;
 import java.util.Map;
 
 @Service
@@ -24,88 +38,186 @@ public class AdminService {
     private HotelRepository hotelRepository;
 
     @Autowired
-    private BookingRepository bookingRepository;
+    private HotelSearchIndex hotelSearchIndex;
+
+    @Autowired
+    private HotelDetailCache hotelDetailCache;
+
+    @Autowired
+    private OccupancyIndex occupancyIndex;
+
+    @Autowired
+    private RoomRateRepository roomRateRepository;
+
+    @Autowired
+    private RateCalendarService rateCalendarService;
+
+    @Autowired
+    private LoyaltyExpiryService loyaltyExpiryService;
+
+    @Autowired
+    private HotelRatingAggregateRepository hotelRatingAggregateRepository;
+
+    @Autowired
+    private HotelDailyStatsRepository hotelDailyStatsRepository;
+
+    @Autowired
+    private RatingAggregateService ratingAggregateService;
+
+    @Autowired
+    private ReviewDuplicateService reviewDuplicateService;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private DashboardMetrics dashboardMetrics;
+
+    @Autowired
+    private AdminListingService adminListingService;
+
+    @Autowired
+    private HotelModerationService hotelModerationService;
+
+    @Autowired
+    private JwtPrincipalCache principalCache;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
 
     // ✅ Users
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public AdminListPageResponse<AdminUserResponse> listUsers(String role, String email, String cursor,
+                                                              Integer size, String count) {
+        return adminListingService.listUsers(role, email, cursor, size, count);
     }
 
+    @Transactional
     public User updateUserRole(Long userId, String newRole) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
 
         user.setRole(Roles.valueOf(newRole.toUpperCase()));
-        return userRepository.save(user);
+        // Tokens carry the role, so the ones issued with the old role must stop working
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        User savedUser = userRepository.save(user);
+        tokenRevocationService.revoke(userId, savedUser.getTokenVersion());
+        principalCache.evictUser(user.getEmail());
+        return savedUser;
     }
 
+    @Transactional
     public void deleteUser(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
         userRepository.delete(user);
+        tokenRevocationService.revoke(userId, TokenRevocationService.REVOKE_ALL);
+        principalCache.evictUser(user.getEmail());
+        dashboardMetrics.userRemoved();
     }
 
 
-    public List<Hotel> getAllHotels() {
-        return hotelRepository.findAll();
-    }
-
-    public List<Hotel> getHotelsByStatus(String status) {
-        HotelStatus hotelStatus;
-        try {
-            hotelStatus = HotelStatus.valueOf(status.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            throw new ResourceNotFoundException("Invalid hotel status: " + status);
-        }
-        return hotelRepository.findByStatus(hotelStatus);
+    public AdminListPageResponse<AdminHotelResponse> listHotels(String status, String managerEmail, String name,
+                                                                String cursor, Integer size, String count) {
+        return adminListingService.listHotels(status, managerEmail, name, cursor, size, count);
     }
 
     public Hotel approveHotel(Long hotelId) {
         Hotel hotel = hotelRepository.findById(hotelId)
                 .orElseThrow(() -> new ResourceNotFoundException("Hotel not found with id: " + hotelId));
+        HotelStatus previousStatus = hotel.getStatus();
         hotel.setStatus(HotelStatus.APPROVED);
-        return hotelRepository.save(hotel);
+        Hotel savedHotel = hotelRepository.save(hotel);
+        dashboardMetrics.hotelStatusChanged(previousStatus, HotelStatus.APPROVED);
+        hotelSearchIndex.indexHotel(savedHotel);
+        hotelDetailCache.evict(hotelId);
+        return savedHotel;
     }
 
     public Hotel rejectHotel(Long hotelId) {
         Hotel hotel = hotelRepository.findById(hotelId)
                 .orElseThrow(() -> new ResourceNotFoundException("Hotel not found with id: " + hotelId));
+        HotelStatus previousStatus = hotel.getStatus();
         hotel.setStatus(HotelStatus.REJECTED);
-        return hotelRepository.save(hotel);
+        Hotel savedHotel = hotelRepository.save(hotel);
+        dashboardMetrics.hotelStatusChanged(previousStatus, HotelStatus.REJECTED);
+        hotelSearchIndex.indexHotel(savedHotel);
+        hotelDetailCache.evict(hotelId);
+        return savedHotel;
     }
 
     public Hotel setHotelPending(Long hotelId) {
         Hotel hotel = hotelRepository.findById(hotelId)
                 .orElseThrow(() -> new ResourceNotFoundException("Hotel not found with id: " + hotelId));
+        HotelStatus previousStatus = hotel.getStatus();
         hotel.setStatus(HotelStatus.PENDING);
-        return hotelRepository.save(hotel);
+        Hotel savedHotel = hotelRepository.save(hotel);
+        dashboardMetrics.hotelStatusChanged(previousStatus, HotelStatus.PENDING);
+        hotelSearchIndex.indexHotel(savedHotel);
+        hotelDetailCache.evict(hotelId);
+        return savedHotel;
+    }
+
+    public HotelModerationReport moderateHotels(HotelModerationRequest request) {
+        return hotelModerationService.moderate(request);
     }
 
+    @Transactional
     public void deleteHotel(Long hotelId) {
         Hotel hotel = hotelRepository.findById(hotelId)
                 .orElseThrow(() -> new ResourceNotFoundException("Hotel not found with id: " + hotelId));
         hotelRepository.delete(hotel);
+        roomRateRepository.deleteByHotelId(hotelId);
+        hotelDailyStatsRepository.deleteByHotelId(hotelId);
+        if (hotelRatingAggregateRepository.existsById(hotelId)) {
+            hotelRatingAggregateRepository.deleteById(hotelId);
+        }
+        dashboardMetrics.hotelRemoved(hotel.getStatus());
+        hotelDetailCache.evict(hotelId);
+        rateCalendarService.evict(hotelId);
+        // A rolled-back delete must leave the hotel searchable
+        TransactionCallbacks.afterCommit(() -> {
+            hotelSearchIndex.removeHotel(hotelId);
+            occupancyIndex.removeHotel(hotelId);
+        });
+    }
+
+    public Map<String, Object> getHotelDetailCacheStats() {
+        return hotelDetailCache.stats();
+    }
+
+    public Map<String, Object> getPrincipalCacheStats() {
+        return principalCache.stats();
+    }
+
+    public LoyaltyExpiryReport runLoyaltyExpiry(boolean dryRun) {
+        return loyaltyExpiryService.run(dryRun);
+    }
+
+    public Map<String, Object> repairRatingAggregates() {
+        return ratingAggregateService.repair();
+    }
+
+    public Map<String, Object> backfillAnalytics() {
+        return analyticsService.backfill();
+    }
+
+    public ReviewDuplicateScanReport scanReviewDuplicates(boolean dryRun) {
+        return reviewDuplicateService.scan(dryRun);
+    }
+
+    public ReviewResponse unflagReview(Long reviewId) {
+        return reviewService.unflagReview(reviewId);
     }
 
     // ✅ Dashboard
     public Map<String, Object> getDashboardStats() {
-        long totalUsers = userRepository.count();
-        long totalHotels = hotelRepository.count();
-        long totalBookings = bookingRepository.countAllBookings();
-        Double totalRevenue = bookingRepository.sumTotalRevenue();
-
-        long approvedHotels = hotelRepository.findByStatus(HotelStatus.APPROVED).size();
-        long pendingHotels = hotelRepository.findByStatus(HotelStatus.PENDING).size();
-        long rejectedHotels = hotelRepository.findByStatus(HotelStatus.REJECTED).size();
-
-        return Map.of(
-                "totalUsers", totalUsers,
-                "totalHotels", totalHotels,
-                "approvedHotels", approvedHotels,
-                "pendingHotels", pendingHotels,
-                "rejectedHotels", rejectedHotels,
-                "totalBookings", totalBookings,
-                "totalRevenue", totalRevenue != null ? totalRevenue : 0.0
-        );
+        return dashboardMetrics.snapshot();
+    }
+
+    public SseEmitter streamDashboardStats() {
+        return dashboardMetrics.subscribe();
     }
 }
@@ -0,0 +1,308 @@
+package org.example.service;
+
+import org.example.dto.Response.AnalyticsRowResponse;
+import org.example.dto.Response.ManagerAnalyticsResponse;
+import org.example.entity.Booking;
+import org.example.entity.HotelDailyStats;
+import org.example.enums.RoomType;
+import org.example.repository.BookingRepository;
+import org.example.repository.HotelDailyStatsRepository;
+import org.example.repository.HotelRepository;
+import org.example.repository.RoomInventoryRepository;
+import org.example.repository.RoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Manager analytics served from the hotel_daily_stats rollup. Booking and payment writes
+ * add their counts to the rollup in the same transaction with one batched upsert, so
+ * the dashboard reads a few rows per hotel and day instead of the bookings themselves.
+ * A backfill rebuilds the rollup from bookings for history or after a repair.
+ */
+@Service
+public class AnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsService.class);
+
+    private static final int DEFAULT_RANGE_DAYS = 30;
+    private static final int MAX_RANGE_DAYS = 366;
+    private static final int BACKFILL_CHUNK = 200;
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO hotel_daily_stats (hotel_id, stat_date, room_type, bookings_created, arrivals, room_nights, revenue) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE " +
+            "bookings_created = bookings_created + VALUES(bookings_created), arrivals = arrivals + VALUES(arrivals), " +
+            "room_nights = room_nights + VALUES(room_nights), revenue = revenue + VALUES(revenue)";
+
+    @Autowired
+    private HotelDailyStatsRepository hotelDailyStatsRepository;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomInventoryRepository roomInventoryRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final AtomicBoolean backfilling = new AtomicBoolean();
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordBooking(Booking booking) {
+        StatsKey key = new StatsKey(booking.getHotel().getId(), LocalDate.now(), booking.getRoomType());
+        upsert(Map.of(key, new long[]{1, 0, 0}), Map.of());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordPayment(Booking booking) {
+        Map<StatsKey, long[]> counts = new LinkedHashMap<>();
+        Map<StatsKey, Double> revenue = new HashMap<>();
+        addStay(booking.getHotel().getId(), booking.getRoomType(), booking.getCheckin(), booking.getCheckout(),
+                booking.getTotal(), counts, revenue);
+        upsert(counts, revenue);
+    }
+
+    public ManagerAnalyticsResponse getAnalytics(String managerEmail, Long hotelId, String from, String to) {
+        LocalDate[] range = parseRange(from, to);
+
+        Map<Long, String> hotelNames = new LinkedHashMap<>();
+        for (Object[] row : hotelRepository.findIdsAndNamesByManagerEmail(managerEmail)) {
+            hotelNames.put((Long) row[0], (String) row[1]);
+        }
+        if (hotelId != null) {
+            if (!hotelNames.containsKey(hotelId)) {
+                throw new AccessDeniedException("Unauthorized to view analytics for this hotel");
+            }
+            hotelNames.keySet().retainAll(List.of(hotelId));
+        }
+        ManagerAnalyticsResponse response = new ManagerAnalyticsResponse(range[0].toString(), range[1].toString(),
+                new ArrayList<>(), new ArrayList<>());
+        if (hotelNames.isEmpty()) {
+            return response;
+        }
+
+        // Capacity per night is the inventory ledger's total where a row exists, else the room count
+        Map<StatsKey, Long> roomsByType = new HashMap<>();
+        Map<StatsKey, Long> capacity = new HashMap<>();
+        Map<StatsKey, Long> totalCapacity = new LinkedHashMap<>();
+        long days = ChronoUnit.DAYS.between(range[0], range[1]) + 1;
+        for (Object[] row : roomRepository.findCapacitiesByHotelIds(hotelNames.keySet())) {
+            StatsKey typeKey = new StatsKey((Long) row[0], null, (RoomType) row[1]);
+            long rooms = ((Integer) row[2]).longValue();
+            roomsByType.merge(typeKey, rooms, Long::sum);
+            totalCapacity.merge(typeKey, rooms * days, Long::sum);
+        }
+        for (Object[] row : roomInventoryRepository.findTotals(hotelNames.keySet(), range[0], range[1])) {
+            StatsKey typeKey = new StatsKey((Long) row[0], null, (RoomType) row[1]);
+            long total = ((Integer) row[3]).longValue();
+            capacity.put(new StatsKey(typeKey.hotelId(), (LocalDate) row[2], typeKey.roomType()), total);
+            totalCapacity.merge(typeKey, total - roomsByType.getOrDefault(typeKey, 0L), Long::sum);
+        }
+
+        Map<StatsKey, AnalyticsRowResponse> totals = new LinkedHashMap<>();
+        for (Map.Entry<StatsKey, Long> entry : totalCapacity.entrySet()) {
+            StatsKey typeKey = entry.getKey();
+            totals.put(typeKey, row(typeKey, hotelNames).setCapacity(entry.getValue()));
+        }
+
+        for (HotelDailyStats stats : hotelDailyStatsRepository.findRange(hotelNames.keySet(), range[0], range[1])) {
+            StatsKey typeKey = new StatsKey(stats.getHotelId(), null, stats.getRoomType());
+            StatsKey dayKey = new StatsKey(stats.getHotelId(), stats.getStatDate(), stats.getRoomType());
+            AnalyticsRowResponse daily = row(dayKey, hotelNames)
+                    .setBookings(stats.getBookingsCreated())
+                    .setArrivals(stats.getArrivals())
+                    .setRoomNights(stats.getRoomNights())
+                    .setRevenue(stats.getRevenue())
+                    .setCapacity(capacity.getOrDefault(dayKey, roomsByType.getOrDefault(typeKey, 0L)));
+            response.getDaily().add(withRatios(daily));
+
+            AnalyticsRowResponse total = totals.computeIfAbsent(typeKey, key -> row(key, hotelNames));
+            total.setBookings(total.getBookings() + stats.getBookingsCreated())
+                    .setArrivals(total.getArrivals() + stats.getArrivals())
+                    .setRoomNights(total.getRoomNights() + stats.getRoomNights())
+                    .setRevenue(total.getRevenue() + stats.getRevenue());
+        }
+        for (AnalyticsRowResponse total : totals.values()) {
+            response.getTotals().add(withRatios(total));
+        }
+        return response;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (hotelDailyStatsRepository.count() == 0 && bookingRepository.count() > 0) {
+            logger.info("Hotel daily stats are empty, building them from existing bookings");
+            backfill();
+        }
+    }
+
+    /**
+     * Rebuilds the rollup from bookings, a chunk of hotels per transaction. Each chunk
+     * deletes its rows before reading bookings, so payments committing meanwhile wait on
+     * those row locks and add their counts on top of the rebuilt rows.
+     */
+    public Map<String, Object> backfill() {
+        if (!backfilling.compareAndSet(false, true)) {
+            throw new IllegalStateException("An analytics backfill is already in progress");
+        }
+
+        long start = System.nanoTime();
+        int hotels = 0;
+        long rows = 0;
+        try {
+            long afterId = 0;
+            while (true) {
+                List<Long> ids = jdbcTemplate.queryForList(
+                        "SELECT id FROM hotels WHERE id > ? ORDER BY id LIMIT ?", Long.class, afterId, BACKFILL_CHUNK);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                Integer written = transactionTemplate.execute(status -> backfillChunk(ids));
+                rows += written == null ? 0 : written;
+                hotels += ids.size();
+                afterId = ids.get(ids.size() - 1);
+            }
+        } finally {
+            backfilling.set(false);
+        }
+
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        logger.info("Analytics backfill: {} hotels, {} daily rows in {} ms", hotels, rows, durationMs);
+        return Map.of(
+                "hotelsScanned", hotels,
+                "rowsWritten", rows,
+                "durationMs", durationMs
+        );
+    }
+
+    private int backfillChunk(List<Long> hotelIds) {
+        String placeholders = String.join(",", Collections.nCopies(hotelIds.size(), "?"));
+        Object[] args = hotelIds.toArray();
+        jdbcTemplate.update("DELETE FROM hotel_daily_stats WHERE hotel_id IN (" + placeholders + ")", args);
+
+        Map<StatsKey, long[]> counts = new LinkedHashMap<>();
+        Map<StatsKey, Double> revenue = new HashMap<>();
+        jdbcTemplate.query("SELECT hotel_id, room_type, checkin, checkout, total, status, created_at FROM bookings " +
+                "WHERE hotel_id IN (" + placeholders + ")", rs -> {
+            long hotelId = rs.getLong(1);
+            RoomType roomType = RoomType.valueOf(rs.getString(2));
+            if (rs.getTimestamp(7) != null) {
+                StatsKey created = new StatsKey(hotelId, rs.getTimestamp(7).toLocalDateTime().toLocalDate(), roomType);
+                counts.computeIfAbsent(created, key -> new long[3])[0]++;
+            }
+            if ("PAID".equals(rs.getString(6))) {
+                addStay(hotelId, roomType, rs.getDate(3).toLocalDate(), rs.getDate(4).toLocalDate(),
+                        rs.getDouble(5), counts, revenue);
+            }
+        }, args);
+
+        upsert(counts, revenue);
+        return counts.size();
+    }
+
+    private static void addStay(Long hotelId, RoomType roomType, LocalDate checkin, LocalDate checkout, double total,
+                                Map<StatsKey, long[]> counts, Map<StatsKey, Double> revenue) {
+        int nights = InventoryService.nightsBetween(checkin, checkout);
+        double perNight = Math.round(total / nights * 100) / 100.0;
+        int index = 0;
+        for (LocalDate night = checkin; night.isBefore(checkout); night = night.plusDays(1), index++) {
+            StatsKey key = new StatsKey(hotelId, night, roomType);
+            long[] c = counts.computeIfAbsent(key, k -> new long[3]);
+            if (index == 0) {
+                c[1]++;
+            }
+            c[2]++;
+            // The last night takes the rounding remainder so the nights add up to the booking total
+            double amount = index == nights - 1 ? total - perNight * (nights - 1) : perNight;
+            revenue.merge(key, amount, Double::sum);
+        }
+    }
+
+    private void upsert(Map<StatsKey, long[]> counts, Map<StatsKey, Double> revenue) {
+        if (counts.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<StatsKey, long[]>> rows = new ArrayList<>(counts.entrySet());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows, 500, (ps, entry) -> {
+            StatsKey key = entry.getKey();
+            long[] c = entry.getValue();
+            ps.setLong(1, key.hotelId());
+            ps.setDate(2, Date.valueOf(key.date()));
+            ps.setString(3, key.roomType().name());
+            ps.setLong(4, c[0]);
+            ps.setLong(5, c[1]);
+            ps.setLong(6, c[2]);
+            ps.setDouble(7, Math.round(revenue.getOrDefault(key, 0.0) * 100) / 100.0);
+        });
+    }
+
+    private static AnalyticsRowResponse row(StatsKey key, Map<Long, String> hotelNames) {
+        return new AnalyticsRowResponse()
+                .setHotelId(key.hotelId().toString())
+                .setHotelName(hotelNames.get(key.hotelId()))
+                .setDate(key.date() == null ? null : key.date().toString())
+                .setRoomType(key.roomType().name().toLowerCase());
+    }
+
+    private static AnalyticsRowResponse withRatios(AnalyticsRowResponse row) {
+        row.setRevenue(Math.round(row.getRevenue() * 100) / 100.0);
+        row.setOccupancy(row.getCapacity() > 0
+                ? Math.round(row.getRoomNights() * 10000.0 / row.getCapacity()) / 10000.0 : null);
+        row.setAdr(row.getRoomNights() > 0
+                ? Math.round(row.getRevenue() * 100 / row.getRoomNights()) / 100.0 : null);
+        return row;
+    }
+
+    private static LocalDate[] parseRange(String from, String to) {
+        LocalDate end;
+        LocalDate start;
+        try {
+            end = to == null || to.isEmpty() ? LocalDate.now() : LocalDate.parse(to);
+            start = from == null || from.isEmpty() ? end.minusDays(DEFAULT_RANGE_DAYS - 1) : LocalDate.parse(from);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Dates must be formatted as yyyy-MM-dd");
+        }
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Analytics ranges are limited to " + MAX_RANGE_DAYS + " days");
+        }
+        return new LocalDate[]{start, end};
+    }
+
+    // date is null for keys that cover a whole range
+    private record StatsKey(Long hotelId, LocalDate date, RoomType roomType) {
+    }
+}
@@ -0,0 +1,142 @@
+package org.example.service;
+
+import org.example.entity.Booking;
+import org.example.repository.BookingRepository;
+import org.example.util.HashedTimingWheel;
+import org.example.util.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Expires unpaid bookings once their hold window passes. Live holds sit in a hashed
+ * timing wheel that is advanced every second, and due bookings are expired in chunks:
+ * one locking select and one status update per chunk, plus the inventory release for
+ * each booking. A periodic database sweep recovers holds the wheel does not know about,
+ * such as those created before a restart or by another instance.
+ */
+@Service
+public class BookingHoldService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingHoldService.class);
+
+    private static final int WHEEL_SIZE = 4096;
+    private static final long TICK_MILLIS = 1000;
+    private static final int EXPIRY_CHUNK = 500;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final Duration holdTtl;
+
+    private final HashedTimingWheel wheel = new HashedTimingWheel(WHEEL_SIZE, TICK_MILLIS, System.currentTimeMillis());
+
+    public BookingHoldService(@Value("${booking.hold.ttl-minutes:15}") long ttlMinutes) {
+        this.holdTtl = Duration.ofMinutes(ttlMinutes);
+    }
+
+    public LocalDateTime newHoldDeadline() {
+        return LocalDateTime.now().plus(holdTtl);
+    }
+
+    /**
+     * Schedules expiry of a pending booking once the transaction that created it commits.
+     */
+    public void track(Long bookingId, LocalDateTime holdExpiresAt) {
+        TransactionCallbacks.afterCommit(() -> wheel.schedule(bookingId, toEpochMillis(holdExpiresAt)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPendingHolds() {
+        List<Object[]> holds = bookingRepository.findPendingHolds();
+        for (Object[] row : holds) {
+            wheel.schedule((Long) row[0], toEpochMillis((LocalDateTime) row[1]));
+        }
+        logger.info("Loaded {} pending booking holds", holds.size());
+    }
+
+    @Scheduled(fixedDelay = TICK_MILLIS)
+    public void tick() {
+        List<Long> due = wheel.advance(System.currentTimeMillis());
+        if (!due.isEmpty()) {
+            expire(due);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${booking.hold.sweep-interval-ms:300000}",
+            initialDelayString = "${booking.hold.sweep-interval-ms:300000}")
+    public void sweep() {
+        int expired = 0;
+        List<Long> ids;
+        do {
+            ids = bookingRepository.findExpiredHoldIds(LocalDateTime.now(), PageRequest.of(0, EXPIRY_CHUNK));
+            int count = expireChunk(ids);
+            expired += count;
+            // Stop if a chunk made no progress so rows locked elsewhere cannot spin the loop
+            if (count == 0) {
+                break;
+            }
+        } while (ids.size() == EXPIRY_CHUNK);
+
+        if (expired > 0) {
+            logger.info("Hold sweep expired {} bookings", expired);
+        }
+    }
+
+    public int expire(List<Long> bookingIds) {
+        int expired = 0;
+        for (int from = 0; from < bookingIds.size(); from += EXPIRY_CHUNK) {
+            expired += expireChunk(bookingIds.subList(from, Math.min(from + EXPIRY_CHUNK, bookingIds.size())));
+        }
+        return expired;
+    }
+
+    private int expireChunk(List<Long> bookingIds) {
+        if (bookingIds.isEmpty()) {
+            return 0;
+        }
+        try {
+            Integer expired = transactionTemplate.execute(status -> {
+                // Locking the rows makes expiry and payment mutually exclusive per booking
+                List<Booking> due = bookingRepository.lockExpiredHolds(bookingIds, LocalDateTime.now());
+                if (due.isEmpty()) {
+                    return 0;
+                }
+                bookingRepository.markExpired(due.stream().map(Booking::getId).collect(Collectors.toList()));
+                for (Booking booking : due) {
+                    inventoryService.release(booking.getHotel().getId(), booking.getRoomType(),
+                            booking.getCheckin(), booking.getCheckout());
+                }
+                return due.size();
+            });
+            return expired == null ? 0 : expired;
+        } catch (RuntimeException e) {
+            // The sweep picks these up again on its next run
+            logger.error("Failed to expire {} booking holds: {}", bookingIds.size(), e.getMessage(), e);
+            return 0;
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -2,6 +2,7 @@ package org.example.service;
 
 import org.example.dto.Request.BookingRequest;
 import org.example.dto.Response.BookingResponse;
+import org.example.dto.Response.RateQuoteResponse;
 import org.example.entity.Booking;
 import org.example.entity.Hotel;
 import org.example.enums.RoomType;
@@ -10,6 +11,7 @@ import org.example.repository.BookingRepository;
 import org.example.repository.HotelRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -24,26 +26,71 @@ public class BookingService {
     @Autowired
     private HotelRepository hotelRepository;
 
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private BookingHoldService bookingHoldService;
+
+    @Autowired
+    private RateCalendarService rateCalendarService;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private DashboardMetrics dashboardMetrics;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     public BookingResponse createBooking(BookingRequest request, String userEmail) {
         Long hotelId = Long.parseLong(request.getHotelId());
+        RoomType roomType = RoomType.valueOf(request.getRoomType().toUpperCase());
+        LocalDate checkin = LocalDate.parse(request.getCheckin());
+        LocalDate checkout = LocalDate.parse(request.getCheckout());
+
+        // Price on the server; this also enforces the minimum stay for the arrival night
+        RateQuoteResponse quote = rateCalendarService.quote(hotelId, roomType, checkin, checkout);
+
+        // Ledger rows are created outside the booking transaction so it only holds one connection
+        inventoryService.prepareNights(hotelId, roomType, checkin, checkout);
+
+        return transactionTemplate.execute(status -> reserveAndSave(request, userEmail, hotelId, roomType, checkin, checkout, quote));
+    }
+
+    private BookingResponse reserveAndSave(BookingRequest request, String userEmail, Long hotelId,
+                                           RoomType roomType, LocalDate checkin, LocalDate checkout,
+                                           RateQuoteResponse quote) {
         Hotel hotel = hotelRepository.findById(hotelId)
                 .orElseThrow(() -> new ResourceNotFoundException("Hotel not found with id: " + request.getHotelId()));
 
-        RoomType roomType = RoomType.valueOf(request.getRoomType().toUpperCase());
+        // Claim every night of the stay before the booking row exists
+        inventoryService.reserve(hotelId, roomType, checkin, checkout);
 
         Booking booking = Booking.builder()
                 .hotel(hotel)
+                .managerEmail(hotel.getManagerEmail())
                 .userEmail(userEmail)
                 .roomType(roomType)
-                .checkin(LocalDate.parse(request.getCheckin()))
-                .checkout(LocalDate.parse(request.getCheckout()))
-                .nights(request.getNights())
-                .pricePerNight(request.getPricePerNight())
-                .total(request.getTotal())
+                .checkin(checkin)
+                .checkout(checkout)
+                .nights(quote.getNights())
+                .pricePerNight(quote.getPricePerNight())
+                .total(quote.getTotal())
+                .holdExpiresAt(bookingHoldService.newHoldDeadline())
                 .build();
 
         Booking savedBooking = bookingRepository.save(booking);
-        return new BookingResponse(savedBooking);
+        bookingHoldService.track(savedBooking.getId(), savedBooking.getHoldExpiresAt());
+        analyticsService.recordBooking(savedBooking);
+        dashboardMetrics.bookingAdded();
+        BookingResponse response = new BookingResponse(savedBooking);
+        idempotencyService.completeInTransaction(response);
+        return response;
     }
 
     public List<BookingResponse> getUserBookings(String userEmail) {
@@ -0,0 +1,229 @@
+package org.example.service;
+
+import org.example.enums.HotelStatus;
+import org.example.util.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps the admin dashboard figures in memory. Write paths report their changes here
+ * and the counters move once the change commits, so reading the dashboard never
+ * touches the database. A periodic reconciliation recomputes the figures with SQL
+ * aggregates and corrects any drift, e.g. from rows changed outside the application.
+ * Connected dashboards receive the figures over Server-Sent Events whenever they change.
+ */
+@Service
+public class DashboardMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardMetrics.class);
+
+    private static final String EVENT_NAME = "stats";
+    // Idle streams get a comment this often so proxies do not drop them
+    private static final int KEEPALIVE_TICKS = 30;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+
+    private long totalUsers;
+    private long totalBookings;
+    private double totalRevenue;
+    private final Map<HotelStatus, Long> hotelsByStatus = new EnumMap<>(HotelStatus.class);
+
+    private long version;
+    private long pushedVersion;
+    private int idleTicks;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reconcile();
+    }
+
+    public void userAdded() {
+        TransactionCallbacks.afterCommit(() -> change(() -> totalUsers++));
+    }
+
+    public void userRemoved() {
+        TransactionCallbacks.afterCommit(() -> change(() -> totalUsers--));
+    }
+
+    public void hotelsAdded(HotelStatus status, int count) {
+        TransactionCallbacks.afterCommit(() -> change(() -> hotelsByStatus.merge(status, (long) count, Long::sum)));
+    }
+
+    public void hotelStatusChanged(HotelStatus from, HotelStatus to) {
+        if (from == to) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> change(() -> {
+            hotelsByStatus.merge(from, -1L, Long::sum);
+            hotelsByStatus.merge(to, 1L, Long::sum);
+        }));
+    }
+
+    /**
+     * Applies the net change in hotels per status from a batch of transitions.
+     */
+    public void hotelStatusesChanged(Map<HotelStatus, Long> deltas) {
+        TransactionCallbacks.afterCommit(() -> change(() -> deltas.forEach((status, delta) ->
+                hotelsByStatus.merge(status, delta, Long::sum))));
+    }
+
+    public void hotelRemoved(HotelStatus status) {
+        TransactionCallbacks.afterCommit(() -> change(() -> hotelsByStatus.merge(status, -1L, Long::sum)));
+    }
+
+    public void bookingAdded() {
+        TransactionCallbacks.afterCommit(() -> change(() -> totalBookings++));
+    }
+
+    public void bookingPaid(double total) {
+        TransactionCallbacks.afterCommit(() -> change(() -> totalRevenue += total));
+    }
+
+    public synchronized long userCount() {
+        return totalUsers;
+    }
+
+    /**
+     * Hotels with the given status, or all hotels when the status is null.
+     */
+    public synchronized long hotelCount(HotelStatus status) {
+        if (status == null) {
+            return hotelsByStatus.values().stream().mapToLong(Long::longValue).sum();
+        }
+        return hotelsByStatus.getOrDefault(status, 0L);
+    }
+
+    public synchronized Map<String, Object> snapshot() {
+        long approved = hotelsByStatus.getOrDefault(HotelStatus.APPROVED, 0L);
+        long pending = hotelsByStatus.getOrDefault(HotelStatus.PENDING, 0L);
+        long rejected = hotelsByStatus.getOrDefault(HotelStatus.REJECTED, 0L);
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("totalUsers", totalUsers);
+        stats.put("totalHotels", hotelCount(null));
+        stats.put("approvedHotels", approved);
+        stats.put("pendingHotels", pending);
+        stats.put("rejectedHotels", rejected);
+        stats.put("totalBookings", totalBookings);
+        // Rounded to cents so repeated additions do not show floating-point noise
+        stats.put("totalRevenue", Math.round(totalRevenue * 100) / 100.0);
+        return stats;
+    }
+
+    /**
+     * Replaces the counters with SQL aggregates. Writes that commit while the queries run
+     * may be counted twice or missed until the next reconciliation.
+     */
+    @Scheduled(fixedDelayString = "${dashboard.reconcile-interval-ms:300000}",
+            initialDelayString = "${dashboard.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        long start = System.nanoTime();
+        Long users = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        Map<HotelStatus, Long> hotels = new EnumMap<>(HotelStatus.class);
+        jdbcTemplate.query("SELECT status, COUNT(*) FROM hotels GROUP BY status", rs -> {
+            if (rs.getString(1) != null) {
+                hotels.put(HotelStatus.valueOf(rs.getString(1)), rs.getLong(2));
+            }
+        });
+        Long bookings = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings", Long.class);
+        Double revenue = jdbcTemplate.queryForObject(
+                "SELECT SUM(total) FROM bookings WHERE status = 'PAID'", Double.class);
+
+        Map<String, Object> before;
+        Map<String, Object> after;
+        synchronized (this) {
+            before = snapshot();
+            totalUsers = users == null ? 0 : users;
+            hotelsByStatus.clear();
+            hotelsByStatus.putAll(hotels);
+            totalBookings = bookings == null ? 0 : bookings;
+            totalRevenue = revenue == null ? 0.0 : revenue;
+            after = snapshot();
+            if (!after.equals(before)) {
+                version++;
+            }
+        }
+        if (!after.equals(before)) {
+            logger.info("Dashboard counters reconciled in {} ms: {} -> {}",
+                    (System.nanoTime() - start) / 1_000_000, before, after);
+        }
+    }
+
+    /**
+     * Opens a stream that starts with the current figures and carries every change after.
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter();
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(error -> subscribers.remove(emitter));
+        subscribers.add(emitter);
+        send(emitter, SseEmitter.event().name(EVENT_NAME).data(snapshot()));
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Sends the figures to every subscriber when they changed since the last push, so a
+     * burst of bookings becomes at most one event per interval.
+     */
+    @Scheduled(fixedDelayString = "${dashboard.push-interval-ms:1000}")
+    public void push() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Map<String, Object> stats;
+        synchronized (this) {
+            if (version == pushedVersion) {
+                if (++idleTicks < KEEPALIVE_TICKS) {
+                    return;
+                }
+                stats = null;
+            } else {
+                pushedVersion = version;
+                stats = snapshot();
+            }
+            idleTicks = 0;
+        }
+        for (SseEmitter emitter : subscribers) {
+            send(emitter, stats == null
+                    ? SseEmitter.event().comment("keepalive")
+                    : SseEmitter.event().name(EVENT_NAME).data(stats));
+        }
+    }
+
+    private synchronized void change(Runnable update) {
+        update.run();
+        version++;
+    }
+
+    private void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // The dashboard went away; completing the emitter removes it
+            subscribers.remove(emitter);
+            emitter.completeWithError(e);
+        }
+    }
+}
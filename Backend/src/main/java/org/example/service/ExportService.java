@@ -0,0 +1,263 @@
+package org.example.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.enums.ExportFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams a manager's bookings or reviews as CSV or NDJSON. Rows are read through a
+ * forward-only result set and written to the response as they arrive, so memory stays
+ * flat however many rows the export has. With MySQL the default fetch size of
+ * Integer.MIN_VALUE makes the driver stream rows instead of buffering the result.
+ */
+@Service
+public class ExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String BOOKINGS_SQL =
+            "SELECT b.id, b.hotel_id, h.name, b.user_email, b.room_type, b.checkin, b.checkout, b.nights, " +
+            "b.price_per_night, b.total, b.status, b.created_at " +
+            "FROM bookings b JOIN hotels h ON h.id = b.hotel_id WHERE h.manager_email = ?";
+    private static final List<String> BOOKING_COLUMNS = List.of("id", "hotelId", "hotelName", "userEmail",
+            "roomType", "checkin", "checkout", "nights", "pricePerNight", "total", "status", "createdAt");
+
+    private static final String REVIEWS_SQL =
+            "SELECT r.id, r.hotel_id, h.name, r.booking_id, r.user_email, r.rating, r.comment, r.flagged, " +
+            "r.created_at, r.reply_text, r.reply_created_at " +
+            "FROM reviews r JOIN hotels h ON h.id = r.hotel_id WHERE h.manager_email = ?";
+    private static final List<String> REVIEW_COLUMNS = List.of("id", "hotelId", "hotelName", "bookingId",
+            "userEmail", "rating", "comment", "flagged", "createdAt", "replyText", "replyCreatedAt");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final int fetchSize;
+
+    public ExportService(@Value("${export.fetch-size:-2147483648}") int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Bookings whose check-in falls within the optional date range.
+     */
+    public Export exportBookings(String managerEmail, String format, String from, String to, boolean gzip) {
+        List<Object> args = new ArrayList<>(List.of(managerEmail));
+        String sql = BOOKINGS_SQL + dateFilter("b.checkin", from, to, false, args) + " ORDER BY b.id";
+        return export("bookings", sql, args, BOOKING_COLUMNS, parseFormat(format), gzip);
+    }
+
+    /**
+     * Reviews written within the optional date range.
+     */
+    public Export exportReviews(String managerEmail, String format, String from, String to, boolean gzip) {
+        List<Object> args = new ArrayList<>(List.of(managerEmail));
+        String sql = REVIEWS_SQL + dateFilter("r.created_at", from, to, true, args) + " ORDER BY r.id";
+        return export("reviews", sql, args, REVIEW_COLUMNS, parseFormat(format), gzip);
+    }
+
+    private Export export(String name, String sql, List<Object> args, List<String> columns,
+                          ExportFormat format, boolean gzip) {
+        String extension = format == ExportFormat.CSV ? ".csv" : ".ndjson";
+        MediaType contentType = gzip ? MediaType.parseMediaType("application/gzip")
+                : format == ExportFormat.CSV ? MediaType.parseMediaType("text/csv;charset=UTF-8")
+                : MediaType.parseMediaType("application/x-ndjson");
+
+        StreamingResponseBody body = out -> {
+            long start = System.nanoTime();
+            OutputStream target = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : out;
+            RowWriter writer = format == ExportFormat.CSV ? new CsvWriter(target, columns) : new NdjsonWriter(target, columns);
+            long[] rows = {0};
+            try {
+                jdbcTemplate.query(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(sql,
+                            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    statement.setFetchSize(fetchSize);
+                    for (int i = 0; i < args.size(); i++) {
+                        statement.setObject(i + 1, args.get(i));
+                    }
+                    return statement;
+                }, rs -> {
+                    try {
+                        writer.write(rs);
+                        rows[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writer.finish();
+                if (target instanceof GZIPOutputStream gzipStream) {
+                    gzipStream.finish();
+                }
+            } catch (UncheckedIOException e) {
+                // Usually the client went away; the query stops with the exception
+                logger.warn("Export of {} aborted after {} rows: {}", name, rows[0], e.getMessage());
+                throw e.getCause();
+            }
+            logger.info("Exported {} {} rows as {} in {} ms", rows[0], name, format, (System.nanoTime() - start) / 1_000_000);
+        };
+        return new Export(name + extension + (gzip ? ".gz" : ""), contentType, body);
+    }
+
+    private static String dateFilter(String column, String from, String to, boolean timestamp, List<Object> args) {
+        StringBuilder filter = new StringBuilder();
+        try {
+            if (from != null && !from.isEmpty()) {
+                LocalDate start = LocalDate.parse(from);
+                filter.append(" AND ").append(column).append(" >= ?");
+                args.add(timestamp ? Timestamp.valueOf(start.atStartOfDay()) : Date.valueOf(start));
+            }
+            if (to != null && !to.isEmpty()) {
+                LocalDate end = LocalDate.parse(to);
+                filter.append(" AND ").append(column).append(timestamp ? " < ?" : " <= ?");
+                args.add(timestamp ? Timestamp.valueOf(end.plusDays(1).atStartOfDay()) : Date.valueOf(end));
+            }
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Dates must be formatted as yyyy-MM-dd");
+        }
+        return filter.toString();
+    }
+
+    private static ExportFormat parseFormat(String format) {
+        if (format == null || format.isEmpty()) {
+            return ExportFormat.CSV;
+        }
+        try {
+            return ExportFormat.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid format: " + format + ". Valid values are csv and ndjson");
+        }
+    }
+
+    private static Object value(ResultSet rs, int column) throws SQLException {
+        Object value = rs.getObject(column);
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        if (value instanceof Date date) {
+            return date.toLocalDate().toString();
+        }
+        return value;
+    }
+
+    public record Export(String filename, MediaType contentType, StreamingResponseBody body) {
+    }
+
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class CsvWriter implements RowWriter {
+        private final Writer out;
+        private final int columns;
+
+        CsvWriter(OutputStream target, List<String> header) throws IOException {
+            this.out = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), BUFFER_SIZE);
+            this.columns = header.size();
+            out.write(String.join(",", header));
+            out.write("\r\n");
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            for (int i = 1; i <= columns; i++) {
+                if (i > 1) {
+                    out.write(',');
+                }
+                Object value = value(rs, i);
+                if (value != null) {
+                    out.write(value instanceof String text ? escape(text) : value.toString());
+                }
+            }
+            out.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            out.flush();
+        }
+
+        private static String escape(String text) {
+            // A leading formula character would be evaluated by spreadsheet apps
+            if (!text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+                text = "'" + text;
+            }
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                return text;
+            }
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    private final class NdjsonWriter implements RowWriter {
+        private final JsonGenerator json;
+        private final List<String> columns;
+
+        NdjsonWriter(OutputStream target, List<String> columns) throws IOException {
+            this.json = objectMapper.getFactory().createGenerator(target)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Rows are separated by the newline written after each one
+            json.setRootValueSeparator(new SerializedString(""));
+            this.columns = columns;
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            json.writeStartObject();
+            for (int i = 0; i < columns.size(); i++) {
+                json.writeFieldName(columns.get(i));
+                Object value = value(rs, i + 1);
+                if (value == null) {
+                    json.writeNull();
+                } else if (value instanceof Boolean bool) {
+                    json.writeBoolean(bool);
+                } else if (value instanceof Number number) {
+                    json.writeNumber(number.toString());
+                } else {
+                    json.writeString(value.toString());
+                }
+            }
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            json.flush();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.service;
+
+import org.example.dto.Response.HotelDetailResponse;
+import org.example.util.BoundedTtlCache;
+import org.example.util.TransactionCallbacks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class HotelDetailCache {
+
+    private final BoundedTtlCache<Long, HotelDetailResponse> cache;
+    // Bumped on every eviction; a load only caches its result if nothing was evicted meanwhile
+    private final Map<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public HotelDetailCache(@Value("${hotel.detail-cache.max-size:10000}") int maxSize,
+                            @Value("${hotel.detail-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.cache = new BoundedTtlCache<>(maxSize, ttlSeconds * 1000);
+    }
+
+    public HotelDetailResponse get(Long hotelId) {
+        return cache.get(hotelId);
+    }
+
+    /** Read before loading a hotel and handed back to {@link #put}. */
+    public long generation(Long hotelId) {
+        AtomicLong generation = generations.get(hotelId);
+        return generation == null ? 0 : generation.get();
+    }
+
+    /**
+     * Caches a response loaded at the given generation, unless the hotel was evicted
+     * since. An eviction racing with the check below still invalidates after the put.
+     */
+    public void put(Long hotelId, long generation, HotelDetailResponse response) {
+        if (generation(hotelId) != generation) {
+            return;
+        }
+        cache.put(hotelId, response);
+        if (generation(hotelId) != generation) {
+            cache.invalidate(hotelId);
+        }
+    }
+
+    /**
+     * Drops the entry now and again after the current transaction commits, so a
+     * concurrent reader cannot re-cache the pre-commit state.
+     */
+    public void evict(Long hotelId) {
+        invalidate(hotelId);
+        TransactionCallbacks.afterCommit(() -> invalidate(hotelId));
+    }
+
+    public void evictAll(Collection<Long> hotelIds) {
+        hotelIds.forEach(this::invalidate);
+        TransactionCallbacks.afterCommit(() -> hotelIds.forEach(this::invalidate));
+    }
+
+    public Map<String, Object> stats() {
+        return cache.stats();
+    }
+
+    private void invalidate(Long hotelId) {
+        generations.computeIfAbsent(hotelId, id -> new AtomicLong()).incrementAndGet();
+        cache.invalidate(hotelId);
+    }
+}
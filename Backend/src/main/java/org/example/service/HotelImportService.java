@@ -0,0 +1,447 @@
+package org.example.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.dto.Request.HotelImportRow;
+import org.example.dto.Response.HotelImportReport;
+import org.example.enums.HotelStatus;
+import org.example.enums.ImportFormat;
+import org.example.enums.RoomType;
+import org.example.util.CsvReader;
+import org.example.util.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Imports a file of hotels with their rooms, amenities and images for one manager. The
+ * file is parsed one hotel at a time and each hotel is validated on its own, so a bad row
+ * is reported and skipped instead of failing the import. Valid hotels are written in
+ * chunks, one transaction per chunk, with JDBC batch inserts. Hotel ids stay
+ * database-generated: the hotels of a chunk go in as one batch and their ids are read
+ * back from the generated keys, then the rooms, images and amenities of the chunk are
+ * batched against those ids.
+ */
+@Service
+public class HotelImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HotelImportService.class);
+
+    private static final int MAX_ERRORS_LISTED = 1000;
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private static final String INSERT_HOTEL =
+            "INSERT INTO hotels (name, location, description, rating, manager_email, status, created_at, updated_at) " +
+            "VALUES (?, ?, ?, 0.0, ?, ?, ?, ?)";
+    private static final String INSERT_ROOM = "INSERT INTO rooms (hotel_id, type, price, available) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_IMAGE = "INSERT INTO hotel_images (hotel_id, image_url) VALUES (?, ?)";
+    private static final String INSERT_AMENITY = "INSERT INTO hotel_amenities (hotel_id, amenity) VALUES (?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OccupancyIndex occupancyIndex;
+
+    @Autowired
+    private DashboardMetrics dashboardMetrics;
+
+    private final int batchSize;
+    private final int maxRows;
+
+    public HotelImportService(@Value("${hotel.import.batch-size:500}") int batchSize,
+                              @Value("${hotel.import.max-rows:10000}") int maxRows) {
+        this.batchSize = batchSize;
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * Reads hotels from the stream and imports the valid ones as pending hotels of the
+     * manager. A JSON file holds an array of hotel objects or one object per line; a CSV
+     * file has a header row and one hotel per row. A syntax error that makes the rest of
+     * the file unreadable ends the import after the hotels read so far.
+     */
+    public HotelImportReport importHotels(InputStream body, String format, String contentType, String managerEmail) {
+        ImportFormat importFormat = parseFormat(format, contentType);
+        Run run = new Run(managerEmail);
+        long start = System.nanoTime();
+
+        try {
+            if (importFormat == ImportFormat.CSV) {
+                readCsv(body, run);
+            } else {
+                readJson(body, run);
+            }
+        } catch (IOException e) {
+            logger.warn("Hotel import for {} stopped after {} rows: {}", managerEmail, run.rowsRead, e.getMessage());
+            String message = e instanceof JsonProcessingException json ? json.getOriginalMessage() : e.getMessage();
+            run.fail(run.rowsRead + 1, null, "Unreadable input, import stopped: " + message);
+        }
+        run.flush();
+
+        HotelImportReport report = run.report.setDurationMs((System.nanoTime() - start) / 1_000_000);
+        logger.info("Hotel import for {}: {} rows read, {} hotels with {} rooms imported, {} rows failed in {} ms",
+                managerEmail, report.getRowsRead(), report.getHotelsImported(), report.getRoomsImported(),
+                report.getRowsFailed(), report.getDurationMs());
+        return report;
+    }
+
+    private void readJson(InputStream body, Run run) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            while (token != null && token != JsonToken.END_ARRAY && run.accepting()) {
+                long row = run.rowsRead + 1;
+                // Each hotel is read as a tree first, so a value of the wrong type only fails its own row
+                JsonNode node = parser.readValueAsTree();
+                run.rowsRead = row;
+                HotelImportRow hotel = null;
+                String error = null;
+                if (node == null || !node.isObject()) {
+                    error = "Expected a hotel object";
+                } else {
+                    try {
+                        hotel = objectMapper.treeToValue(node, HotelImportRow.class);
+                    } catch (JsonProcessingException e) {
+                        error = "Invalid value: " + e.getOriginalMessage();
+                    }
+                }
+                if (error != null) {
+                    run.fail(row, node != null && node.hasNonNull("name") ? node.get("name").asText() : null, error);
+                } else {
+                    run.accept(row, hotel);
+                }
+                token = parser.nextToken();
+            }
+            if (array && token == null) {
+                throw new IOException("Unexpected end of input inside the hotel array");
+            }
+        }
+    }
+
+    private void readCsv(InputStream body, Run run) throws IOException {
+        CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)));
+        List<String> header = reader.next();
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            // Spreadsheet apps often save UTF-8 CSV with a byte order mark
+            String name = i == 0 ? header.get(i).replace("\uFEFF", "") : header.get(i);
+            columns.put(name.trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("name") || !columns.containsKey("location")) {
+            throw new IllegalArgumentException("The CSV header must have name and location columns");
+        }
+
+        List<String> fields;
+        while ((fields = reader.next()) != null && run.accepting()) {
+            long row = ++run.rowsRead;
+            HotelImportRow hotel = new HotelImportRow();
+            hotel.setName(column(fields, columns, "name"));
+            hotel.setLocation(column(fields, columns, "location"));
+            hotel.setDescription(column(fields, columns, "description"));
+            hotel.setAmenities(split(column(fields, columns, "amenities")));
+            hotel.setImages(split(column(fields, columns, "images")));
+
+            // One price and availability column pair per room type, e.g. deluxe_price, deluxe_available
+            String error = null;
+            for (RoomType type : RoomType.values()) {
+                String prefix = type.name().toLowerCase(Locale.ROOT);
+                String price = column(fields, columns, prefix + "_price");
+                String available = column(fields, columns, prefix + "_available");
+                if (price == null && available == null) {
+                    continue;
+                }
+                try {
+                    hotel.getRooms().add(new HotelImportRow.Room(type.name(),
+                            price == null ? null : Double.valueOf(price),
+                            available == null ? null : Integer.valueOf(available)));
+                } catch (NumberFormatException e) {
+                    error = "Invalid number for " + prefix + " rooms";
+                    break;
+                }
+            }
+
+            if (error != null) {
+                run.fail(row, hotel.getName(), error);
+            } else {
+                run.accept(row, hotel);
+            }
+        }
+    }
+
+    private static String column(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static List<String> split(String value) {
+        List<String> parts = new ArrayList<>();
+        if (value != null) {
+            Arrays.stream(value.split("\\|")).map(String::trim).filter(part -> !part.isEmpty()).forEach(parts::add);
+        }
+        return parts;
+    }
+
+    /**
+     * Returns why the hotel cannot be imported, or null when it is valid.
+     */
+    private static String validate(HotelImportRow hotel) {
+        if (isBlank(hotel.getName())) {
+            return "Hotel name is required";
+        }
+        if (isBlank(hotel.getLocation())) {
+            return "Hotel location is required";
+        }
+        if (hotel.getName().trim().length() > MAX_TEXT_LENGTH || hotel.getLocation().trim().length() > MAX_TEXT_LENGTH) {
+            return "Hotel name and location must be at most " + MAX_TEXT_LENGTH + " characters";
+        }
+        for (List<String> values : List.of(nullToEmpty(hotel.getAmenities()), nullToEmpty(hotel.getImages()))) {
+            for (String value : values) {
+                if (isBlank(value) || value.trim().length() > MAX_TEXT_LENGTH) {
+                    return "Amenities and image URLs must be non-empty and at most " + MAX_TEXT_LENGTH + " characters";
+                }
+            }
+        }
+
+        List<HotelImportRow.Room> rooms = nullToEmpty(hotel.getRooms());
+        if (rooms.isEmpty()) {
+            return "At least one room type is required";
+        }
+        Set<RoomType> seen = EnumSet.noneOf(RoomType.class);
+        for (HotelImportRow.Room room : rooms) {
+            RoomType type;
+            try {
+                type = RoomType.valueOf(String.valueOf(room.getType()).trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return "Invalid room type: " + room.getType() + ". Valid values are " + Arrays.toString(RoomType.values());
+            }
+            if (!seen.add(type)) {
+                return "Room type " + type + " is listed more than once";
+            }
+            if (room.getPrice() == null || room.getPrice().isNaN() || room.getPrice() <= 0) {
+                return "Price for " + type + " rooms must be greater than zero";
+            }
+            if (room.getAvailable() == null || room.getAvailable() < 0) {
+                return "Available count for " + type + " rooms must be zero or more";
+            }
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    private static <T> List<T> nullToEmpty(List<T> values) {
+        return values == null ? List.of() : values;
+    }
+
+    private static ImportFormat parseFormat(String format, String contentType) {
+        if (format == null || format.isEmpty()) {
+            return contentType != null && contentType.toLowerCase(Locale.ROOT).contains("csv")
+                    ? ImportFormat.CSV : ImportFormat.JSON;
+        }
+        try {
+            return ImportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid format: " + format + ". Valid values are csv and json");
+        }
+    }
+
+    /**
+     * Inserts one chunk of validated hotels in a single transaction and returns their ids
+     * in chunk order.
+     */
+    private List<Long> insertChunk(List<PendingHotel> chunk, String managerEmail) {
+        return transactionTemplate.execute(status -> {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_HOTEL, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            PendingHotel hotel = chunk.get(i);
+                            ps.setString(1, hotel.name());
+                            ps.setString(2, hotel.location());
+                            ps.setString(3, hotel.description());
+                            ps.setString(4, managerEmail);
+                            ps.setString(5, HotelStatus.PENDING.name());
+                            ps.setTimestamp(6, now);
+                            ps.setTimestamp(7, now);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    }, keys);
+
+            List<Map<String, Object>> generated = keys.getKeyList();
+            if (generated.size() != chunk.size()) {
+                throw new IllegalStateException("Expected " + chunk.size() + " generated hotel ids but got " + generated.size());
+            }
+            List<Long> ids = new ArrayList<>(chunk.size());
+            for (Map<String, Object> key : generated) {
+                ids.add(((Number) key.values().iterator().next()).longValue());
+            }
+
+            List<Object[]> rooms = new ArrayList<>();
+            List<Object[]> images = new ArrayList<>();
+            List<Object[]> amenities = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                Long hotelId = ids.get(i);
+                PendingHotel hotel = chunk.get(i);
+                for (PendingRoom room : hotel.rooms()) {
+                    rooms.add(new Object[]{hotelId, room.type().name(), room.price(), room.available()});
+                    TransactionCallbacks.afterCommit(() ->
+                            occupancyIndex.registerRoom(hotelId, room.type(), room.available()));
+                }
+                hotel.images().forEach(image -> images.add(new Object[]{hotelId, image}));
+                hotel.amenities().forEach(amenity -> amenities.add(new Object[]{hotelId, amenity}));
+            }
+            jdbcTemplate.batchUpdate(INSERT_ROOM, rooms);
+            jdbcTemplate.batchUpdate(INSERT_IMAGE, images);
+            jdbcTemplate.batchUpdate(INSERT_AMENITY, amenities);
+            dashboardMetrics.hotelsAdded(HotelStatus.PENDING, ids.size());
+            return ids;
+        });
+    }
+
+    /**
+     * State of one import: the report so far and the validated hotels waiting to be
+     * written.
+     */
+    private final class Run {
+        private final String managerEmail;
+        private final HotelImportReport report = new HotelImportReport();
+        private final List<PendingHotel> pending = new ArrayList<>();
+        private long rowsRead;
+        private boolean truncated;
+
+        Run(String managerEmail) {
+            this.managerEmail = managerEmail;
+        }
+
+        boolean accepting() {
+            if (rowsRead < maxRows) {
+                return true;
+            }
+            if (!truncated) {
+                // Recorded once; rows past the limit are not read at all
+                truncated = true;
+                fail(rowsRead + 1, null, "Import limit of " + maxRows + " hotels reached, remaining rows were not read");
+            }
+            return false;
+        }
+
+        void accept(long row, HotelImportRow hotel) {
+            String error = validate(hotel);
+            if (error != null) {
+                fail(row, hotel.getName(), error);
+                return;
+            }
+            pending.add(PendingHotel.of(row, hotel));
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void fail(long row, String name, String error) {
+            report.setRowsFailed(report.getRowsFailed() + 1);
+            if (report.getErrors().size() < MAX_ERRORS_LISTED) {
+                report.getErrors().add(new HotelImportReport.RowError(row, name, error));
+            }
+        }
+
+        void flush() {
+            report.setRowsRead(rowsRead);
+            if (pending.isEmpty()) {
+                return;
+            }
+            try {
+                stored(pending, insertChunk(pending, managerEmail));
+            } catch (DataAccessException e) {
+                // Find the rows the database refused by writing the chunk one hotel at a time
+                logger.warn("Hotel import chunk of {} rows failed, retrying row by row: {}", pending.size(), e.getMessage());
+                for (PendingHotel hotel : pending) {
+                    try {
+                        stored(List.of(hotel), insertChunk(List.of(hotel), managerEmail));
+                    } catch (DataAccessException rowError) {
+                        fail(hotel.row(), hotel.name(), "Could not be stored: " + rowError.getMostSpecificCause().getMessage());
+                    }
+                }
+            }
+            pending.clear();
+        }
+
+        private void stored(List<PendingHotel> hotels, List<Long> ids) {
+            report.getHotelIds().addAll(ids);
+            report.setHotelsImported(report.getHotelsImported() + hotels.size());
+            report.setRoomsImported(report.getRoomsImported() + hotels.stream().mapToLong(hotel -> hotel.rooms().size()).sum());
+        }
+    }
+
+    private record PendingRoom(RoomType type, double price, int available) {
+    }
+
+    private record PendingHotel(long row, String name, String location, String description,
+                                List<String> amenities, List<String> images, List<PendingRoom> rooms) {
+
+        static PendingHotel of(long row, HotelImportRow hotel) {
+            List<PendingRoom> rooms = hotel.getRooms().stream()
+                    .map(room -> new PendingRoom(RoomType.valueOf(room.getType().trim().toUpperCase(Locale.ROOT)),
+                            room.getPrice(), room.getAvailable()))
+                    .toList();
+            return new PendingHotel(row, hotel.getName().trim(), hotel.getLocation().trim(),
+                    hotel.getDescription() != null ? hotel.getDescription().trim() : "",
+                    nullToEmpty(hotel.getAmenities()).stream().map(String::trim).toList(),
+                    nullToEmpty(hotel.getImages()).stream().map(String::trim).toList(),
+                    rooms);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package org.example.service;
+
+import org.example.dto.Request.HotelModerationRequest;
+import org.example.dto.Response.HotelModerationReport;
+import org.example.entity.Hotel;
+import org.example.enums.HotelStatus;
+import org.example.enums.ModerationOutcome;
+import org.example.util.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves many hotels to one status in a single transaction. The requested rows are
+ * locked and read first, so each id gets an outcome: updated, already in the target
+ * status, in a different status than the caller expected, or missing. The qualifying
+ * hotels are then changed with one conditional UPDATE per chunk of ids. The search
+ * index, detail cache and dashboard counters are refreshed once for the whole batch
+ * after the commit.
+ */
+@Service
+public class HotelModerationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HotelModerationService.class);
+
+    static final int MAX_IDS = 5000;
+    private static final int CHUNK_SIZE = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private HotelSearchIndex hotelSearchIndex;
+
+    @Autowired
+    private HotelDetailCache hotelDetailCache;
+
+    @Autowired
+    private DashboardMetrics dashboardMetrics;
+
+    public HotelModerationReport moderate(HotelModerationRequest request) {
+        HotelStatus target = parseStatus(request.getStatus());
+        HotelStatus expected = request.getExpectedStatus() == null || request.getExpectedStatus().isEmpty()
+                ? null : parseStatus(request.getExpectedStatus());
+        if (request.getHotelIds() == null || request.getHotelIds().isEmpty()) {
+            throw new IllegalArgumentException("At least one hotel id is required");
+        }
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(request.getHotelIds()));
+        ids.removeIf(id -> id == null);
+        if (ids.size() > MAX_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_IDS + " hotels can be moderated at once");
+        }
+
+        long start = System.nanoTime();
+        HotelModerationReport report = transactionTemplate.execute(status -> moderateLocked(ids, target, expected));
+        report.setDurationMs((System.nanoTime() - start) / 1_000_000);
+        logger.info("Moderated {} hotels to {}: {} updated, {} unchanged, {} conflicts, {} not found in {} ms",
+                report.getRequested(), target, report.getUpdated(), report.getUnchanged(), report.getConflicts(),
+                report.getNotFound(), report.getDurationMs());
+        return report;
+    }
+
+    private HotelModerationReport moderateLocked(List<Long> ids, HotelStatus target, HotelStatus expected) {
+        Map<Long, Hotel> current = new HashMap<>();
+        for (List<Long> chunk : chunks(ids)) {
+            jdbcTemplate.query("SELECT id, name, location, status FROM hotels WHERE id IN (" + placeholders(chunk) +
+                    ") FOR UPDATE", rs -> {
+                Hotel hotel = Hotel.builder()
+                        .id(rs.getLong(1))
+                        .name(rs.getString(2))
+                        .location(rs.getString(3))
+                        .status(rs.getString(4) == null ? null : HotelStatus.valueOf(rs.getString(4)))
+                        .build();
+                current.put(hotel.getId(), hotel);
+            }, chunk.toArray());
+        }
+
+        HotelModerationReport report = new HotelModerationReport().setStatus(target).setRequested(ids.size());
+        List<Long> toUpdate = new ArrayList<>();
+        Map<HotelStatus, Long> deltas = new EnumMap<>(HotelStatus.class);
+        for (Long id : ids) {
+            Hotel hotel = current.get(id);
+            ModerationOutcome outcome;
+            if (hotel == null) {
+                outcome = ModerationOutcome.NOT_FOUND;
+                report.setNotFound(report.getNotFound() + 1);
+            } else if (hotel.getStatus() == target) {
+                outcome = ModerationOutcome.UNCHANGED;
+                report.setUnchanged(report.getUnchanged() + 1);
+            } else if (expected != null && hotel.getStatus() != expected) {
+                outcome = ModerationOutcome.CONFLICT;
+                report.setConflicts(report.getConflicts() + 1);
+            } else {
+                outcome = ModerationOutcome.UPDATED;
+                toUpdate.add(id);
+                if (hotel.getStatus() != null) {
+                    deltas.merge(hotel.getStatus(), -1L, Long::sum);
+                }
+                deltas.merge(target, 1L, Long::sum);
+            }
+            report.getOutcomes().add(new HotelModerationReport.Outcome(id, outcome,
+                    hotel == null ? null : hotel.getStatus()));
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int updated = 0;
+        for (List<Long> chunk : chunks(toUpdate)) {
+            List<Object> args = new ArrayList<>(List.of(target.name(), now));
+            args.addAll(chunk);
+            args.add(target.name());
+            // The rows are locked, so the status condition only guards against a caller bug
+            updated += jdbcTemplate.update("UPDATE hotels SET status = ?, updated_at = ? WHERE id IN (" +
+                    placeholders(chunk) + ") AND (status IS NULL OR status <> ?)", args.toArray());
+        }
+        if (updated != toUpdate.size()) {
+            throw new IllegalStateException("Expected to update " + toUpdate.size() + " hotels but updated " + updated);
+        }
+        report.setUpdated(updated);
+
+        if (!toUpdate.isEmpty()) {
+            List<Hotel> changed = new ArrayList<>(toUpdate.size());
+            for (Long id : toUpdate) {
+                Hotel hotel = current.get(id);
+                hotel.setStatus(target);
+                changed.add(hotel);
+            }
+            TransactionCallbacks.afterCommit(() -> hotelSearchIndex.indexHotels(changed));
+            hotelDetailCache.evictAll(toUpdate);
+            dashboardMetrics.hotelStatusesChanged(deltas);
+        }
+        return report;
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += CHUNK_SIZE) {
+            chunks.add(ids.subList(i, Math.min(ids.size(), i + CHUNK_SIZE)));
+        }
+        return chunks;
+    }
+
+    private static String placeholders(List<Long> ids) {
+        return String.join(",", Collections.nCopies(ids.size(), "?"));
+    }
+
+    private static HotelStatus parseStatus(String status) {
+        if (status == null || status.isEmpty()) {
+            throw new IllegalArgumentException("Target status is required");
+        }
+        try {
+            return HotelStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid hotel status: " + status);
+        }
+    }
+}
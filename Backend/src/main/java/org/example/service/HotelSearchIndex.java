@@ -0,0 +1,176 @@
+package org.example.service;
+
+import org.example.entity.Hotel;
+import org.example.enums.HotelStatus;
+import org.example.repository.HotelRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory trigram inverted index over the name and location of approved hotels.
+ * Substring lookups intersect the posting lists of the query's trigrams and then
+ * verify each candidate, so results match the old {@code LIKE '%q%'} semantics
+ * without scanning the hotels table.
+ */
+@Component
+public class HotelSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(HotelSearchIndex.class);
+
+    private static final int GRAM = 3;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    private volatile Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private volatile Map<Long, String> documents = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        Map<String, Set<Long>> newPostings = new ConcurrentHashMap<>();
+        Map<Long, String> newDocuments = new ConcurrentHashMap<>();
+
+        for (Object[] row : hotelRepository.findApprovedSearchEntries()) {
+            Long id = (Long) row[0];
+            String document = document((String) row[1], (String) row[2]);
+            newDocuments.put(id, document);
+            for (String gram : trigrams(document)) {
+                newPostings.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+        }
+
+        postings = newPostings;
+        documents = newDocuments;
+        logger.info("Hotel search index rebuilt: {} hotels, {} trigrams in {} ms",
+                newDocuments.size(), newPostings.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public synchronized void indexHotel(Hotel hotel) {
+        if (hotel.getStatus() != HotelStatus.APPROVED) {
+            removeHotel(hotel.getId());
+            return;
+        }
+
+        String document = document(hotel.getName(), hotel.getLocation());
+        String previous = documents.put(hotel.getId(), document);
+        if (previous != null) {
+            unlink(hotel.getId(), previous);
+        }
+        for (String gram : trigrams(document)) {
+            postings.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(hotel.getId());
+        }
+    }
+
+    public synchronized void indexHotels(Collection<Hotel> hotels) {
+        hotels.forEach(this::indexHotel);
+    }
+
+    public synchronized void removeHotel(Long hotelId) {
+        String previous = documents.remove(hotelId);
+        if (previous != null) {
+            unlink(hotelId, previous);
+        }
+    }
+
+    /**
+     * Returns the ids of approved hotels whose name or location contains the query,
+     * ignoring case. Queries shorter than a trigram fall back to a scan of the
+     * in-memory documents.
+     */
+    public Set<Long> search(String query) {
+        String needle = normalize(query);
+        if (needle.isEmpty()) {
+            return Set.of();
+        }
+
+        Map<Long, String> docs = documents;
+        Set<Long> result = new HashSet<>();
+
+        if (needle.length() < GRAM) {
+            docs.forEach((id, document) -> {
+                if (document.contains(needle)) {
+                    result.add(id);
+                }
+            });
+            return result;
+        }
+
+        Map<String, Set<Long>> index = postings;
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : trigrams(needle)) {
+            Set<Long> ids = index.get(gram);
+            if (ids == null || ids.isEmpty()) {
+                return result;
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> smallest = lists.get(0);
+        for (Long id : smallest) {
+            boolean inAll = true;
+            for (int i = 1; i < lists.size() && inAll; i++) {
+                inAll = lists.get(i).contains(id);
+            }
+            String document = docs.get(id);
+            if (inAll && document != null && document.contains(needle)) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    private void unlink(Long hotelId, String document) {
+        for (String gram : trigrams(document)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null) {
+                ids.remove(hotelId);
+                if (ids.isEmpty()) {
+                    postings.remove(gram, ids);
+                }
+            }
+        }
+    }
+
+    private static String document(String name, String location) {
+        return normalize(name) + "\n" + normalize(location);
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    static Set<String> trigrams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            String gram = text.substring(i, i + GRAM);
+            if (gram.indexOf('\n') < 0) {
+                grams.add(gram);
+            }
+        }
+        return grams;
+    }
+}
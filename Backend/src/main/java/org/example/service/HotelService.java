@@ -1,34 +1,228 @@
 package org.example.service;
 
 import org.example.dto.Response.HotelDetailResponse;
+import org.example.dto.Response.HotelSearchPageResponse;
 import org.example.dto.Response.HotelSummaryResponse;
+import org.example.dto.Response.RateQuoteResponse;
 import org.example.entity.Hotel;
+import org.example.entity.HotelRatingAggregate;
+import org.example.enums.HotelSort;
 import org.example.enums.RoomType;
 import org.example.exceptions.ResourceNotFoundException;
+import org.example.repository.HotelRatingAggregateRepository;
 import org.example.repository.HotelRepository;
+import org.example.repository.RoomRepository;
+import org.example.util.CursorCodec;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class HotelService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_ID_FILTER = 1000;
+    private static final int MAX_SCAN_ROUNDS = 5;
+
     @Autowired
     private HotelRepository hotelRepository;
 
-    public List<HotelSummaryResponse> searchHotels(String location, String roomType) {
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private HotelSearchIndex hotelSearchIndex;
+
+    @Autowired
+    private HotelDetailCache hotelDetailCache;
+
+    @Autowired
+    private OccupancyIndex occupancyIndex;
+
+    @Autowired
+    private RateCalendarService rateCalendarService;
+
+    @Autowired
+    private HotelRatingAggregateRepository hotelRatingAggregateRepository;
+
+    public HotelSearchPageResponse searchHotels(String location, String roomType, String checkin, String checkout,
+                                                String sort, String cursor, Integer size) {
         final RoomType parsedRoomType = parseRoomType(roomType);
+        final HotelSort parsedSort = parseSort(sort);
+        final LocalDate[] stay = parseStay(checkin, checkout);
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        Double afterKey = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] parts = CursorCodec.decode(cursor, 3);
+            if (!parsedSort.name().equals(parts[0])) {
+                throw new IllegalArgumentException("Cursor does not match sort order " + parsedSort);
+            }
+            try {
+                afterKey = parts[1].isEmpty() ? null : Double.valueOf(parts[1]);
+                afterId = Long.valueOf(parts[2]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        }
+
+        Set<Long> hotelIds = null;
+        String text = null;
+        if (location != null && !location.trim().isEmpty()) {
+            // Selective queries become a primary-key filter; broad ones are left to an
+            // ordered LIKE scan, which stops as soon as the page is full
+            Set<Long> matches = hotelSearchIndex.search(location);
+            if (matches.isEmpty()) {
+                return new HotelSearchPageResponse(List.of(), null);
+            }
+            if (matches.size() <= MAX_ID_FILTER) {
+                hotelIds = matches;
+            } else {
+                text = location.trim();
+            }
+        }
+
+        // Without dates one batch of pageSize + 1 rows is enough. With dates, rows without
+        // free inventory are skipped and further batches are read, up to a fixed bound
+        int batchSize = (stay == null ? pageSize : pageSize * 2) + 1;
+        List<Object[]> rows = new ArrayList<>();
+        Object[] lastExamined = null;
+        boolean hasMore = false;
 
-        List<Hotel> hotels = hotelRepository.searchHotels(location, parsedRoomType);
+        for (int round = 0; round < MAX_SCAN_ROUNDS; round++) {
+            List<Object[]> batch = hotelRepository.searchPage(hotelIds, text, parsedRoomType,
+                    parsedSort, afterKey, afterId, batchSize);
+
+            int examined = 0;
+            for (Object[] row : batch) {
+                if (rows.size() == pageSize) {
+                    break;
+                }
+                examined++;
+                lastExamined = row;
+                if (stay == null || occupancyIndex.isAvailable((Long) row[0], parsedRoomType, stay[0], stay[1])) {
+                    rows.add(row);
+                }
+            }
+
+            // Decided per round: a short batch after full ones means nothing is left
+            boolean batchFull = batch.size() == batchSize;
+            hasMore = batchFull || examined < batch.size();
+            if (rows.size() == pageSize || !batchFull) {
+                break;
+            }
+            // Page still short and more rows exist: continue after the last one looked at
+            afterKey = parsedSort == HotelSort.ID || lastExamined[1] == null
+                    ? null : ((Number) lastExamined[1]).doubleValue();
+            afterId = (Long) lastExamined[0];
+        }
+
+        List<Long> pageIds = rows.stream()
+                .map(row -> (Long) row[0])
+                .collect(Collectors.toList());
+        Map<Long, Hotel> hotelsById = hotelRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(Hotel::getId, hotel -> hotel));
+        List<Hotel> hotels = pageIds.stream()
+                .map(hotelsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (hasMore && lastExamined != null) {
+            Object key = parsedSort == HotelSort.ID ? null : lastExamined[1];
+            nextCursor = CursorCodec.encode(parsedSort.name(), key, lastExamined[0]);
+        }
+
+        return new HotelSearchPageResponse(toSummaries(hotels, parsedRoomType, stay), nextCursor);
+    }
+
+    // Loads images, amenities and room prices for the whole result in three batched
+    // queries instead of touching each hotel's lazy collections
+    private List<HotelSummaryResponse> toSummaries(List<Hotel> hotels, RoomType roomType, LocalDate[] stay) {
+        List<Long> hotelIds = hotels.stream()
+                .map(Hotel::getId)
+                .collect(Collectors.toList());
+
+        Map<Long, List<String>> images = groupByHotel(hotelRepository.findImagesByHotelIds(hotelIds));
+        Map<Long, List<String>> amenities = groupByHotel(hotelRepository.findAmenitiesByHotelIds(hotelIds));
+
+        // Nightly price from the rate calendar: the stay's average when dates are given, else tonight's rate.
+        // The base price is the key of the BASE_PRICE sort
+        LocalDate today = LocalDate.now();
+        Map<Long, Double> prices = new HashMap<>();
+        Map<Long, Double> basePrices = new HashMap<>();
+        rateCalendarService.calendarsFor(hotelIds).forEach((hotelId, calendars) -> calendars.forEach((type, calendar) -> {
+            if (roomType == null || type == roomType) {
+                double price = stay == null
+                        ? calendar.nightly(today)
+                        : calendar.price(stay[0], stay[1]) / InventoryService.nightsBetween(stay[0], stay[1]);
+                prices.merge(hotelId, Math.round(price * 100) / 100.0, Math::min);
+                basePrices.merge(hotelId, calendar.basePrice(), Math::min);
+            }
+        }));
 
         return hotels.stream()
-                .filter(hotel -> hotel.getStatus() == org.example.enums.HotelStatus.APPROVED) // Only return approved hotels
-                .map(hotel -> new HotelSummaryResponse(hotel, parsedRoomType))
+                .map(hotel -> new HotelSummaryResponse(hotel,
+                        images.getOrDefault(hotel.getId(), List.of()),
+                        amenities.getOrDefault(hotel.getId(), List.of()),
+                        prices.get(hotel.getId()))
+                        .setBasePrice(basePrices.get(hotel.getId())))
                 .collect(Collectors.toList());
     }
 
+    private Map<Long, List<String>> groupByHotel(List<Object[]> rows) {
+        Map<Long, List<String>> grouped = new HashMap<>();
+        for (Object[] row : rows) {
+            grouped.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+        return grouped;
+    }
+
+    private LocalDate[] parseStay(String checkin, String checkout) {
+        boolean hasCheckin = checkin != null && !checkin.isEmpty();
+        boolean hasCheckout = checkout != null && !checkout.isEmpty();
+        if (!hasCheckin && !hasCheckout) {
+            return null;
+        }
+        if (!hasCheckin || !hasCheckout) {
+            throw new IllegalArgumentException("Both checkin and checkout are required to search by dates");
+        }
+        try {
+            LocalDate from = LocalDate.parse(checkin);
+            LocalDate to = LocalDate.parse(checkout);
+            InventoryService.nightsBetween(from, to);
+            return new LocalDate[]{from, to};
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Dates must be formatted as yyyy-MM-dd", e);
+        }
+    }
+
+    private HotelSort parseSort(String sort) {
+        if (sort == null || sort.isEmpty()) {
+            return HotelSort.RATING;
+        }
+        if ("price".equalsIgnoreCase(sort)) {
+            // Former name of the base price sort
+            return HotelSort.BASE_PRICE;
+        }
+        try {
+            return HotelSort.valueOf(sort.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid sort: " + sort + ". Valid values are rating, base_price and id");
+        }
+    }
+
     private RoomType parseRoomType(String roomTypeString) {
         if (roomTypeString != null && !roomTypeString.isEmpty()) {
             try {
@@ -40,10 +234,32 @@ public class HotelService {
         return null;
     }
 
+    public RateQuoteResponse quoteStay(Long hotelId, String roomType, String checkin, String checkout) {
+        RoomType parsedRoomType = parseRoomType(roomType);
+        if (parsedRoomType == null) {
+            throw new IllegalArgumentException("A valid roomType is required");
+        }
+        LocalDate[] stay = parseStay(checkin, checkout);
+        if (stay == null) {
+            throw new IllegalArgumentException("Both checkin and checkout are required");
+        }
+        return rateCalendarService.quote(hotelId, parsedRoomType, stay[0], stay[1]);
+    }
+
     public HotelDetailResponse getHotelDetail(Long id) {
+        HotelDetailResponse cached = hotelDetailCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = hotelDetailCache.generation(id);
         Hotel hotel = hotelRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Hotel not found with id: " + id));
 
-        return new HotelDetailResponse(hotel);
+        HotelRatingAggregate ratings = hotelRatingAggregateRepository.findById(id)
+                .orElseGet(() -> HotelRatingAggregate.builder().hotelId(id).build());
+        HotelDetailResponse response = new HotelDetailResponse(hotel, ratings);
+        hotelDetailCache.put(id, generation, response);
+        return response;
     }
 }
\ No newline at end of file
@@ -0,0 +1,290 @@
+package org.example.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.example.entity.IdempotencyRecord;
+import org.example.repository.IdempotencyRecordRepository;
+import org.example.util.BoundedTtlCache;
+import org.example.util.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Replays the stored response for requests that repeat an Idempotency-Key instead of
+ * running the handler again. Responses are looked up in a bounded in-memory cache, then
+ * in the idempotency_keys table. Concurrent duplicates on one instance wait for the
+ * first execution; across instances the first request's claim row makes the others
+ * answer 409 until it finishes. A claim is a short lease, so a key whose request died
+ * mid-flight can be retried once the lease runs out. Server errors are not stored so
+ * the client can retry.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long IN_FLIGHT_WAIT_SECONDS = 30;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final long ttlHours;
+    private final long claimLeaseSeconds;
+    private final ThreadLocal<Claim> currentClaim = new ThreadLocal<>();
+    private final BoundedTtlCache<String, StoredResponse> responses;
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(@Value("${idempotency.cache.max-size:10000}") int maxSize,
+                              @Value("${idempotency.ttl-hours:24}") long ttlHours,
+                              @Value("${idempotency.claim-lease-seconds:60}") long claimLeaseSeconds) {
+        this.ttlHours = ttlHours;
+        this.claimLeaseSeconds = claimLeaseSeconds;
+        this.responses = new BoundedTtlCache<>(maxSize, TimeUnit.HOURS.toMillis(ttlHours));
+    }
+
+    public ResponseEntity<?> execute(String key, String userEmail, String endpoint, Object request,
+                                     Supplier<ResponseEntity<?>> handler) {
+        if (key == null || key.isBlank()) {
+            return handler.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            return error(HttpStatus.BAD_REQUEST, HEADER + " must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String cacheKey = userEmail + "\n" + key;
+        String fingerprint = fingerprint(endpoint, request);
+
+        StoredResponse cached = responses.get(cacheKey);
+        if (cached != null) {
+            return replay(cached, fingerprint);
+        }
+
+        CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(cacheKey, mine);
+        if (running != null) {
+            return awaitInFlight(running, fingerprint);
+        }
+
+        try {
+            StoredResponse stored = executeOnce(cacheKey, userEmail, key, fingerprint, handler);
+            mine.complete(stored);
+            return stored.fingerprint().equals(fingerprint) ? stored.toResponse(false) : replay(stored, fingerprint);
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cacheKey, mine);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval-ms:3600000}")
+    public void deleteExpired() {
+        int deleted = idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            logger.info("Deleted {} expired idempotency keys", deleted);
+        }
+    }
+
+    /**
+     * Stores a successful response of the request now running under an Idempotency-Key.
+     * Handlers call it inside the transaction that performs the request's writes, so the
+     * writes and the stored response commit or roll back together and a crash can never
+     * leave a performed request without its response. Does nothing without a key.
+     */
+    public void completeInTransaction(Object body) {
+        Claim claim = currentClaim.get();
+        if (claim == null) {
+            return;
+        }
+        String json = toJson(body);
+        if (idempotencyRecordRepository.complete(claim.id, claim.token, HttpStatus.OK.value(), json) == 0) {
+            // Our lease ran out and another request took the key over; roll our writes back
+            throw new IllegalStateException("The " + HEADER + " claim was taken over by another request");
+        }
+        StoredResponse stored = new StoredResponse(claim.fingerprint, HttpStatus.OK.value(), json);
+        TransactionCallbacks.afterCommit(() -> claim.completed = stored);
+    }
+
+    private StoredResponse executeOnce(String cacheKey, String userEmail, String key, String fingerprint,
+                                       Supplier<ResponseEntity<?>> handler) {
+        LocalDateTime now = LocalDateTime.now();
+        Claim claim = null;
+        Optional<IdempotencyRecord> existing = idempotencyRecordRepository.findByUserEmailAndIdempotencyKey(userEmail, key);
+        if (existing.isPresent()) {
+            IdempotencyRecord record = existing.get();
+            if (record.getExpiresAt().isBefore(now)) {
+                idempotencyRecordRepository.delete(record);
+            } else if (record.getStatus() != null) {
+                StoredResponse stored = new StoredResponse(record.getFingerprint(), record.getStatus(), record.getResponseBody());
+                responses.put(cacheKey, stored);
+                return stored;
+            } else if (!record.getFingerprint().equals(fingerprint)
+                    || (record.getClaimedUntil() != null && record.getClaimedUntil().isAfter(now))) {
+                return inProgress(record.getFingerprint());
+            } else {
+                // The holder stopped before finishing; its writes rolled back with the unstored response
+                String token = UUID.randomUUID().toString();
+                if (idempotencyRecordRepository.takeOver(record.getId(), token, now.plusSeconds(claimLeaseSeconds), now) == 0) {
+                    return inProgress(fingerprint);
+                }
+                logger.warn("Took over the expired {} claim {} of {}", HEADER, key, userEmail);
+                claim = new Claim(record.getId(), token, fingerprint);
+            }
+        }
+
+        if (claim == null) {
+            String token = UUID.randomUUID().toString();
+            try {
+                IdempotencyRecord record = idempotencyRecordRepository.saveAndFlush(IdempotencyRecord.builder()
+                        .userEmail(userEmail)
+                        .idempotencyKey(key)
+                        .fingerprint(fingerprint)
+                        .claimToken(token)
+                        .claimedUntil(now.plusSeconds(claimLeaseSeconds))
+                        .expiresAt(now.plusHours(ttlHours))
+                        .build());
+                claim = new Claim(record.getId(), token, fingerprint);
+            } catch (DataIntegrityViolationException e) {
+                // Another instance claimed the key between our lookup and insert
+                return inProgress(fingerprint);
+            }
+        }
+
+        ResponseEntity<?> response;
+        currentClaim.set(claim);
+        try {
+            response = handler.get();
+        } catch (RuntimeException e) {
+            idempotencyRecordRepository.release(claim.id, claim.token);
+            throw e;
+        } finally {
+            currentClaim.remove();
+        }
+
+        if (claim.completed != null) {
+            responses.put(cacheKey, claim.completed);
+            return claim.completed;
+        }
+
+        StoredResponse stored = new StoredResponse(fingerprint, response.getStatusCode().value(), toJson(response.getBody()));
+        if (response.getStatusCode().is5xxServerError()) {
+            idempotencyRecordRepository.release(claim.id, claim.token);
+            return stored;
+        }
+
+        // Rejections such as a sold-out room performed no writes, so storing them on their own is safe
+        if (idempotencyRecordRepository.complete(claim.id, claim.token, stored.status(), stored.body()) == 0) {
+            return inProgress(fingerprint);
+        }
+        responses.put(cacheKey, stored);
+        return stored;
+    }
+
+    private ResponseEntity<?> awaitInFlight(CompletableFuture<StoredResponse> running, String fingerprint) {
+        try {
+            return replay(running.get(IN_FLIGHT_WAIT_SECONDS, TimeUnit.SECONDS), fingerprint);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return inProgress(fingerprint).toResponse(false);
+        } catch (TimeoutException e) {
+            return inProgress(fingerprint).toResponse(false);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private ResponseEntity<?> replay(StoredResponse stored, String fingerprint) {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            return error(HttpStatus.UNPROCESSABLE_ENTITY, HEADER + " was already used for a different request");
+        }
+        return stored.toResponse(true);
+    }
+
+    private StoredResponse inProgress(String fingerprint) {
+        return new StoredResponse(fingerprint, HttpStatus.CONFLICT.value(),
+                toJson(Map.of("error", "A request with this " + HEADER + " is still being processed")));
+    }
+
+    private ResponseEntity<?> error(HttpStatus status, String message) {
+        return ResponseEntity.status(status).body(Map.of("error", message));
+    }
+
+    private String fingerprint(String endpoint, Object request) {
+        try {
+            byte[] body = objectMapper.writer()
+                    .with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                    .writeValueAsBytes(request);
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(endpoint.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            return HexFormat.of().formatHex(digest.digest(body));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not fingerprint request", e);
+        }
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize response", e);
+        }
+    }
+
+    private static final class Claim {
+        private final Long id;
+        private final String token;
+        private final String fingerprint;
+        private volatile StoredResponse completed;
+
+        private Claim(Long id, String token, String fingerprint) {
+            this.id = id;
+            this.token = token;
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    private record StoredResponse(String fingerprint, int status, String body) {
+        ResponseEntity<?> toResponse(boolean replayed) {
+            ResponseEntity.BodyBuilder builder = ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON);
+            if (replayed) {
+                builder.header(REPLAYED_HEADER, "true");
+            }
+            return builder.body(body);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package org.example.service;
+
+import org.example.entity.RoomInventory;
+import org.example.enums.RoomType;
+import org.example.exceptions.ResourceNotFoundException;
+import org.example.exceptions.RoomUnavailableException;
+import org.example.repository.RoomInventoryRepository;
+import org.example.repository.RoomRepository;
+import org.example.util.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-night room inventory ledger. Each (hotel, room type, night) row holds the
+ * number of rooms and how many are reserved; a booking reserves every night of its
+ * stay with one conditional UPDATE, so the database row locks serialize bookings
+ * for the same nights while bookings for other hotels never touch the same rows.
+ */
+@Service
+public class InventoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryService.class);
+
+    private static final int LOCK_STRIPES = 64;
+    private static final int MAX_CREATE_ATTEMPTS = 3;
+
+    @Autowired
+    private RoomInventoryRepository roomInventoryRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private OccupancyIndex occupancyIndex;
+
+    private final TransactionTemplate requiresNew;
+
+    private final ReentrantLock[] stripes = new ReentrantLock[LOCK_STRIPES];
+
+    public InventoryService(PlatformTransactionManager transactionManager) {
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reserve(Long hotelId, RoomType roomType, LocalDate checkin, LocalDate checkout) {
+        int nights = nightsBetween(checkin, checkout);
+        int reserved = roomInventoryRepository.reserve(hotelId, roomType, checkin, checkout);
+        if (reserved != nights) {
+            // Some night is sold out; throwing rolls back the nights that were taken
+            throw new RoomUnavailableException("No " + roomType.name().toLowerCase() + " rooms available at hotel "
+                    + hotelId + " between " + checkin + " and " + checkout);
+        }
+        TransactionCallbacks.afterCommit(() -> occupancyIndex.reserve(hotelId, roomType, checkin, checkout));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(Long hotelId, RoomType roomType, LocalDate checkin, LocalDate checkout) {
+        int released = roomInventoryRepository.release(hotelId, roomType, checkin, checkout);
+        if (released != nightsBetween(checkin, checkout)) {
+            logger.warn("Released {} nights for hotel {} {} {}..{}, expected {}",
+                    released, hotelId, roomType, checkin, checkout, nightsBetween(checkin, checkout));
+        }
+        TransactionCallbacks.afterCommit(() -> occupancyIndex.release(hotelId, roomType, checkin, checkout));
+    }
+
+    public static int nightsBetween(LocalDate checkin, LocalDate checkout) {
+        long nights = ChronoUnit.DAYS.between(checkin, checkout);
+        if (nights <= 0) {
+            throw new IllegalArgumentException("Checkout must be after checkin");
+        }
+        return Math.toIntExact(nights);
+    }
+
+    /**
+     * Creates any missing ledger rows for the stay from {@code Room.available}. Runs in its
+     * own short transaction under a striped lock, so it must be called before the booking
+     * transaction starts; the rows are then visible to every concurrent booking.
+     */
+    public void prepareNights(Long hotelId, RoomType roomType, LocalDate checkin, LocalDate checkout) {
+        int nights = nightsBetween(checkin, checkout);
+        if (roomInventoryRepository.findNights(hotelId, roomType, checkin, checkout).size() == nights) {
+            return;
+        }
+
+        ReentrantLock lock = stripes[Math.floorMod(Objects.hash(hotelId, roomType), LOCK_STRIPES)];
+        lock.lock();
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    requiresNew.executeWithoutResult(status -> createMissingNights(hotelId, roomType, checkin, checkout));
+                    return;
+                } catch (DataIntegrityViolationException e) {
+                    // Another instance created some of the nights first and our whole batch rolled
+                    // back; look again for the nights that are still missing
+                    if (attempt == MAX_CREATE_ATTEMPTS) {
+                        throw e;
+                    }
+                    logger.debug("Inventory rows for hotel {} {} created concurrently, retrying", hotelId, roomType);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void createMissingNights(Long hotelId, RoomType roomType, LocalDate checkin, LocalDate checkout) {
+        Set<LocalDate> present = new HashSet<>(roomInventoryRepository.findNights(hotelId, roomType, checkin, checkout));
+        if (present.size() == nightsBetween(checkin, checkout)) {
+            return;
+        }
+
+        Long rooms = roomRepository.sumAvailable(hotelId, roomType);
+        if (rooms == null) {
+            throw new ResourceNotFoundException(
+                    "Hotel " + hotelId + " has no " + roomType.name().toLowerCase() + " rooms");
+        }
+
+        List<RoomInventory> missing = new ArrayList<>();
+        for (LocalDate night = checkin; night.isBefore(checkout); night = night.plusDays(1)) {
+            if (!present.contains(night)) {
+                missing.add(RoomInventory.builder()
+                        .hotelId(hotelId)
+                        .roomType(roomType)
+                        .night(night)
+                        .total(Math.toIntExact(rooms))
+                        .build());
+            }
+        }
+        roomInventoryRepository.saveAll(missing);
+    }
+}
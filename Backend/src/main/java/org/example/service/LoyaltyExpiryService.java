@@ -0,0 +1,167 @@
+package org.example.service;
+
+import org.example.dto.Response.LoyaltyExpiryReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Expires loyalty points a fixed number of months after they were earned. Redemptions
+ * and earlier expiries consume the oldest points first, so what an account loses now is
+ * whatever it earned before the cutoff that has not been consumed yet.
+ *
+ * Accounts are walked in id order in chunks. Each chunk is one aggregate query over the
+ * (loyalty_id, date, id) index, then one short transaction that locks only that chunk's
+ * accounts and writes two JDBC batches. Accounts whose balance moved after the
+ * aggregate ran are skipped until the next run, so nothing is locked during the
+ * computation.
+ */
+@Service
+public class LoyaltyExpiryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoyaltyExpiryService.class);
+
+    private static final String AGGREGATE_SQL =
+            "SELECT l.id, l.available, " +
+            "COALESCE(SUM(CASE WHEN h.type = 'EARNED' AND h.date < ? THEN h.points ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN h.type IN ('REDEEMED', 'EXPIRED') THEN h.points ELSE 0 END), 0) " +
+            "FROM loyalty l JOIN loyalty_history h ON h.loyalty_id = l.id " +
+            "WHERE l.id BETWEEN ? AND ? GROUP BY l.id, l.available";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final int expiryMonths;
+    private final int chunkSize;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public LoyaltyExpiryService(@Value("${loyalty.expiry.months:12}") int expiryMonths,
+                                @Value("${loyalty.expiry.chunk-size:500}") int chunkSize) {
+        this.expiryMonths = expiryMonths;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${loyalty.expiry.cron:0 30 3 * * *}")
+    public void scheduledRun() {
+        if (expiryMonths > 0) {
+            run(false);
+        }
+    }
+
+    public LoyaltyExpiryReport run(boolean dryRun) {
+        if (expiryMonths <= 0) {
+            throw new IllegalStateException("Loyalty point expiry is disabled");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A loyalty expiry run is already in progress");
+        }
+
+        long start = System.nanoTime();
+        LocalDateTime cutoff = LocalDateTime.now().minusMonths(expiryMonths);
+        LoyaltyExpiryReport report = new LoyaltyExpiryReport().setDryRun(dryRun).setCutoff(cutoff);
+        try {
+            long afterId = 0;
+            while (true) {
+                List<Long> ids = jdbcTemplate.queryForList(
+                        "SELECT id FROM loyalty WHERE id > ? ORDER BY id LIMIT ?", Long.class, afterId, chunkSize);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                processChunk(ids.get(0), ids.get(ids.size() - 1), cutoff, dryRun, report);
+                report.setAccountsScanned(report.getAccountsScanned() + ids.size());
+                afterId = ids.get(ids.size() - 1);
+            }
+        } finally {
+            running.set(false);
+        }
+
+        report.setDurationMs((System.nanoTime() - start) / 1_000_000);
+        logger.info("Loyalty expiry {}: {} accounts scanned, {} points expired from {} accounts, {} skipped in {} ms",
+                dryRun ? "dry run" : "run", report.getAccountsScanned(), report.getPointsExpired(),
+                report.getAccountsExpired(), report.getAccountsSkipped(), report.getDurationMs());
+        return report;
+    }
+
+    private void processChunk(long firstId, long lastId, LocalDateTime cutoff, boolean dryRun, LoyaltyExpiryReport report) {
+        // {loyalty id, balance seen, points to expire}
+        List<long[]> expiring = new ArrayList<>();
+        jdbcTemplate.query(AGGREGATE_SQL, rs -> {
+            long available = rs.getLong(2);
+            long due = rs.getLong(3) - rs.getLong(4);
+            long points = Math.min(due, available);
+            if (points > 0) {
+                expiring.add(new long[]{rs.getLong(1), available, points});
+            }
+        }, Timestamp.valueOf(cutoff), firstId, lastId);
+
+        if (expiring.isEmpty()) {
+            return;
+        }
+        if (dryRun) {
+            report.setAccountsExpired(report.getAccountsExpired() + expiring.size());
+            report.setPointsExpired(report.getPointsExpired() + expiring.stream().mapToLong(e -> e[2]).sum());
+            return;
+        }
+
+        String description = "Points expired (earned before " + cutoff.toLocalDate() + ")";
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        transactionTemplate.executeWithoutResult(status -> {
+            // Lock just this chunk's accounts, and only for the two batches below
+            Map<Long, Long> current = new HashMap<>();
+            String placeholders = String.join(",", Collections.nCopies(expiring.size(), "?"));
+            jdbcTemplate.query("SELECT id, available FROM loyalty WHERE id IN (" + placeholders + ") FOR UPDATE",
+                    rs -> {
+                        current.put(rs.getLong(1), rs.getLong(2));
+                    },
+                    expiring.stream().map(e -> e[0]).toArray());
+
+            // An account whose balance moved since the aggregate is left for the next run
+            List<long[]> applied = new ArrayList<>();
+            for (long[] e : expiring) {
+                if (current.getOrDefault(e[0], -1L) == e[1]) {
+                    applied.add(e);
+                }
+            }
+
+            jdbcTemplate.batchUpdate(
+                    "UPDATE loyalty SET available = available - ?, updated_at = ? WHERE id = ?",
+                    applied, applied.size(), (ps, e) -> {
+                        ps.setLong(1, e[2]);
+                        ps.setTimestamp(2, now);
+                        ps.setLong(3, e[0]);
+                    });
+
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO loyalty_history (loyalty_id, type, points, description, date, balance_after) " +
+                            "VALUES (?, 'EXPIRED', ?, ?, ?, ?)",
+                    applied, applied.size(), (ps, e) -> {
+                        ps.setLong(1, e[0]);
+                        ps.setLong(2, e[2]);
+                        ps.setString(3, description);
+                        ps.setTimestamp(4, now);
+                        ps.setLong(5, e[1] - e[2]);
+                    });
+
+            report.setAccountsExpired(report.getAccountsExpired() + applied.size());
+            report.setPointsExpired(report.getPointsExpired() + applied.stream().mapToLong(e -> e[2]).sum());
+            report.setAccountsSkipped(report.getAccountsSkipped() + expiring.size() - applied.size());
+        });
+    }
+}
@@ -1,5 +1,6 @@
 package org.example.service;
 
+import org.example.dto.Response.LoyaltyHistoryPageResponse;
 import org.example.dto.Response.LoyaltyResponse;
 import org.example.dto.Response.LoyaltyHistoryResponse;
 import org.example.entity.Loyalty;
@@ -7,22 +8,38 @@ import org.example.entity.LoyaltyHistory;
 import org.example.enums.LoyaltyHistoryType;
 import org.example.repository.LoyaltyHistoryRepository;
 import org.example.repository.LoyaltyRepository;
+import org.example.util.CursorCodec;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 public class LoyaltyService {
 
+    private static final int DEFAULT_HISTORY_PAGE_SIZE = 20;
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+
     @Autowired
     private LoyaltyRepository loyaltyRepository;
 
     @Autowired
     private LoyaltyHistoryRepository loyaltyHistoryRepository;
 
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     public Loyalty getUserLoyalty(String userEmail) {
         return loyaltyRepository.findByUserEmail(userEmail)
                 .orElseGet(() -> createLoyaltyAccount(userEmail));
@@ -30,67 +47,110 @@ public class LoyaltyService {
 
     public LoyaltyResponse getUserLoyaltyResponse(String userEmail) {
         Loyalty loyalty = getUserLoyalty(userEmail);
-        List<LoyaltyHistoryResponse> history = getLoyaltyHistory(userEmail);
-        return new LoyaltyResponse(loyalty, history);
+        LoyaltyHistoryPageResponse page = getLoyaltyHistoryPage(loyalty.getId(), null, null);
+        return new LoyaltyResponse(loyalty, page.getHistory()).setNextCursor(page.getNextCursor());
     }
 
-    public List<LoyaltyHistoryResponse> getLoyaltyHistory(String userEmail) {
-        // Use the query method that works with userEmail
-        List<LoyaltyHistory> history = loyaltyHistoryRepository.findByUserEmailOrderByDateDesc(userEmail);
+    /**
+     * Balance only: reads the loyalty row and none of its history.
+     */
+    public LoyaltyResponse getLoyaltyBalance(String userEmail) {
+        return new LoyaltyResponse(getUserLoyalty(userEmail));
+    }
+
+    public LoyaltyHistoryPageResponse getLoyaltyHistory(String userEmail, String cursor, Integer size) {
+        return getLoyaltyHistoryPage(getUserLoyalty(userEmail).getId(), cursor, size);
+    }
 
-        return history.stream()
+    private LoyaltyHistoryPageResponse getLoyaltyHistoryPage(Long loyaltyId, String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_HISTORY_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_HISTORY_PAGE_SIZE);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<LoyaltyHistory> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = loyaltyHistoryRepository.findFirstPage(loyaltyId, limit);
+        } else {
+            String[] parts = CursorCodec.decode(cursor, 2);
+            try {
+                rows = loyaltyHistoryRepository.findPageAfter(loyaltyId, LocalDateTime.parse(parts[0]),
+                        Long.valueOf(parts[1]), limit);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        }
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            LoyaltyHistory last = rows.get(pageSize - 1);
+            nextCursor = CursorCodec.encode(last.getDate(), last.getId());
+        }
+        List<LoyaltyHistoryResponse> history = rows.stream()
                 .map(LoyaltyHistoryResponse::new)
                 .collect(Collectors.toList());
+        return new LoyaltyHistoryPageResponse(history, nextCursor);
     }
 
+    /**
+     * Redeems points and returns the new balance with only the entry just written.
+     */
     @Transactional
     public LoyaltyResponse redeemPointsResponse(String userEmail, Integer points) {
-        Loyalty loyalty = redeemPoints(userEmail, points);
-        List<LoyaltyHistoryResponse> history = getLoyaltyHistory(userEmail);
-        return new LoyaltyResponse(loyalty, history);
+        LoyaltyHistory entry = debitAndRecord(userEmail, points, "Points redemption");
+        Loyalty loyalty = refreshedAccount(userEmail);
+        return new LoyaltyResponse(loyalty, List.of(new LoyaltyHistoryResponse(entry)));
     }
 
     @Transactional
     public void awardPoints(String userEmail, Integer points, String description) {
-        Loyalty loyalty = getUserLoyalty(userEmail);
-
-        loyalty.setPoints(loyalty.getPoints() + points);
-        loyalty.setAvailable(loyalty.getAvailable() + points);
-        loyalty.setTotalEarned(loyalty.getTotalEarned() + points);
-
-        loyaltyRepository.save(loyalty);
-
-        LoyaltyHistory history = LoyaltyHistory.builder()
-                .loyalty(loyalty)
-                .type(LoyaltyHistoryType.EARNED)
-                .points(points)
-                .description(description)
-                .build();
-        loyaltyHistoryRepository.save(history);
+        requirePositive(points);
+        if (loyaltyRepository.credit(userEmail, points) == 0) {
+            loyaltyRepository.insertIfAbsent(userEmail);
+            loyaltyRepository.credit(userEmail, points);
+        }
+        appendEntry(userEmail, LoyaltyHistoryType.EARNED, points, description);
     }
 
     @Transactional
     public Loyalty redeemPoints(String userEmail, Integer points, String description) {
-        Loyalty loyalty = getUserLoyalty(userEmail);
+        debitAndRecord(userEmail, points, description);
+        return refreshedAccount(userEmail);
+    }
 
-        if (loyalty.getAvailable() < points) {
-            throw new RuntimeException("Insufficient loyalty points. Available: " + loyalty.getAvailable() + ", Requested: " + points);
+    private LoyaltyHistory debitAndRecord(String userEmail, Integer points, String description) {
+        requirePositive(points);
+        // The balance check and the debit are one statement, so concurrent redeems cannot overdraw
+        if (loyaltyRepository.debit(userEmail, points) == 0) {
+            Integer available = loyaltyRepository.findByUserEmail(userEmail).map(Loyalty::getAvailable).orElse(0);
+            throw new RuntimeException("Insufficient loyalty points. Available: " + available + ", Requested: " + points);
         }
+        return appendEntry(userEmail, LoyaltyHistoryType.REDEEMED, points, description);
+    }
 
-        loyalty.setAvailable(loyalty.getAvailable() - points);
-        loyalty.setTotalRedeemed(loyalty.getTotalRedeemed() + points);
-
-        loyaltyRepository.save(loyalty);
+    private Loyalty refreshedAccount(String userEmail) {
+        Loyalty loyalty = loyaltyRepository.findByUserEmail(userEmail).orElseThrow();
+        // The bulk update bypassed the persistence context, which may hold an older copy
+        entityManager.refresh(loyalty);
+        return loyalty;
+    }
 
+    private LoyaltyHistory appendEntry(String userEmail, LoyaltyHistoryType type, Integer points, String description) {
+        // Reads our own just-updated row, which stays locked until commit
+        Object[] balance = loyaltyRepository.findBalance(userEmail).get(0);
         LoyaltyHistory history = LoyaltyHistory.builder()
-                .loyalty(loyalty)
-                .type(LoyaltyHistoryType.REDEEMED)
+                .loyalty(loyaltyRepository.getReferenceById((Long) balance[0]))
+                .type(type)
                 .points(points)
                 .description(description)
+                .balanceAfter((Integer) balance[1])
                 .build();
-        loyaltyHistoryRepository.save(history);
+        return loyaltyHistoryRepository.save(history);
+    }
 
-        return loyalty;
+    private static void requirePositive(Integer points) {
+        if (points == null || points <= 0) {
+            throw new IllegalArgumentException("Points must be a positive number");
+        }
     }
 
     @Transactional
@@ -99,14 +159,9 @@ public class LoyaltyService {
     }
 
     private Loyalty createLoyaltyAccount(String userEmail) {
-        Loyalty loyalty = Loyalty.builder()
-                .userEmail(userEmail)
-                .points(0)
-                .available(0)
-                .totalEarned(0)
-                .totalRedeemed(0)
-                .build();
-        return loyaltyRepository.save(loyalty);
+        // INSERT IGNORE lets concurrent first requests for the same user all succeed
+        transactionTemplate.executeWithoutResult(status -> loyaltyRepository.insertIfAbsent(userEmail));
+        return loyaltyRepository.findByUserEmail(userEmail).orElseThrow();
     }
 
     public Double calculateDiscountFromPoints(String userEmail, Integer pointsToUse) {
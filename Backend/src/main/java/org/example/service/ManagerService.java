@@ -1,26 +1,39 @@
 package org.example.service;
 
+import org.example.dto.Request.RoomRateRequest;
+import org.example.dto.Response.HotelImportReport;
+import org.example.dto.Response.ManagerAnalyticsResponse;
+import org.example.dto.Response.ManagerBookingPageResponse;
 import org.example.dto.Response.ManagerBookingResponse;
 import org.example.dto.Response.ManagerHotelResponse;
 import org.example.dto.Response.ManagerReviewResponse;
-import org.example.entity.Booking;
 import org.example.entity.Hotel;
 import org.example.entity.Review;
 import org.example.entity.Room;
+import org.example.enums.BookingStatus;
 import org.example.enums.RoomType;
 import org.example.exceptions.ResourceNotFoundException;
 import org.example.repository.BookingRepository;
 import org.example.repository.HotelRepository;
 import org.example.repository.ReviewRepository;
 import org.example.repository.RoomRepository;
+import org.example.util.CursorCodec;
+import org.example.util.TransactionCallbacks;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -30,6 +43,10 @@ public class ManagerService {
 
     private static final Logger logger = LoggerFactory.getLogger(ManagerService.class);
 
+    private static final int DEFAULT_BOOKING_PAGE_SIZE = 50;
+    private static final int MAX_BOOKING_PAGE_SIZE = 200;
+    private static final int BOOKING_BACKFILL_CHUNK = 1000;
+
     @Autowired
     private HotelRepository hotelRepository;
 
@@ -42,6 +59,30 @@ public class ManagerService {
     @Autowired
     private ReviewRepository reviewRepository;
 
+    @Autowired
+    private HotelSearchIndex hotelSearchIndex;
+
+    @Autowired
+    private HotelDetailCache hotelDetailCache;
+
+    @Autowired
+    private OccupancyIndex occupancyIndex;
+
+    @Autowired
+    private RateCalendarService rateCalendarService;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private HotelImportService hotelImportService;
+
+    @Autowired
+    private DashboardMetrics dashboardMetrics;
+
     @Transactional
     public ManagerHotelResponse addHotel(Map<String, Object> hotelData, String managerEmail) {
         try {
@@ -114,8 +155,17 @@ public class ManagerService {
                         .build();
 
                 roomRepository.save(room);
+
+                RoomType registeredType = roomType;
+                TransactionCallbacks.afterCommit(() ->
+                        occupancyIndex.registerRoom(savedHotel.getId(), registeredType, available));
             }
 
+            hotelSearchIndex.indexHotel(savedHotel);
+            hotelDetailCache.evict(savedHotel.getId());
+            dashboardMetrics.hotelsAdded(savedHotel.getStatus(), 1);
+            rateCalendarService.evict(savedHotel.getId());
+
             logger.info("Hotel created successfully: {}", savedHotel.getId());
             return new ManagerHotelResponse(savedHotel);
 
@@ -125,6 +175,14 @@ public class ManagerService {
         }
     }
 
+    public HotelImportReport importHotels(InputStream body, String format, String contentType, String managerEmail) {
+        return hotelImportService.importHotels(body, format, contentType, managerEmail);
+    }
+
+    public int updateRates(Long hotelId, List<RoomRateRequest> rates, String managerEmail) {
+        return rateCalendarService.updateRates(hotelId, rates, managerEmail);
+    }
+
     public List<ManagerHotelResponse> getManagerHotels(String managerEmail) {
         List<Hotel> hotels = hotelRepository.findByManagerEmail(managerEmail);
         return hotels.stream()
@@ -132,11 +190,92 @@ public class ManagerService {
                 .collect(Collectors.toList());
     }
 
-    public List<ManagerBookingResponse> getManagerBookings(String managerEmail) {
-        List<Booking> bookings = bookingRepository.findByManagerEmail(managerEmail);
-        return bookings.stream()
-                .map(ManagerBookingResponse::new)
-                .collect(Collectors.toList());
+    public ManagerAnalyticsResponse getAnalytics(String managerEmail, Long hotelId, String from, String to) {
+        return analyticsService.getAnalytics(managerEmail, hotelId, from, to);
+    }
+
+    public ExportService.Export exportBookings(String managerEmail, String format, String from, String to, boolean gzip) {
+        return exportService.exportBookings(managerEmail, format, from, to, gzip);
+    }
+
+    public ExportService.Export exportReviews(String managerEmail, String format, String from, String to, boolean gzip) {
+        return exportService.exportReviews(managerEmail, format, from, to, gzip);
+    }
+
+    /**
+     * Returns one page of the bookings at the manager's hotels, latest check-in first.
+     * The check-in range is inclusive and the guest filter matches the booking email.
+     */
+    public ManagerBookingPageResponse getManagerBookings(String managerEmail, Long hotelId, String status,
+                                                         String checkinFrom, String checkinTo, String guestEmail,
+                                                         String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_BOOKING_PAGE_SIZE : Math.max(1, Math.min(size, MAX_BOOKING_PAGE_SIZE));
+
+        BookingStatus parsedStatus = null;
+        if (status != null && !status.isEmpty()) {
+            try {
+                parsedStatus = BookingStatus.valueOf(status.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid status: " + status + ". Valid values are "
+                        + Arrays.toString(BookingStatus.values()));
+            }
+        }
+
+        LocalDate from;
+        LocalDate to;
+        try {
+            from = checkinFrom == null || checkinFrom.isEmpty() ? null : LocalDate.parse(checkinFrom);
+            to = checkinTo == null || checkinTo.isEmpty() ? null : LocalDate.parse(checkinTo);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Dates must be formatted as yyyy-MM-dd");
+        }
+        String guest = guestEmail == null || guestEmail.trim().isEmpty() ? null : guestEmail.trim();
+
+        LocalDate afterCheckin = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] parts = CursorCodec.decode(cursor, 2);
+            try {
+                afterCheckin = LocalDate.parse(parts[0]);
+                afterId = Long.valueOf(parts[1]);
+            } catch (NumberFormatException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        } else if (hotelId != null) {
+            Hotel hotel = hotelRepository.findById(hotelId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Hotel not found with ID: " + hotelId));
+            if (!hotel.getManagerEmail().equals(managerEmail)) {
+                throw new AccessDeniedException("Unauthorized to view bookings for this hotel");
+            }
+        }
+
+        List<ManagerBookingResponse> bookings = bookingRepository.searchPage(managerEmail, hotelId, parsedStatus,
+                from, to, guest, afterCheckin, afterId, pageSize + 1);
+
+        String nextCursor = null;
+        if (bookings.size() > pageSize) {
+            bookings = bookings.subList(0, pageSize);
+            ManagerBookingResponse last = bookings.get(pageSize - 1);
+            nextCursor = CursorCodec.encode(last.getCheckin(), last.getId());
+        }
+        return new ManagerBookingPageResponse(bookings, nextCursor);
+    }
+
+    /**
+     * Copies the hotel's manager onto bookings made before bookings carried it, so the
+     * manager-wide search finds them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillBookingManagers() {
+        int total = 0;
+        int updated;
+        do {
+            updated = bookingRepository.backfillManagerEmails(BOOKING_BACKFILL_CHUNK);
+            total += updated;
+        } while (updated == BOOKING_BACKFILL_CHUNK);
+        if (total > 0) {
+            logger.info("Copied the hotel manager onto {} older bookings", total);
+        }
     }
 
     public List<ManagerReviewResponse> getManagerReviews(String managerEmail) {
@@ -0,0 +1,218 @@
+package org.example.service;
+
+import org.example.enums.RoomType;
+import org.example.repository.RoomInventoryRepository;
+import org.example.repository.RoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * In-memory view of the room inventory ledger used to filter search results by
+ * stay dates. Each (hotel, room type) keeps its capacity, the per-night counts of
+ * nights that have ledger rows, and a bitmap of sold-out nights, so an availability
+ * check is a single {@link BitSet#nextSetBit} probe over the stay.
+ * <p>
+ * The index is only a pre-filter: {@link InventoryService#reserve} remains the
+ * authority, so a stale entry can at worst show a hotel that then refuses the booking.
+ * <p>
+ * The index is rebuilt from the ledger at startup and then periodically, which picks
+ * up changes made on other instances. A rebuild reads into a fresh snapshot and swaps
+ * it in, so searches and booking callbacks keep using the old one meanwhile.
+ */
+@Component
+public class OccupancyIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(OccupancyIndex.class);
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomInventoryRepository roomInventoryRepository;
+
+    private volatile Snapshot snapshot = new Snapshot(LocalDate.now().minusDays(1).toEpochDay());
+
+    // Changes to replay onto the snapshot being rebuilt; null while no rebuild runs
+    private final Object pendingChangesLock = new Object();
+    private List<Consumer<Snapshot>> pendingChanges;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${occupancy.rebuild-interval-ms:600000}",
+            initialDelayString = "${occupancy.rebuild-interval-ms:600000}")
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        synchronized (pendingChangesLock) {
+            pendingChanges = new ArrayList<>();
+        }
+        try {
+            // Bit 0 of every sold-out bitmap is this day; earlier nights are never searched
+            Snapshot fresh = new Snapshot(today.minusDays(1).toEpochDay());
+            for (Object[] row : roomRepository.findCapacities()) {
+                fresh.calendar((Long) row[0], (RoomType) row[1]).setCapacity(row[2] != null ? (Integer) row[2] : 0);
+            }
+
+            int nights = 0;
+            for (Object[] row : roomInventoryRepository.findOccupancyFrom(today)) {
+                RoomCalendar calendar = fresh.calendar((Long) row[0], (RoomType) row[1]);
+                calendar.set(((LocalDate) row[2]).toEpochDay(), (Integer) row[3], (Integer) row[4]);
+                nights++;
+            }
+
+            synchronized (pendingChangesLock) {
+                pendingChanges.forEach(change -> change.accept(fresh));
+                snapshot = fresh;
+            }
+            logger.info("Occupancy index rebuilt: {} hotels, {} booked nights in {} ms",
+                    fresh.hotels().size(), nights, (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            synchronized (pendingChangesLock) {
+                pendingChanges = null;
+            }
+        }
+    }
+
+    public void registerRoom(Long hotelId, RoomType roomType, Integer capacity) {
+        int rooms = capacity != null ? capacity : 0;
+        apply(current -> current.calendar(hotelId, roomType).setCapacity(rooms));
+    }
+
+    public void removeHotel(Long hotelId) {
+        apply(current -> current.hotels().remove(hotelId));
+    }
+
+    public void reserve(Long hotelId, RoomType roomType, LocalDate checkin, LocalDate checkout) {
+        // Not replayed into a running rebuild: it may already have read the booking, and
+        // counting it twice could hide a free room
+        snapshot.calendar(hotelId, roomType).adjust(checkin.toEpochDay(), checkout.toEpochDay(), 1);
+    }
+
+    public void release(Long hotelId, RoomType roomType, LocalDate checkin, LocalDate checkout) {
+        // Replayed even if the rebuild read it; counting a release twice only shows a room that is taken
+        apply(current -> current.calendar(hotelId, roomType).adjust(checkin.toEpochDay(), checkout.toEpochDay(), -1));
+    }
+
+    /**
+     * True when the hotel has at least one room of the given type free on every night
+     * of the stay; with no room type, any of the hotel's room types will do. Hotels the
+     * index has not seen yet are reported as available.
+     */
+    public boolean isAvailable(Long hotelId, RoomType roomType, LocalDate checkin, LocalDate checkout) {
+        Map<RoomType, RoomCalendar> calendars = snapshot.hotels().get(hotelId);
+        if (calendars == null) {
+            return true;
+        }
+
+        long from = checkin.toEpochDay();
+        long to = checkout.toEpochDay();
+        if (roomType != null) {
+            RoomCalendar calendar = calendars.get(roomType);
+            return calendar == null || calendar.isAvailable(from, to);
+        }
+        for (RoomCalendar calendar : calendars.values()) {
+            if (calendar.isAvailable(from, to)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void apply(Consumer<Snapshot> change) {
+        synchronized (pendingChangesLock) {
+            change.accept(snapshot);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        }
+    }
+
+    private record Snapshot(long baseDay, Map<Long, Map<RoomType, RoomCalendar>> hotels) {
+        Snapshot(long baseDay) {
+            this(baseDay, new ConcurrentHashMap<>());
+        }
+
+        RoomCalendar calendar(Long hotelId, RoomType roomType) {
+            return hotels.computeIfAbsent(hotelId, id -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(roomType, type -> new RoomCalendar(baseDay));
+        }
+    }
+
+    private static final class RoomCalendar {
+        private final long baseDay;
+        // -1 until the room type's capacity is known
+        private int capacity = -1;
+        // epoch day -> {rooms, reserved} for nights that have a ledger row
+        private final Map<Long, int[]> nights = new HashMap<>();
+        private final BitSet soldOut = new BitSet();
+
+        RoomCalendar(long baseDay) {
+            this.baseDay = baseDay;
+        }
+
+        synchronized void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        synchronized void set(long day, int total, int reserved) {
+            nights.put(day, new int[]{total, reserved});
+            mark(day, reserved >= total);
+        }
+
+        synchronized void adjust(long from, long to, int delta) {
+            for (long day = from; day < to; day++) {
+                int[] night = nights.get(day);
+                if (night == null) {
+                    if (capacity < 0) {
+                        // Unknown capacity: leave the night to the next rebuild instead of guessing
+                        continue;
+                    }
+                    night = new int[]{capacity, 0};
+                    nights.put(day, night);
+                }
+                night[1] = Math.max(0, night[1] + delta);
+                mark(day, night[1] >= night[0]);
+            }
+        }
+
+        synchronized boolean isAvailable(long from, long to) {
+            int start = (int) Math.max(0, from - baseDay);
+            int end = (int) Math.max(0, to - baseDay);
+            int firstSoldOut = soldOut.nextSetBit(start);
+            if (firstSoldOut >= 0 && firstSoldOut < end) {
+                return false;
+            }
+            if (capacity != 0) {
+                return true;
+            }
+            // Without spare capacity only nights that already have free ledger rows count
+            for (long day = from; day < to; day++) {
+                if (!nights.containsKey(day)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void mark(long day, boolean full) {
+            long offset = day - baseDay;
+            if (offset < 0 || offset > Integer.MAX_VALUE) {
+                return;
+            }
+            soldOut.set((int) offset, full);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package org.example.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.entity.OutboxEvent;
+import org.example.enums.OutboxStatus;
+import org.example.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Applies outbox events in the background. Each poll reads the oldest due events,
+ * groups them by ordering key and applies each key's events in one transaction that
+ * also deletes them. An event waiting to retry holds back the later events of its key,
+ * while other keys carry on. Rows are claimed with SKIP LOCKED so several instances can poll at once.
+ */
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private static final int BATCH_SIZE = 200;
+    private static final int MAX_ATTEMPTS = 10;
+    private static final long MAX_BACKOFF_SECONDS = 600;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private LoyaltyService loyaltyService;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> pending = outboxEventRepository.findPending(now, PageRequest.of(0, BATCH_SIZE));
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<OutboxEvent>> byKey = new LinkedHashMap<>();
+        for (OutboxEvent event : pending) {
+            byKey.computeIfAbsent(event.getOrderingKey(), key -> new ArrayList<>()).add(event);
+        }
+        Map<String, Long> backoffStarts = new HashMap<>();
+        for (Object[] row : outboxEventRepository.findBackoffStarts(byKey.keySet(), now)) {
+            backoffStarts.put((String) row[0], ((Number) row[1]).longValue());
+        }
+
+        for (Map.Entry<String, List<OutboxEvent>> entry : byKey.entrySet()) {
+            Long blockedFrom = backoffStarts.get(entry.getKey());
+            List<OutboxEvent> due = new ArrayList<>();
+            for (OutboxEvent event : entry.getValue()) {
+                if (blockedFrom != null && event.getId() > blockedFrom) {
+                    break;
+                }
+                due.add(event);
+            }
+            if (!due.isEmpty()) {
+                dispatchGroup(due);
+            }
+        }
+    }
+
+    private void dispatchGroup(List<OutboxEvent> events) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> applyLocked(events));
+            return;
+        } catch (RuntimeException e) {
+            if (events.size() == 1) {
+                recordFailure(events.get(0), e);
+                return;
+            }
+            logger.warn("Outbox batch for {} failed, retrying events one by one: {}",
+                    events.get(0).getOrderingKey(), e.getMessage());
+        }
+
+        // Find the failing event; the ones after it wait so the key stays in order
+        for (OutboxEvent event : events) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> applyLocked(List.of(event)));
+            } catch (RuntimeException e) {
+                recordFailure(event, e);
+                return;
+            }
+        }
+    }
+
+    private void applyLocked(List<OutboxEvent> events) {
+        List<Long> ids = events.stream().map(OutboxEvent::getId).collect(Collectors.toList());
+        List<OutboxEvent> locked = outboxEventRepository.lockPending(ids);
+
+        // Only an unbroken run from the oldest event may be applied
+        List<OutboxEvent> runnable = new ArrayList<>();
+        for (int i = 0; i < locked.size() && locked.get(i).getId().equals(ids.get(i)); i++) {
+            runnable.add(locked.get(i));
+        }
+        if (runnable.isEmpty()) {
+            return;
+        }
+
+        Set<Long> refreshedHotels = new HashSet<>();
+        for (OutboxEvent event : runnable) {
+            Map<String, Object> payload = readPayload(event);
+            switch (event.getEventType()) {
+                case LOYALTY_AWARD -> loyaltyService.awardPoints(
+                        (String) payload.get("userEmail"),
+                        ((Number) payload.get("points")).intValue(),
+                        (String) payload.get("description"));
+                case HOTEL_RATING_REFRESH -> {
+                    // One recomputation covers every refresh for the hotel in this batch
+                    Long hotelId = ((Number) payload.get("hotelId")).longValue();
+                    if (refreshedHotels.add(hotelId)) {
+                        reviewService.refreshHotelRating(hotelId);
+                    }
+                }
+            }
+        }
+        outboxEventRepository.deleteAllInBatch(runnable);
+    }
+
+    private void recordFailure(OutboxEvent event, RuntimeException error) {
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.findById(event.getId()).ifPresent(stored -> {
+            int attempts = stored.getAttempts() + 1;
+            stored.setAttempts(attempts);
+            stored.setLastError(truncate(String.valueOf(error.getMessage())));
+            if (attempts >= MAX_ATTEMPTS) {
+                stored.setStatus(OutboxStatus.FAILED);
+                logger.error("Outbox event {} ({}) failed {} times and was parked: {}",
+                        stored.getId(), stored.getEventType(), attempts, error.getMessage(), error);
+            } else {
+                long backoff = Math.min(1L << attempts, MAX_BACKOFF_SECONDS);
+                stored.setAvailableAt(LocalDateTime.now().plusSeconds(backoff));
+                logger.warn("Outbox event {} ({}) failed, retrying in {}s: {}",
+                        stored.getId(), stored.getEventType(), backoff, error.getMessage());
+            }
+            outboxEventRepository.save(stored);
+        }));
+    }
+
+    private Map<String, Object> readPayload(OutboxEvent event) {
+        try {
+            return objectMapper.readValue(event.getPayload(), new TypeReference<Map<String, Object>>() {
+            });
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable payload for outbox event " + event.getId(), e);
+        }
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+}
@@ -4,7 +4,9 @@ import org.example.dto.Response.PaymentResponse;
 import org.example.entity.Booking;
 import org.example.entity.Payment;
 import org.example.enums.BookingStatus;
+import org.example.enums.OutboxEventType;
 import org.example.enums.PaymentMethod;
+import org.example.exceptions.BookingExpiredException;
 import org.example.exceptions.DuplicatePaymentException;
 import org.example.exceptions.ResourceNotFoundException;
 import org.example.repository.BookingRepository;
@@ -15,6 +17,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -34,6 +37,18 @@ public class PaymentService {
     @Autowired
     private LoyaltyService loyaltyService;
 
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private DashboardMetrics dashboardMetrics;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     @Transactional
     public PaymentResponse createPayment(Map<String, Object> paymentData, String userEmail) {
         try {
@@ -86,6 +101,14 @@ public class PaymentService {
                 throw new DuplicatePaymentException("Payment already exists for booking ID " + bookingId);
             }
 
+            // Only a booking whose hold is still live can be paid; this races safely with expiry
+            if (bookingRepository.markPaid(bookingId, LocalDateTime.now()) == 0) {
+                throw new BookingExpiredException("Booking " + bookingId + " is no longer awaiting payment");
+            }
+            booking.setStatus(BookingStatus.PAID);
+            analyticsService.recordPayment(booking);
+            dashboardMetrics.bookingPaid(booking.getTotal());
+
             Payment payment = Payment.builder()
                     .booking(booking)
                     .userEmail(userEmail)
@@ -96,23 +119,25 @@ public class PaymentService {
 
             Payment savedPayment = paymentRepository.save(payment);
 
-            booking.setStatus(BookingStatus.PAID);
-            bookingRepository.save(booking);
-
-            // ✅ Award 50 loyalty points for every payment
-            int pointsEarned = 50;
-            loyaltyService.awardPoints(userEmail, pointsEarned, "Payment for booking #" + bookingId);
-
-            // ✅ Redeem loyalty points if any were used
+            // ✅ Redeem loyalty points if any were used; stays synchronous so a short balance fails the payment
             if (loyaltyPointsUsed > 0) {
                 loyaltyService.redeemPoints(userEmail, loyaltyPointsUsed, "Payment discount for booking #" + bookingId);
             }
 
+            // ✅ Award 50 loyalty points for every payment, applied after commit by the outbox dispatcher
+            int pointsEarned = 50;
+            outboxService.enqueue(OutboxEventType.LOYALTY_AWARD, OutboxService.userKey(userEmail), Map.of(
+                    "userEmail", userEmail,
+                    "points", pointsEarned,
+                    "description", "Payment for booking #" + bookingId));
+
             logger.info("Payment created successfully: {}. Points earned: {}, Points used: {}",
                     savedPayment.getId(), pointsEarned, loyaltyPointsUsed);
 
             // Return DTO instead of entity
-            return new PaymentResponse(savedPayment);
+            PaymentResponse response = new PaymentResponse(savedPayment);
+            idempotencyService.completeInTransaction(response);
+            return response;
 
         } catch (Exception e) {
             logger.error("Error creating payment for user {}: {}", userEmail, e.getMessage(), e);
@@ -0,0 +1,85 @@
+package org.example.service;
+
+import org.example.entity.RoomRate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Nightly prices for one hotel room type over a fixed window, stored as prefix sums so
+ * the price of any stay is two array reads. Nights outside the window use the room's
+ * base price.
+ */
+public final class RateCalendar {
+
+    private final long firstDay;
+    private final double basePrice;
+    private final double[] prefix;
+    private final int[] minStay;
+
+    private RateCalendar(long firstDay, double basePrice, double[] prefix, int[] minStay) {
+        this.firstDay = firstDay;
+        this.basePrice = basePrice;
+        this.prefix = prefix;
+        this.minStay = minStay;
+    }
+
+    /**
+     * Builds the calendar for nights in [from, to). Rules must be in insertion order so
+     * that later rules override earlier ones where they overlap.
+     */
+    static RateCalendar build(double basePrice, List<RoomRate> rules, LocalDate from, LocalDate to) {
+        long firstDay = from.toEpochDay();
+        int days = Math.toIntExact(to.toEpochDay() - firstDay);
+        double[] nightly = new double[days];
+        int[] minStay = new int[days];
+        Arrays.fill(nightly, basePrice);
+        Arrays.fill(minStay, 1);
+
+        for (RoomRate rule : rules) {
+            int start = (int) Math.max(rule.getStartDate().toEpochDay() - firstDay, 0);
+            int end = (int) Math.min(rule.getEndDate().toEpochDay() - firstDay, days);
+            for (int i = start; i < end; i++) {
+                boolean weekend = isWeekendNight(firstDay + i);
+                nightly[i] = weekend && rule.getWeekendPrice() != null ? rule.getWeekendPrice() : rule.getPrice();
+                if (rule.getMinStay() != null) {
+                    minStay[i] = rule.getMinStay();
+                }
+            }
+        }
+
+        double[] prefix = new double[days + 1];
+        for (int i = 0; i < days; i++) {
+            prefix[i + 1] = prefix[i] + nightly[i];
+        }
+        return new RateCalendar(firstDay, basePrice, prefix, minStay);
+    }
+
+    public double price(LocalDate checkin, LocalDate checkout) {
+        long nights = checkout.toEpochDay() - checkin.toEpochDay();
+        int days = prefix.length - 1;
+        int lo = (int) Math.min(Math.max(checkin.toEpochDay() - firstDay, 0), days);
+        int hi = (int) Math.min(Math.max(checkout.toEpochDay() - firstDay, 0), days);
+        return prefix[hi] - prefix[lo] + (nights - (hi - lo)) * basePrice;
+    }
+
+    public double nightly(LocalDate night) {
+        return price(night, night.plusDays(1));
+    }
+
+    public double basePrice() {
+        return basePrice;
+    }
+
+    public int minStay(LocalDate checkin) {
+        long index = checkin.toEpochDay() - firstDay;
+        return index >= 0 && index < minStay.length ? minStay[(int) index] : 1;
+    }
+
+    private static boolean isWeekendNight(long epochDay) {
+        DayOfWeek day = LocalDate.ofEpochDay(epochDay).getDayOfWeek();
+        return day == DayOfWeek.FRIDAY || day == DayOfWeek.SATURDAY;
+    }
+}
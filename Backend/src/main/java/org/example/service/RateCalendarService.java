@@ -0,0 +1,235 @@
+package org.example.service;
+
+import org.example.dto.Request.RoomRateRequest;
+import org.example.dto.Response.RateQuoteResponse;
+import org.example.entity.Hotel;
+import org.example.entity.RoomRate;
+import org.example.enums.RoomType;
+import org.example.exceptions.ResourceNotFoundException;
+import org.example.repository.HotelRepository;
+import org.example.repository.RoomRateRepository;
+import org.example.repository.RoomRepository;
+import org.example.util.BoundedTtlCache;
+import org.example.util.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prices stays from per-room-type rate rules. Each hotel's rules are compiled into one
+ * {@link RateCalendar} per room type and cached, so quoting a stay is constant time.
+ */
+@Service
+public class RateCalendarService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateCalendarService.class);
+
+    private static final int HORIZON_DAYS = 400;
+    private static final int MAX_HORIZON_DAYS = 1100;
+    private static final int MAX_RULES_PER_UPDATE = 1000;
+
+    @Autowired
+    private RoomRateRepository roomRateRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final BoundedTtlCache<Long, Map<RoomType, RateCalendar>> calendars;
+
+    public RateCalendarService(@Value("${hotel.rate-cache.max-size:10000}") int maxSize,
+                               @Value("${hotel.rate-cache.ttl-seconds:3600}") long ttlSeconds) {
+        this.calendars = new BoundedTtlCache<>(maxSize, ttlSeconds * 1000);
+    }
+
+    public RateQuoteResponse quote(Long hotelId, RoomType roomType, LocalDate checkin, LocalDate checkout) {
+        int nights = InventoryService.nightsBetween(checkin, checkout);
+        RateCalendar calendar = calendarsFor(List.of(hotelId)).getOrDefault(hotelId, Map.of()).get(roomType);
+        if (calendar == null) {
+            throw new ResourceNotFoundException("Hotel " + hotelId + " has no " + roomType.name().toLowerCase() + " rooms");
+        }
+
+        int minStay = calendar.minStay(checkin);
+        if (nights < minStay) {
+            throw new IllegalArgumentException("Stays arriving on " + checkin + " require at least " + minStay + " nights");
+        }
+
+        double total = roundToCents(calendar.price(checkin, checkout));
+        return new RateQuoteResponse(hotelId.toString(), roomType.name().toLowerCase(), checkin.toString(),
+                checkout.toString(), nights, roundToCents(total / nights), total);
+    }
+
+    /**
+     * Returns the calendars of each hotel's room types, compiling missing hotels with one
+     * query for base prices and one for rules.
+     */
+    public Map<Long, Map<RoomType, RateCalendar>> calendarsFor(Collection<Long> hotelIds) {
+        Map<Long, Map<RoomType, RateCalendar>> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long hotelId : hotelIds) {
+            Map<RoomType, RateCalendar> cached = calendars.get(hotelId);
+            if (cached != null) {
+                result.put(hotelId, cached);
+            } else {
+                missing.add(hotelId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        Map<Long, Map<RoomType, Double>> basePrices = new HashMap<>();
+        for (Object[] row : roomRepository.findPricesByHotelIds(missing)) {
+            basePrices.computeIfAbsent((Long) row[0], id -> new EnumMap<>(RoomType.class))
+                    .merge((RoomType) row[1], (Double) row[2], Math::min);
+        }
+        Map<Long, List<RoomRate>> rules = new HashMap<>();
+        for (RoomRate rule : roomRateRepository.findByHotelIds(missing)) {
+            rules.computeIfAbsent(rule.getHotelId(), id -> new ArrayList<>()).add(rule);
+        }
+
+        LocalDate from = LocalDate.now().minusDays(1);
+        for (Long hotelId : missing) {
+            Map<RoomType, RateCalendar> compiled = compile(basePrices.getOrDefault(hotelId, Map.of()),
+                    rules.getOrDefault(hotelId, List.of()), from);
+            calendars.put(hotelId, compiled);
+            result.put(hotelId, compiled);
+        }
+        return result;
+    }
+
+    private Map<RoomType, RateCalendar> compile(Map<RoomType, Double> basePrices, List<RoomRate> rules, LocalDate from) {
+        Map<RoomType, RateCalendar> compiled = new EnumMap<>(RoomType.class);
+        for (Map.Entry<RoomType, Double> entry : basePrices.entrySet()) {
+            List<RoomRate> typeRules = new ArrayList<>();
+            LocalDate to = from.plusDays(HORIZON_DAYS);
+            for (RoomRate rule : rules) {
+                if (rule.getRoomType() == entry.getKey()) {
+                    typeRules.add(rule);
+                    if (rule.getEndDate().isAfter(to)) {
+                        to = rule.getEndDate();
+                    }
+                }
+            }
+            LocalDate cap = from.plusDays(MAX_HORIZON_DAYS);
+            compiled.put(entry.getKey(), RateCalendar.build(entry.getValue(), typeRules, from, to.isAfter(cap) ? cap : to));
+        }
+        return compiled;
+    }
+
+    /**
+     * Stores rate rules for a hotel. Older rules that a new range fully covers are deleted,
+     * and both the deletes and the inserts go to the database as JDBC batches.
+     */
+    @Transactional
+    public int updateRates(Long hotelId, List<RoomRateRequest> requests, String managerEmail) {
+        Hotel hotel = hotelRepository.findById(hotelId)
+                .orElseThrow(() -> new ResourceNotFoundException("Hotel not found with id: " + hotelId));
+        if (!hotel.getManagerEmail().equals(managerEmail)) {
+            throw new AccessDeniedException("Unauthorized to update rates for this hotel");
+        }
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one rate is required");
+        }
+        if (requests.size() > MAX_RULES_PER_UPDATE) {
+            throw new IllegalArgumentException("At most " + MAX_RULES_PER_UPDATE + " rates can be updated at once");
+        }
+
+        List<RoomRate> rules = new ArrayList<>();
+        for (RoomRateRequest request : requests) {
+            rules.add(toRule(hotelId, request));
+        }
+
+        jdbcTemplate.batchUpdate(
+                "DELETE FROM room_rates WHERE hotel_id = ? AND room_type = ? AND start_date >= ? AND end_date <= ?",
+                rules, rules.size(), (ps, rule) -> {
+                    ps.setLong(1, hotelId);
+                    ps.setString(2, rule.getRoomType().name());
+                    ps.setDate(3, Date.valueOf(rule.getStartDate()));
+                    ps.setDate(4, Date.valueOf(rule.getEndDate()));
+                });
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO room_rates (hotel_id, room_type, start_date, end_date, price, weekend_price, min_stay) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?)",
+                rules, rules.size(), (ps, rule) -> {
+                    ps.setLong(1, hotelId);
+                    ps.setString(2, rule.getRoomType().name());
+                    ps.setDate(3, Date.valueOf(rule.getStartDate()));
+                    ps.setDate(4, Date.valueOf(rule.getEndDate()));
+                    ps.setDouble(5, rule.getPrice());
+                    ps.setObject(6, rule.getWeekendPrice());
+                    ps.setObject(7, rule.getMinStay());
+                });
+
+        logger.info("Stored {} rate rules for hotel {}", rules.size(), hotelId);
+        evict(hotelId);
+        return rules.size();
+    }
+
+    public void evict(Long hotelId) {
+        calendars.invalidate(hotelId);
+        TransactionCallbacks.afterCommit(() -> calendars.invalidate(hotelId));
+    }
+
+    private RoomRate toRule(Long hotelId, RoomRateRequest request) {
+        RoomType roomType;
+        try {
+            roomType = RoomType.valueOf(request.getRoomType().toUpperCase());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Invalid room type: " + request.getRoomType());
+        }
+
+        LocalDate start;
+        LocalDate end;
+        try {
+            start = LocalDate.parse(request.getStartDate());
+            end = LocalDate.parse(request.getEndDate());
+        } catch (DateTimeParseException | NullPointerException e) {
+            throw new IllegalArgumentException("Rate dates must be formatted as yyyy-MM-dd");
+        }
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("Rate end date must be after its start date");
+        }
+        if (request.getPrice() == null || request.getPrice() < 0
+                || (request.getWeekendPrice() != null && request.getWeekendPrice() < 0)) {
+            throw new IllegalArgumentException("Rate prices must be zero or more");
+        }
+        if (request.getMinStay() != null && request.getMinStay() < 1) {
+            throw new IllegalArgumentException("Minimum stay must be at least one night");
+        }
+
+        return RoomRate.builder()
+                .hotelId(hotelId)
+                .roomType(roomType)
+                .startDate(start)
+                .endDate(end)
+                .price(request.getPrice())
+                .weekendPrice(request.getWeekendPrice())
+                .minStay(request.getMinStay())
+                .build();
+    }
+
+    private static double roundToCents(double amount) {
+        return Math.round(amount * 100) / 100.0;
+    }
+}
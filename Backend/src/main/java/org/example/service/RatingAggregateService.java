@@ -0,0 +1,163 @@
+package org.example.service;
+
+import org.example.repository.HotelRatingAggregateRepository;
+import org.example.repository.ReviewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Recomputes the per-hotel rating aggregates from the unflagged reviews. Hotels are walked
+ * in id order in chunks; each chunk locks its aggregate rows, counts the chunk's reviews
+ * per star with one grouped query and rewrites only the rows that drifted. Reviews added
+ * meanwhile wait on the row lock, so their increments land on the repaired totals.
+ */
+@Service
+public class RatingAggregateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatingAggregateService.class);
+
+    private static final int CHUNK_SIZE = 500;
+
+    // Columns: review_count, rating_sum, stars_1 .. stars_5
+    private static final int COLUMNS = 7;
+
+    @Autowired
+    private HotelRatingAggregateRepository hotelRatingAggregateRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private HotelDetailCache hotelDetailCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (hotelRatingAggregateRepository.count() == 0 && reviewRepository.count() > 0) {
+            logger.info("Rating aggregates are empty, building them from existing reviews");
+            repair();
+        }
+    }
+
+    public Map<String, Object> repair() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A rating aggregate repair is already in progress");
+        }
+
+        long start = System.nanoTime();
+        int scanned = 0;
+        int corrected = 0;
+        try {
+            long afterId = 0;
+            while (true) {
+                List<Long> ids = jdbcTemplate.queryForList(
+                        "SELECT id FROM hotels WHERE id > ? ORDER BY id LIMIT ?", Long.class, afterId, CHUNK_SIZE);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                Integer changed = transactionTemplate.execute(status -> repairChunk(ids));
+                corrected += changed == null ? 0 : changed;
+                scanned += ids.size();
+                afterId = ids.get(ids.size() - 1);
+            }
+        } finally {
+            running.set(false);
+        }
+
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        logger.info("Rating aggregate repair: {} hotels scanned, {} corrected in {} ms", scanned, corrected, durationMs);
+        return Map.of(
+                "hotelsScanned", scanned,
+                "aggregatesCorrected", corrected,
+                "durationMs", durationMs
+        );
+    }
+
+    private int repairChunk(List<Long> hotelIds) {
+        jdbcTemplate.batchUpdate(
+                "INSERT IGNORE INTO hotel_rating_aggregates " +
+                        "(hotel_id, review_count, rating_sum, stars_1, stars_2, stars_3, stars_4, stars_5) " +
+                        "VALUES (?, 0, 0, 0, 0, 0, 0, 0)",
+                hotelIds, hotelIds.size(), (ps, hotelId) -> ps.setLong(1, hotelId));
+
+        String placeholders = String.join(",", Collections.nCopies(hotelIds.size(), "?"));
+        Object[] args = hotelIds.toArray();
+
+        Map<Long, long[]> stored = new HashMap<>();
+        jdbcTemplate.query("SELECT hotel_id, review_count, rating_sum, stars_1, stars_2, stars_3, stars_4, stars_5 " +
+                "FROM hotel_rating_aggregates WHERE hotel_id IN (" + placeholders + ") FOR UPDATE", rs -> {
+            long[] totals = new long[COLUMNS];
+            for (int i = 0; i < COLUMNS; i++) {
+                totals[i] = rs.getLong(i + 2);
+            }
+            stored.put(rs.getLong(1), totals);
+        }, args);
+
+        Map<Long, long[]> actual = new HashMap<>();
+        for (Long hotelId : hotelIds) {
+            actual.put(hotelId, new long[COLUMNS]);
+        }
+        jdbcTemplate.query("SELECT hotel_id, rating, COUNT(*) FROM reviews " +
+                "WHERE hotel_id IN (" + placeholders + ") AND rating BETWEEN 1 AND 5 AND flagged = false GROUP BY hotel_id, rating", rs -> {
+            long[] totals = actual.get(rs.getLong(1));
+            int rating = rs.getInt(2);
+            long count = rs.getLong(3);
+            totals[0] += count;
+            totals[1] += rating * count;
+            totals[rating + 1] += count;
+        }, args);
+
+        List<Long> drifted = new ArrayList<>();
+        for (Long hotelId : hotelIds) {
+            if (!Arrays.equals(stored.get(hotelId), actual.get(hotelId))) {
+                drifted.add(hotelId);
+            }
+        }
+        if (drifted.isEmpty()) {
+            return 0;
+        }
+
+        jdbcTemplate.batchUpdate(
+                "UPDATE hotel_rating_aggregates SET review_count = ?, rating_sum = ?, " +
+                        "stars_1 = ?, stars_2 = ?, stars_3 = ?, stars_4 = ?, stars_5 = ? WHERE hotel_id = ?",
+                drifted, drifted.size(), (ps, hotelId) -> {
+                    long[] totals = actual.get(hotelId);
+                    for (int i = 0; i < COLUMNS; i++) {
+                        ps.setLong(i + 1, totals[i]);
+                    }
+                    ps.setLong(COLUMNS + 1, hotelId);
+                });
+        jdbcTemplate.batchUpdate("UPDATE hotels SET rating = ? WHERE id = ?",
+                drifted, drifted.size(), (ps, hotelId) -> {
+                    long[] totals = actual.get(hotelId);
+                    ps.setDouble(1, totals[0] == 0 ? 0.0 : Math.round(totals[1] * 10.0 / totals[0]) / 10.0);
+                    ps.setLong(2, hotelId);
+                });
+
+        for (Long hotelId : drifted) {
+            hotelDetailCache.evict(hotelId);
+        }
+        return drifted.size();
+    }
+}
@@ -0,0 +1,211 @@
+package org.example.service;
+
+import org.example.dto.Response.ReviewDuplicateScanReport;
+import org.example.util.MinHashIndex;
+import org.example.util.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Flags reviews whose comment nearly repeats an earlier one, either at the same hotel
+ * or from another account. Comments are kept in memory as MinHash signatures in an LSH
+ * index, so the check made when a review is added touches only the few reviews that
+ * share a bucket with it. The same index built from scratch backs a batch scan that
+ * re-checks the whole corpus, computing and comparing signatures in parallel.
+ */
+@Service
+public class ReviewDuplicateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewDuplicateService.class);
+
+    // 16 bands of 4 rows: pairs at 0.8 similarity collide in some band with probability > 0.999
+    private static final int BANDS = 16;
+    private static final int ROWS = 4;
+    private static final long SEED = 0x5eed_2024L;
+    private static final int LOAD_CHUNK = 5000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RatingAggregateService ratingAggregateService;
+
+    private final double threshold;
+    private final int minLength;
+    private final AtomicBoolean scanning = new AtomicBoolean();
+
+    private volatile MinHashIndex<Author> index = newIndex();
+
+    public ReviewDuplicateService(@Value("${reviews.duplicates.threshold:0.8}") double threshold,
+                                  @Value("${reviews.duplicates.min-length:40}") int minLength) {
+        this.threshold = threshold;
+        this.minLength = minLength;
+    }
+
+    /**
+     * Returns the id of the earlier review this comment duplicates, or null. Matches by
+     * the same account at another hotel are not counted.
+     */
+    public Long findDuplicate(Long hotelId, String userEmail, String comment) {
+        int[] signature = index.signature(comment, minLength);
+        if (signature == null) {
+            return null;
+        }
+        return bestMatch(index.matches(signature, threshold), Long.MAX_VALUE, hotelId, userEmail);
+    }
+
+    /**
+     * Adds a review to the index once the transaction that stored it commits.
+     */
+    public void index(Long reviewId, Long hotelId, String userEmail, String comment) {
+        int[] signature = index.signature(comment, minLength);
+        if (signature != null) {
+            Author author = new Author(hotelId, userEmail);
+            TransactionCallbacks.afterCommit(() -> index.put(reviewId, signature, author));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        long start = System.nanoTime();
+        MinHashIndex<Author> loaded = newIndex();
+        Consumer<List<ScannedReview>> load = chunk -> chunk.parallelStream().forEach(review -> {
+            if (review.signature() != null) {
+                loaded.put(review.id(), review.signature(), review.author());
+            }
+        });
+        long lastLoaded = forEachChunk(0, load);
+        index = loaded;
+        // Reviews committed during the load went into the old index; read them again.
+        // Ones committed from now on are added to the new index directly
+        forEachChunk(lastLoaded, load);
+        logger.info("Indexed {} review comments for duplicate detection in {} ms",
+                loaded.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Re-checks every review against the ones before it. With {@code dryRun} off, newly
+     * found duplicates are flagged and the rating aggregates are repaired so flagged
+     * reviews stop counting.
+     */
+    public ReviewDuplicateScanReport scan(boolean dryRun) {
+        if (!scanning.compareAndSet(false, true)) {
+            throw new IllegalStateException("A review duplicate scan is already in progress");
+        }
+
+        long start = System.nanoTime();
+        ReviewDuplicateScanReport report = new ReviewDuplicateScanReport().setDryRun(dryRun);
+        List<long[]> newlyFlagged;
+        try {
+            MinHashIndex<Author> scanIndex = newIndex();
+            List<ScannedReview> corpus = new ArrayList<>();
+            forEachChunk(0, chunk -> {
+                chunk.parallelStream()
+                        .filter(review -> review.signature() != null)
+                        .forEach(review -> scanIndex.put(review.id(), review.signature(), review.author()));
+                corpus.addAll(chunk);
+            });
+            report.setReviewsScanned(corpus.size());
+
+            // {review id, duplicate of id, already flagged}; the earliest review of a cluster stays unflagged
+            List<long[]> duplicates = corpus.parallelStream()
+                    .filter(review -> review.signature() != null)
+                    .map(review -> {
+                        Long original = bestMatch(scanIndex.matches(review.signature(), threshold), review.id(),
+                                review.author().hotelId(), review.author().userEmail());
+                        return original == null ? null : new long[]{review.id(), original, review.flaggedBefore() ? 1 : 0};
+                    })
+                    .filter(duplicate -> duplicate != null)
+                    .collect(Collectors.toList());
+            newlyFlagged = duplicates.stream().filter(duplicate -> duplicate[2] == 0).collect(Collectors.toList());
+            report.setDuplicatesFound(duplicates.size());
+            report.setReviewsFlagged(newlyFlagged.size());
+
+            if (!dryRun && !newlyFlagged.isEmpty()) {
+                jdbcTemplate.batchUpdate(
+                        "UPDATE reviews SET flagged = true, duplicate_of_id = ? WHERE id = ? AND flagged = false " +
+                                "AND duplicate_of_id IS NULL",
+                        newlyFlagged, 1000, (ps, duplicate) -> {
+                            ps.setLong(1, duplicate[1]);
+                            ps.setLong(2, duplicate[0]);
+                        });
+            }
+        } finally {
+            scanning.set(false);
+        }
+
+        if (!dryRun && !newlyFlagged.isEmpty()) {
+            try {
+                ratingAggregateService.repair();
+            } catch (IllegalStateException e) {
+                logger.warn("Rating aggregates not repaired after duplicate scan: {}", e.getMessage());
+            }
+        }
+
+        report.setDurationMs((System.nanoTime() - start) / 1_000_000);
+        logger.info("Review duplicate {}: {} reviews scanned, {} duplicates found, {} newly flagged in {} ms",
+                dryRun ? "dry run" : "scan", report.getReviewsScanned(), report.getDuplicatesFound(),
+                report.getReviewsFlagged(), report.getDurationMs());
+        return report;
+    }
+
+    private Long bestMatch(List<MinHashIndex.Match<Author>> matches, long beforeId, Long hotelId, String userEmail) {
+        return matches.stream()
+                .filter(match -> match.id() < beforeId)
+                .filter(match -> match.value().hotelId() == hotelId || !match.value().userEmail().equals(userEmail))
+                .max(Comparator.<MinHashIndex.Match<Author>>comparingDouble(MinHashIndex.Match::similarity)
+                        .thenComparing(match -> -match.id()))
+                .map(MinHashIndex.Match::id)
+                .orElse(null);
+    }
+
+    /**
+     * Streams reviews after the given id in id order, one chunk of signatures at a time,
+     * so comment text is never held for more than one chunk. Returns the last id read.
+     * A review cleared by a moderator keeps its duplicate_of_id and reads as flagged
+     * before, so scans do not flag it again.
+     */
+    private long forEachChunk(long afterId, Consumer<List<ScannedReview>> consumer) {
+        while (true) {
+            List<Object[]> rows = jdbcTemplate.query(
+                    "SELECT id, hotel_id, user_email, comment, flagged OR duplicate_of_id IS NOT NULL FROM reviews " +
+                            "WHERE id > ? ORDER BY id LIMIT ?",
+                    (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getString(4),
+                            rs.getBoolean(5)},
+                    afterId, LOAD_CHUNK);
+            if (rows.isEmpty()) {
+                return afterId;
+            }
+            MinHashIndex<Author> hasher = index;
+            List<ScannedReview> chunk = rows.parallelStream()
+                    .map(row -> new ScannedReview((Long) row[0], new Author((Long) row[1], (String) row[2]),
+                            hasher.signature((String) row[3], minLength), (Boolean) row[4]))
+                    .collect(Collectors.toList());
+            consumer.accept(chunk);
+            afterId = (Long) rows.get(rows.size() - 1)[0];
+        }
+    }
+
+    private static MinHashIndex<Author> newIndex() {
+        return new MinHashIndex<>(BANDS, ROWS, SEED);
+    }
+
+    private record Author(long hotelId, String userEmail) {
+    }
+
+    private record ScannedReview(long id, Author author, int[] signature, boolean flaggedBefore) {
+    }
+}
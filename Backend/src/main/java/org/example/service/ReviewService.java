@@ -1,19 +1,27 @@
 package org.example.service;
 
+import org.example.dto.Response.ReviewPageResponse;
 import org.example.dto.Response.ReviewResponse;
 import org.example.entity.Booking;
 import org.example.entity.Hotel;
+import org.example.entity.HotelRatingAggregate;
 import org.example.entity.Review;
+import org.example.enums.OutboxEventType;
+import org.example.enums.ReviewSort;
 import org.example.exceptions.ResourceNotFoundException;
 import org.example.repository.BookingRepository;
+import org.example.repository.HotelRatingAggregateRepository;
 import org.example.repository.HotelRepository;
 import org.example.repository.ReviewRepository;
+import org.example.util.CursorCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -23,6 +31,9 @@ public class ReviewService {
 
     private static final Logger logger = LoggerFactory.getLogger(ReviewService.class);
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private ReviewRepository reviewRepository;
 
@@ -33,7 +44,16 @@ public class ReviewService {
     private HotelRepository hotelRepository;
 
     @Autowired
-    private LoyaltyService loyaltyService;
+    private HotelRatingAggregateRepository hotelRatingAggregateRepository;
+
+    @Autowired
+    private ReviewDuplicateService reviewDuplicateService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private HotelDetailCache hotelDetailCache;
 
     @Transactional
     public ReviewResponse addReview(Map<String, Object> reviewData, String userEmail) {
@@ -74,21 +94,31 @@ public class ReviewService {
                 throw new RuntimeException("Review already exists for this booking");
             }
 
+            Long duplicateOf = reviewDuplicateService.findDuplicate(hotelId, userEmail, comment.trim());
+
             Review review = Review.builder()
                     .booking(booking)
                     .hotel(hotel)
                     .userEmail(userEmail)
                     .rating(rating)
                     .comment(comment.trim())
+                    .flagged(duplicateOf != null)
+                    .duplicateOfId(duplicateOf)
+                    .pointsAwarded(duplicateOf == null)
                     .build();
 
             Review savedReview = reviewRepository.save(review);
+            reviewDuplicateService.index(savedReview.getId(), hotelId, userEmail, savedReview.getComment());
+
+            // Near-duplicates are held for moderation: until an admin clears them they earn no
+            // points, stay out of the hotel's feed and do not count towards the rating
+            if (duplicateOf != null) {
+                logger.warn("Review {} by {} flagged as a near-duplicate of review {}",
+                        savedReview.getId(), userEmail, duplicateOf);
+                return new ReviewResponse(savedReview);
+            }
 
-            // Award 50 loyalty points for review
-            loyaltyService.awardPoints(userEmail, 50, "Hotel review for " + hotel.getName());
-
-            // Update hotel rating
-            updateHotelRating(hotel);
+            countReview(hotel, userEmail, rating, true);
 
             logger.info("Review created successfully: {}", savedReview.getId());
             return new ReviewResponse(savedReview);
@@ -99,6 +129,46 @@ public class ReviewService {
         }
     }
 
+    /**
+     * Clears a near-duplicate flag after moderation. The review joins the hotel's feed and
+     * rating and earns the points it was held back. It keeps duplicate_of_id, so later
+     * duplicate scans leave it alone.
+     */
+    @Transactional
+    public ReviewResponse unflagReview(Long reviewId) {
+        if (reviewRepository.unflag(reviewId) == 0) {
+            if (!reviewRepository.existsById(reviewId)) {
+                throw new ResourceNotFoundException("Review not found with ID: " + reviewId);
+            }
+            throw new IllegalStateException("Review " + reviewId + " is not flagged");
+        }
+        boolean awardPoints = reviewRepository.markPointsAwarded(reviewId) > 0;
+        // Loaded after the updates, so the entity holds the new state and flushes nothing back
+        Review review = reviewRepository.findById(reviewId).orElseThrow();
+        countReview(review.getHotel(), review.getUserEmail(), review.getRating(), awardPoints);
+        logger.info("Review {} cleared by moderation", reviewId);
+        return new ReviewResponse(review);
+    }
+
+    private void countReview(Hotel hotel, String userEmail, Integer rating, boolean awardPoints) {
+        // Keep the running totals in the same transaction as the review itself
+        if (hotelRatingAggregateRepository.addRating(hotel.getId(), rating) == 0) {
+            hotelRatingAggregateRepository.insertIfAbsent(hotel.getId());
+            hotelRatingAggregateRepository.addRating(hotel.getId(), rating);
+        }
+        hotelDetailCache.evict(hotel.getId());
+
+        // Award 50 loyalty points for review and refresh the hotel rating, both after commit
+        if (awardPoints) {
+            outboxService.enqueue(OutboxEventType.LOYALTY_AWARD, OutboxService.userKey(userEmail), Map.of(
+                    "userEmail", userEmail,
+                    "points", 50,
+                    "description", "Hotel review for " + hotel.getName()));
+        }
+        outboxService.enqueue(OutboxEventType.HOTEL_RATING_REFRESH, OutboxService.hotelKey(hotel.getId()),
+                Map.of("hotelId", hotel.getId()));
+    }
+
     public List<ReviewResponse> getUserReviews(String userEmail) {
         List<Review> reviews = reviewRepository.findByUserEmail(userEmail);
         return reviews.stream()
@@ -106,25 +176,76 @@ public class ReviewService {
                 .collect(Collectors.toList());
     }
 
-    public List<ReviewResponse> getHotelReviews(Long hotelId) {
-        List<Review> reviews = reviewRepository.findByHotelId(hotelId);
-        return reviews.stream()
-                .map(ReviewResponse::new)
-                .collect(Collectors.toList());
-    }
+    /**
+     * One keyset page of a hotel's reviews. Rows are projected by a single query, so a
+     * page costs the same number of queries however many reviews the hotel has.
+     */
+    public ReviewPageResponse getHotelReviews(Long hotelId, String sort, String cursor, Integer size) {
+        ReviewSort parsedSort = parseSort(sort);
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        Integer afterKey = null;
+        LocalDateTime afterCreatedAt = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] parts = CursorCodec.decode(cursor, 4);
+            if (!parsedSort.name().equals(parts[0])) {
+                throw new IllegalArgumentException("Cursor does not match sort order " + parsedSort);
+            }
+            try {
+                afterKey = parts[1].isEmpty() ? null : Integer.valueOf(parts[1]);
+                afterCreatedAt = LocalDateTime.parse(parts[2]);
+                afterId = Long.valueOf(parts[3]);
+            } catch (NumberFormatException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+            if (parsedSort != ReviewSort.NEWEST && afterKey == null) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        } else if (!hotelRepository.existsById(hotelId)) {
+            throw new ResourceNotFoundException("Hotel not found with ID: " + hotelId);
+        }
 
+        List<ReviewResponse> reviews = reviewRepository.feedPage(hotelId, parsedSort, afterKey, afterCreatedAt,
+                afterId, pageSize + 1);
+
+        String nextCursor = null;
+        if (reviews.size() > pageSize) {
+            reviews = reviews.subList(0, pageSize);
+            ReviewResponse last = reviews.get(pageSize - 1);
+            Integer key = switch (parsedSort) {
+                case HIGHEST, LOWEST -> last.getRating();
+                case REPLIED -> last.getReplyCreatedAt() != null ? 1 : 0;
+                default -> null;
+            };
+            nextCursor = CursorCodec.encode(parsedSort.name(), key, last.getCreatedAt(), last.getId());
+        }
+        return new ReviewPageResponse(reviews, nextCursor);
+    }
 
+    private ReviewSort parseSort(String sort) {
+        if (sort == null || sort.isEmpty()) {
+            return ReviewSort.NEWEST;
+        }
+        try {
+            return ReviewSort.valueOf(sort.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid sort: " + sort + ". Valid values are newest, highest, lowest and replied");
+        }
+    }
 
-    private void updateHotelRating(Hotel hotel) {
-        List<Review> reviews = reviewRepository.findByHotelId(hotel.getId());
-        if (!reviews.isEmpty()) {
-            double avgRating = reviews.stream()
-                    .mapToInt(Review::getRating)
-                    .average()
-                    .orElse(0.0);
-            hotel.setRating(Math.round(avgRating * 10.0) / 10.0); // Round to 1 decimal
-            hotelRepository.save(hotel);
-            logger.info("Updated hotel {} rating to: {}", hotel.getName(), hotel.getRating());
+    @Transactional
+    public void refreshHotelRating(Long hotelId) {
+        Hotel hotel = hotelRepository.findById(hotelId).orElse(null);
+        Double avgRating = hotelRatingAggregateRepository.findById(hotelId)
+                .map(HotelRatingAggregate::averageRating)
+                .orElse(null);
+        if (hotel == null || avgRating == null) {
+            return;
         }
+        hotel.setRating(avgRating);
+        hotelRepository.save(hotel);
+        hotelDetailCache.evict(hotel.getId());
+        logger.info("Updated hotel {} rating to: {}", hotel.getName(), hotel.getRating());
     }
 }
\ No newline at end of file
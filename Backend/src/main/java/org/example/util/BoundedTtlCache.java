@@ -0,0 +1,114 @@
+package org.example.util;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Small LRU cache with a size bound, per-entry expiry and hit/miss/eviction counters.
+ * All access is synchronized, which is fine for the short critical sections involved.
+ */
+public class BoundedTtlCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlMillis;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    public BoundedTtlCache(int maxSize, long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > BoundedTtlCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(key);
+            expirations.incrementAndGet();
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.value;
+    }
+
+    public void put(K key, V value) {
+        put(key, value, System.currentTimeMillis() + ttlMillis);
+    }
+
+    /**
+     * Stores a value that expires at the given epoch millis, or after the
+     * cache-wide TTL if that comes first.
+     */
+    public synchronized void put(K key, V value, long expiresAt) {
+        long cap = System.currentTimeMillis() + ttlMillis;
+        entries.put(key, new Entry<>(value, Math.min(expiresAt, cap)));
+    }
+
+    public synchronized V invalidate(K key) {
+        Entry<V> removed = entries.remove(key);
+        return removed != null ? removed.value : null;
+    }
+
+    public synchronized void invalidateAll(Collection<K> keys) {
+        keys.forEach(entries::remove);
+    }
+
+    /**
+     * Removes every entry whose value matches. This walks the whole cache, so it is meant
+     * for rare events such as a user's role changing.
+     */
+    public synchronized int invalidateIf(Predicate<V> matches) {
+        int before = entries.size();
+        entries.values().removeIf(entry -> matches.test(entry.value));
+        return before - entries.size();
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public Map<String, Object> stats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long requests = hitCount + missCount;
+        return Map.of(
+                "size", size(),
+                "maxSize", maxSize,
+                "ttlSeconds", ttlMillis / 1000,
+                "hits", hitCount,
+                "misses", missCount,
+                "hitRatio", requests == 0 ? 0.0 : (double) hitCount / requests,
+                "evictions", evictions.get(),
+                "expirations", expirations.get()
+        );
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
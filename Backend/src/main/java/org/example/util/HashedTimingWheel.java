@@ -0,0 +1,71 @@
+package org.example.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Hashed timing wheel for large numbers of deadlines. Each id lands in the bucket of
+ * its deadline tick modulo the wheel size, so scheduling is O(1) and advancing the
+ * clock only visits the buckets for the ticks that passed, not every pending id.
+ */
+public class HashedTimingWheel {
+
+    private final long tickMillis;
+    private final List<List<Timeout>> buckets;
+    private long currentTick;
+    private int size;
+
+    public HashedTimingWheel(int wheelSize, long tickMillis, long nowMillis) {
+        if (wheelSize <= 0 || tickMillis <= 0) {
+            throw new IllegalArgumentException("Wheel size and tick must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    public synchronized void schedule(long id, long deadlineMillis) {
+        // Deadlines already in the past fire on the next advance
+        long deadlineTick = Math.max(deadlineMillis / tickMillis, currentTick);
+        buckets.get(Math.floorMod(deadlineTick, buckets.size())).add(new Timeout(id, deadlineTick));
+        size++;
+    }
+
+    /**
+     * Moves the wheel up to {@code nowMillis} and returns the ids whose deadline passed.
+     * A caller that fell more than a full revolution behind visits each bucket once.
+     */
+    public synchronized List<Long> advance(long nowMillis) {
+        long nowTick = nowMillis / tickMillis;
+        List<Long> due = new ArrayList<>();
+        if (nowTick < currentTick) {
+            return due;
+        }
+
+        long ticks = Math.min(nowTick - currentTick + 1, buckets.size());
+        for (long tick = nowTick - ticks + 1; tick <= nowTick; tick++) {
+            Iterator<Timeout> it = buckets.get(Math.floorMod(tick, buckets.size())).iterator();
+            while (it.hasNext()) {
+                Timeout timeout = it.next();
+                if (timeout.deadlineTick <= nowTick) {
+                    due.add(timeout.id);
+                    it.remove();
+                }
+            }
+        }
+        size -= due.size();
+        currentTick = nowTick + 1;
+        return due;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private record Timeout(long id, long deadlineTick) {
+    }
+}
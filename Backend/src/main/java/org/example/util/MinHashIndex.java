@@ -0,0 +1,186 @@
+package org.example.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Finds texts with a high Jaccard similarity over character shingles without comparing
+ * against every stored text. Each text is reduced to a MinHash signature, and the
+ * signature is split into bands that are hashed into buckets (locality-sensitive
+ * hashing). Only texts sharing at least one bucket are compared, and the comparison
+ * uses the signatures, so a lookup costs a handful of hash-map reads.
+ *
+ * With {@code bands} bands of {@code rows} rows, two texts of similarity s become
+ * candidates with probability 1 - (1 - s^rows)^bands.
+ */
+public final class MinHashIndex<V> {
+
+    private static final int SHINGLE_LENGTH = 5;
+
+    private final int bands;
+    private final int rows;
+    private final long[] multipliers;
+    private final long[] offsets;
+
+    private final Map<Long, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> buckets = new ConcurrentHashMap<>();
+
+    public MinHashIndex(int bands, int rows, long seed) {
+        this.bands = bands;
+        this.rows = rows;
+        SplittableRandom random = new SplittableRandom(seed);
+        int hashes = bands * rows;
+        this.multipliers = new long[hashes];
+        this.offsets = new long[hashes];
+        for (int i = 0; i < hashes; i++) {
+            multipliers[i] = random.nextLong() | 1;
+            offsets[i] = random.nextLong();
+        }
+    }
+
+    /**
+     * Returns the signature of a text, or null when the normalized text is shorter
+     * than {@code minLength} characters.
+     */
+    public int[] signature(String text, int minLength) {
+        String normalized = normalize(text);
+        if (normalized.length() < Math.max(minLength, SHINGLE_LENGTH)) {
+            return null;
+        }
+
+        int[] signature = new int[multipliers.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (int start = 0; start + SHINGLE_LENGTH <= normalized.length(); start++) {
+            long shingle = mix(hashShingle(normalized, start));
+            for (int i = 0; i < signature.length; i++) {
+                int value = (int) ((multipliers[i] * shingle + offsets[i]) >>> 32);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    public void put(long id, int[] signature, V value) {
+        entries.put(id, new Entry<>(signature, value));
+        for (int band = 0; band < bands; band++) {
+            buckets.computeIfAbsent(bucketKey(signature, band), key -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    public void remove(long id) {
+        Entry<V> entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        for (int band = 0; band < bands; band++) {
+            long key = bucketKey(entry.signature(), band);
+            Set<Long> bucket = buckets.get(key);
+            if (bucket != null) {
+                bucket.remove(id);
+                if (bucket.isEmpty()) {
+                    buckets.remove(key, bucket);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the stored texts whose estimated similarity to the signature is at least
+     * {@code threshold}.
+     */
+    public List<Match<V>> matches(int[] signature, double threshold) {
+        Set<Long> candidates = new HashSet<>();
+        for (int band = 0; band < bands; band++) {
+            Set<Long> bucket = buckets.get(bucketKey(signature, band));
+            if (bucket != null) {
+                candidates.addAll(bucket);
+            }
+        }
+
+        List<Match<V>> matches = new ArrayList<>();
+        for (Long id : candidates) {
+            Entry<V> entry = entries.get(id);
+            if (entry == null) {
+                continue;
+            }
+            double similarity = similarity(signature, entry.signature());
+            if (similarity >= threshold) {
+                matches.add(new Match<>(id, entry.value(), similarity));
+            }
+        }
+        return matches;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public static double similarity(int[] a, int[] b) {
+        int same = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                same++;
+            }
+        }
+        return (double) same / a.length;
+    }
+
+    private long bucketKey(int[] signature, int band) {
+        long hash = band;
+        for (int i = band * rows; i < (band + 1) * rows; i++) {
+            hash = hash * 0x100000001B3L + signature[i];
+        }
+        return mix(hash);
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean space = true;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(Character.toLowerCase(c));
+                space = false;
+            } else if (!space) {
+                normalized.append(' ');
+                space = true;
+            }
+        }
+        int length = normalized.length();
+        if (length > 0 && normalized.charAt(length - 1) == ' ') {
+            normalized.setLength(length - 1);
+        }
+        return normalized.toString();
+    }
+
+    private static long hashShingle(String text, int start) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = start; i < start + SHINGLE_LENGTH; i++) {
+            hash = (hash ^ text.charAt(i)) * 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
+    private record Entry<V>(int[] signature, V value) {
+    }
+
+    public record Match<V>(long id, V value, double similarity) {
+    }
+}
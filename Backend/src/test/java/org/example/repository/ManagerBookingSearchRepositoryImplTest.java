@@ -0,0 +1,196 @@
+package org.example.repository;
+
+import org.example.dto.Response.ManagerBookingResponse;
+import org.example.entity.Booking;
+import org.example.entity.Hotel;
+import org.example.enums.BookingStatus;
+import org.example.enums.RoomType;
+import org.example.service.ManagerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ManagerBookingSearchRepositoryImplTest {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private ManagerService managerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final String manager = "manager-" + System.nanoTime() + "@test";
+    private final LocalDate today = LocalDate.now();
+    private Hotel first;
+    private Hotel second;
+
+    @BeforeEach
+    void createBookings() {
+        first = hotelRepository.save(Hotel.builder().name("First").location("Test").managerEmail(manager).build());
+        second = hotelRepository.save(Hotel.builder().name("Second").location("Test").managerEmail(manager).build());
+        book(first, "a@test", 1, BookingStatus.PAID);
+        book(second, "b@test", 2, BookingStatus.PENDING_PAYMENT);
+        book(first, "b@test", 3, BookingStatus.PAID);
+        book(second, "a@test", 3, BookingStatus.PAID);
+        book(first, "a@test", 5, BookingStatus.EXPIRED);
+    }
+
+    @Test
+    void allHotelsAreReadInOneQueryLatestCheckinFirst() {
+        RecordingStatementInspector.start();
+        List<ManagerBookingResponse> page = bookingRepository.searchPage(manager, null, null, null, null, null,
+                null, null, 3);
+        assertEquals(1, RecordingStatementInspector.stop().size());
+
+        assertEquals(List.of(5, 3, 3), page.stream().map(this::day).toList());
+        assertTrue(page.get(1).getId() > page.get(2).getId());
+
+        ManagerBookingResponse last = page.get(2);
+        List<ManagerBookingResponse> next = bookingRepository.searchPage(manager, null, null, null, null, null,
+                last.getCheckin(), last.getId(), 3);
+        assertEquals(List.of(2, 1), next.stream().map(this::day).toList());
+    }
+
+    @Test
+    void filtersApplyAcrossHotels() {
+        List<ManagerBookingResponse> paid = bookingRepository.searchPage(manager, null, BookingStatus.PAID,
+                today.plusDays(2), today.plusDays(4), null, null, null, 10);
+        List<ManagerBookingResponse> guest = bookingRepository.searchPage(manager, null, null, null, null, "a@test",
+                null, null, 10);
+
+        assertEquals(2, paid.size());
+        assertEquals(List.of(5, 3, 1), guest.stream().map(this::day).toList());
+        assertTrue(bookingRepository.searchPage("other@test", first.getId(), null, null, null, null,
+                null, null, 10).isEmpty());
+    }
+
+    @Test
+    void olderBookingsGetTheirManagerFromTheHotel() {
+        jdbcTemplate.update("UPDATE bookings SET manager_email = NULL WHERE hotel_id IN (?, ?)",
+                first.getId(), second.getId());
+        assertTrue(bookingRepository.searchPage(manager, null, null, null, null, null, null, null, 10).isEmpty());
+
+        managerService.backfillBookingManagers();
+
+        assertEquals(5, bookingRepository.searchPage(manager, null, null, null, null, null, null, null, 10).size());
+    }
+
+    @Test
+    void everyFilterCombinationReadsAnIndexInOrder() {
+        LocalDate from = today;
+        LocalDate to = today.plusDays(30);
+        List<Supplier<List<ManagerBookingResponse>>> searches = List.of(
+                () -> bookingRepository.searchPage(manager, null, null, null, null, null, null, null, 10),
+                () -> bookingRepository.searchPage(manager, null, BookingStatus.PAID, from, to, null, to, 1L, 10),
+                () -> bookingRepository.searchPage(manager, first.getId(), null, from, to, null, null, null, 10),
+                () -> bookingRepository.searchPage(manager, first.getId(), BookingStatus.PAID, null, null, null,
+                        to, 1L, 10),
+                () -> bookingRepository.searchPage(manager, null, null, null, null, "a@test", null, null, 10),
+                () -> bookingRepository.searchPage(manager, second.getId(), BookingStatus.PAID, from, to, "a@test",
+                        to, 1L, 10));
+
+        // H2 backs the foreign key with a hotel_id index of its own and prefers it to the
+        // composite ones; MySQL uses idx_bookings_hotel_checkin for the key instead
+        String foreignKey = jdbcTemplate.queryForObject("SELECT constraint_name FROM information_schema.table_constraints " +
+                "WHERE table_name = 'bookings' AND constraint_type = 'FOREIGN KEY'", String.class);
+        jdbcTemplate.execute("ALTER TABLE bookings DROP CONSTRAINT " + foreignKey);
+        seedOtherHotels();
+        jdbcTemplate.execute("ANALYZE");
+        try {
+            for (Supplier<List<ManagerBookingResponse>> search : searches) {
+                RecordingStatementInspector.start();
+                try {
+                    search.get();
+                } finally {
+                    for (String sql : RecordingStatementInspector.stop()) {
+                        String plan = explain(sql);
+                        assertFalse(plan.contains("tableScan"), () -> "Full scan:\n" + plan);
+                        if (sql.contains("bookings")) {
+                            assertTrue(plan.contains("/* index sorted */"), () -> "Sorted outside an index:\n" + plan);
+                        }
+                    }
+                }
+            }
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE bookings ADD CONSTRAINT " + foreignKey +
+                    " FOREIGN KEY (hotel_id) REFERENCES hotels (id)");
+        }
+    }
+
+    // Plans are only representative once bookings outnumber hotels and guests as they do in production
+    private void seedOtherHotels() {
+        List<Long> hotelIds = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            hotelIds.add(hotelRepository.save(Hotel.builder().name("Other " + i).location("Test")
+                    .managerEmail("other-" + i + "@test").build()).getId());
+        }
+        List<Object[]> rows = new ArrayList<>();
+        BookingStatus[] statuses = BookingStatus.values();
+        for (int i = 0; i < 5000; i++) {
+            LocalDate checkin = today.plusDays(i % 365);
+            int hotel = i % hotelIds.size();
+            rows.add(new Object[]{hotelIds.get(hotel), "other-" + hotel + "@test", "guest-" + (i % 1000) + "@test",
+                    RoomType.STANDARD.name(), checkin, checkin.plusDays(1), statuses[i % statuses.length].name()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (hotel_id, manager_email, user_email, room_type, checkin, " +
+                "checkout, nights, price_per_night, total, status) VALUES (?, ?, ?, ?, ?, ?, 1, 100, 100, ?)", rows);
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                // The plan only depends on which columns are compared, not on the values
+                int parameters = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameters; i++) {
+                    statement.setObject(i, null);
+                }
+                try (ResultSet rs = statement.executeQuery()) {
+                    List<String> lines = new ArrayList<>();
+                    while (rs.next()) {
+                        lines.add(rs.getString(1));
+                    }
+                    return String.join("\n", lines);
+                }
+            }
+        });
+    }
+
+    private int day(ManagerBookingResponse booking) {
+        return (int) (booking.getCheckin().toEpochDay() - today.toEpochDay());
+    }
+
+    private void book(Hotel hotel, String guest, int day, BookingStatus status) {
+        bookingRepository.save(Booking.builder()
+                .hotel(hotel)
+                .managerEmail(hotel.getManagerEmail())
+                .userEmail(guest)
+                .roomType(RoomType.STANDARD)
+                .checkin(today.plusDays(day))
+                .checkout(today.plusDays(day + 1))
+                .nights(1)
+                .pricePerNight(100.0)
+                .total(100.0)
+                .status(status)
+                .build());
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import org.example.security.service.UserDetailsImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What AuthTokenFilter pays per request to turn a bearer token into a principal: a
+ * JwtPrincipalCache hit (SHA-256 of the token and a map lookup) against verifying the
+ * signature and reading the claims. Tokens without the role and id claims also load
+ * the user from the database on a miss, which is not measured here.
+ * <p>
+ * Run with:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main AuthTokenFilterBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthTokenFilterBenchmark {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private JwtUtils jwtUtils;
+    private JwtPrincipalCache principalCache;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 3_600_000);
+        jwtUtils.init();
+
+        UserDetailsImpl user = new UserDetailsImpl(7L, "guest@test", "guest@test", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")), 0);
+        token = jwtUtils.generateTokenFromUsername(user);
+
+        principalCache = new JwtPrincipalCache(10_000, 300);
+        Claims claims = jwtUtils.parseJwtToken(token);
+        principalCache.put(token, jwtUtils.getPrincipalFromClaims(claims), claims.getExpiration().getTime());
+    }
+
+    @Benchmark
+    public UserDetails cachedPrincipal() {
+        return principalCache.get(token);
+    }
+
+    @Benchmark
+    public UserDetails parsedPrincipal() {
+        return jwtUtils.getPrincipalFromClaims(jwtUtils.parseJwtToken(token));
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import org.example.security.service.TokenRevocationService;
+import org.example.security.service.UserDetailsImpl;
+import org.example.security.service.UserDetailsServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthTokenFilterTest {
+
+    private static final String TOKEN = "header.payload.signature";
+
+    @Mock
+    private JwtUtils jwtUtils;
+
+    @Mock
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Spy
+    private JwtPrincipalCache principalCache = new JwtPrincipalCache(100, 300);
+
+    @InjectMocks
+    private AuthTokenFilter filter;
+
+    private final UserDetailsImpl user = new UserDetailsImpl(7L, "guest@test", "guest@test", null,
+            List.of(new SimpleGrantedAuthority("ROLE_USER")), 0);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void aCachedTokenSkipsTheParseAndTheUserLookup() throws Exception {
+        Claims claims = mock(Claims.class);
+        when(claims.getSubject()).thenReturn("guest@test");
+        when(claims.getExpiration()).thenReturn(new Date(System.currentTimeMillis() + 60_000));
+        when(jwtUtils.getJwtFromHeader(any())).thenReturn(TOKEN);
+        when(jwtUtils.parseJwtToken(TOKEN)).thenReturn(claims);
+        // A token without the role and id claims, so the first request loads the user
+        when(userDetailsService.loadUserByUsername("guest@test")).thenReturn(user);
+
+        assertSame(user, authenticatedPrincipal());
+        assertSame(user, authenticatedPrincipal());
+        assertSame(user, authenticatedPrincipal());
+
+        verify(jwtUtils, times(1)).parseJwtToken(TOKEN);
+        verify(userDetailsService, times(1)).loadUserByUsername("guest@test");
+        verify(tokenRevocationService, times(3)).isRevoked(7L, 0);
+    }
+
+    @Test
+    void aRevokedCachedTokenIsRejected() throws Exception {
+        principalCache.put(TOKEN, user, System.currentTimeMillis() + 60_000);
+        when(jwtUtils.getJwtFromHeader(any())).thenReturn(TOKEN);
+        when(tokenRevocationService.isRevoked(7L, 0)).thenReturn(true);
+
+        assertNull(authenticatedPrincipal());
+        verify(jwtUtils, never()).parseJwtToken(any());
+    }
+
+    private Object authenticatedPrincipal() throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/user/bookings");
+        request.setServletPath("/api/user/bookings");
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? null : authentication.getPrincipal();
+    }
+}
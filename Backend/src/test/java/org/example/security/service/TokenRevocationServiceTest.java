@@ -0,0 +1,51 @@
+package org.example.security.service;
+
+import org.example.entity.TokenRevocation;
+import org.example.repository.TokenRevocationRepository;
+import org.example.security.jwt.JwtUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    @Mock
+    private TokenRevocationRepository tokenRevocationRepository;
+
+    @Mock
+    private JwtUtils jwtUtils;
+
+    @InjectMocks
+    private TokenRevocationService tokenRevocationService;
+
+    @Test
+    void theStrictestOfSeveralRevocationsWins() {
+        when(jwtUtils.getAccessToken()).thenReturn(new JwtUtils.TokenInfo(3_600_000));
+        LocalDateTime now = LocalDateTime.now();
+        // A role change revoked up to version 5, then a later logout up to version 3
+        when(tokenRevocationRepository.findByRevokedAtAfter(any())).thenReturn(List.of(
+                revocation(1L, 5, now.minusMinutes(2)),
+                revocation(1L, 3, now.minusMinutes(1))));
+
+        tokenRevocationService.refresh();
+
+        assertTrue(tokenRevocationService.isRevoked(1L, 4));
+        assertFalse(tokenRevocationService.isRevoked(1L, 5));
+        assertFalse(tokenRevocationService.isRevoked(2L, 0));
+    }
+
+    private static TokenRevocation revocation(Long userId, int minTokenVersion, LocalDateTime revokedAt) {
+        return TokenRevocation.builder().userId(userId).minTokenVersion(minTokenVersion).revokedAt(revokedAt).build();
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.service;
+
+import org.example.entity.Hotel;
+import org.example.entity.HotelDailyStats;
+import org.example.enums.HotelStatus;
+import org.example.enums.RoomType;
+import org.example.repository.HotelDailyStatsRepository;
+import org.example.repository.HotelRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@SpringBootTest
+class AdminServiceTest {
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private HotelDailyStatsRepository hotelDailyStatsRepository;
+
+    @Autowired
+    private HotelSearchIndex hotelSearchIndex;
+
+    @Test
+    void deletingAHotelDeletesItsDailyStats() {
+        Hotel hotel = hotelRepository.save(Hotel.builder()
+                .name("Deleted " + System.nanoTime())
+                .location("Test")
+                .managerEmail("manager@test")
+                .status(HotelStatus.APPROVED)
+                .build());
+        hotelSearchIndex.indexHotel(hotel);
+        LocalDate today = LocalDate.now();
+        hotelDailyStatsRepository.save(HotelDailyStats.builder()
+                .hotelId(hotel.getId())
+                .statDate(today)
+                .roomType(RoomType.SUITE)
+                .build());
+
+        adminService.deleteHotel(hotel.getId());
+
+        assertFalse(hotelRepository.existsById(hotel.getId()));
+        assertEquals(List.of(), hotelDailyStatsRepository.findRange(List.of(hotel.getId()), today, today));
+        assertFalse(hotelSearchIndex.search(hotel.getName()).contains(hotel.getId()));
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.service;
+
+import org.example.dto.Response.HotelDetailResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class HotelDetailCacheTest {
+
+    private final HotelDetailCache cache = new HotelDetailCache(100, 300);
+
+    private final HotelDetailResponse response = new HotelDetailResponse().setId("1");
+
+    @Test
+    void loadsWithoutAnEvictionAreCached() {
+        long generation = cache.generation(1L);
+
+        cache.put(1L, generation, response);
+
+        assertSame(response, cache.get(1L));
+    }
+
+    @Test
+    void loadsStartedBeforeAnEvictionAreNotCached() {
+        long generation = cache.generation(1L);
+        cache.evict(1L);
+
+        cache.put(1L, generation, response);
+
+        assertNull(cache.get(1L));
+        cache.put(1L, cache.generation(1L), response);
+        assertSame(response, cache.get(1L));
+    }
+
+    @Test
+    void loadsOfTheStateBeforeCommitAreNotCached() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.evict(1L);
+            // A reader loads the committed row while the writer's transaction is still open
+            long generation = cache.generation(1L);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+            cache.put(1L, generation, response);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void evictingOtherHotelsKeepsTheLoad() {
+        long generation = cache.generation(1L);
+        cache.evictAll(List.of(2L, 3L));
+
+        cache.put(1L, generation, response);
+
+        assertSame(response, cache.get(1L));
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.service;
+
+import org.example.entity.Hotel;
+import org.example.enums.HotelStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the trigram index with the LIKE '%q%' scan it replaced. The scan runs over
+ * the same documents in memory, so it is a lower bound on the old query, which also
+ * had to read every hotel row from disk.
+ * <p>
+ * Run with:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main HotelSearchIndexBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HotelSearchIndexBenchmark {
+
+    private static final String[] WORDS = {"grand", "palace", "harbour", "inn", "lodge", "royal", "garden",
+            "plaza", "river", "park", "ocean", "view", "central", "boutique", "suites", "resort"};
+    private static final String[] CITIES = {"Lisbon", "Porto", "Madrid", "Barcelona", "Paris", "Lyon", "Rome",
+            "Milan", "Berlin", "Munich", "Vienna", "Prague", "Warsaw", "Krakow", "Dublin", "London"};
+
+    @Param({"10000", "100000"})
+    public int hotels;
+
+    /** One hotel's name, as a user would type it to find that hotel. */
+    @Param({"royal garden 4711"})
+    public String selectiveQuery;
+
+    /** A city, matching about one hotel in sixteen. */
+    @Param({"krakow"})
+    public String broadQuery;
+
+    private HotelSearchIndex index;
+    private List<Long> ids;
+    private List<String> documents;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        index = new HotelSearchIndex();
+        ids = new ArrayList<>(hotels);
+        documents = new ArrayList<>(hotels);
+        for (long id = 1; id <= hotels; id++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + id;
+            String location = CITIES[random.nextInt(CITIES.length)];
+            index.indexHotel(Hotel.builder().id(id).name(name).location(location).status(HotelStatus.APPROVED).build());
+            ids.add(id);
+            documents.add(HotelSearchIndex.normalize(name) + "\n" + HotelSearchIndex.normalize(location));
+        }
+    }
+
+    @Benchmark
+    public Set<Long> indexSelective() {
+        return index.search(selectiveQuery);
+    }
+
+    @Benchmark
+    public Set<Long> scanSelective() {
+        return scan(selectiveQuery);
+    }
+
+    @Benchmark
+    public Set<Long> indexBroad() {
+        return index.search(broadQuery);
+    }
+
+    @Benchmark
+    public Set<Long> scanBroad() {
+        return scan(broadQuery);
+    }
+
+    private Set<Long> scan(String query) {
+        String needle = HotelSearchIndex.normalize(query);
+        Set<Long> matches = new HashSet<>();
+        for (int i = 0; i < documents.size(); i++) {
+            if (documents.get(i).contains(needle)) {
+                matches.add(ids.get(i));
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.service;
+
+import org.example.entity.Hotel;
+import org.example.enums.HotelStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HotelSearchIndexTest {
+
+    private final HotelSearchIndex index = new HotelSearchIndex();
+
+    @BeforeEach
+    void indexHotels() {
+        index.indexHotel(hotel(1L, "Grand Palace", "Lisbon", HotelStatus.APPROVED));
+        index.indexHotel(hotel(2L, "Harbour Inn", "Porto", HotelStatus.APPROVED));
+        index.indexHotel(hotel(3L, "Lisbon Lodge", "Sintra", HotelStatus.APPROVED));
+    }
+
+    @Test
+    void substringsMatchNameOrLocation() {
+        assertEquals(Set.of(1L, 3L), index.search("lisbon"));
+        assertEquals(Set.of(2L), index.search("arbou"));
+        assertEquals(Set.of(), index.search("madrid"));
+    }
+
+    @Test
+    void caseAndWhitespaceAreFolded() {
+        assertEquals(Set.of(1L, 3L), index.search("  LISBON "));
+        assertEquals(Set.of(1L), index.search("GRAND   palace"));
+    }
+
+    @Test
+    void queriesShorterThanATrigramScanTheDocuments() {
+        assertEquals(Set.of(2L), index.search("Po"));
+        assertEquals(Set.of(1L, 2L, 3L), index.search("o"));
+        assertEquals(Set.of(), index.search(" "));
+    }
+
+    @Test
+    void trigramsMustBeContiguous() {
+        // Every trigram of "lisbon" exists in the index, but not as one substring here
+        index.indexHotel(hotel(4L, "Lisbo Onbon", "Faro", HotelStatus.APPROVED));
+
+        assertEquals(Set.of(1L, 3L), index.search("lisbon"));
+    }
+
+    @Test
+    void hotelsThatAreNotApprovedAreDropped() {
+        index.indexHotel(hotel(5L, "Pending Lisbon", "Lisbon", HotelStatus.PENDING));
+        index.indexHotel(hotel(1L, "Grand Palace", "Lisbon", HotelStatus.REJECTED));
+
+        assertEquals(Set.of(3L), index.search("lisbon"));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void renamingReplacesTheOldDocument() {
+        index.indexHotel(hotel(2L, "Harbour Inn", "Faro", HotelStatus.APPROVED));
+
+        assertEquals(Set.of(), index.search("porto"));
+        assertEquals(Set.of(2L), index.search("faro"));
+    }
+
+    @Test
+    void removedHotelsNoLongerMatch() {
+        index.removeHotel(1L);
+        index.removeHotel(99L);
+
+        assertEquals(Set.of(3L), index.search("lisbon"));
+        assertEquals(Set.of(), index.search("palace"));
+    }
+
+    private static Hotel hotel(Long id, String name, String location, HotelStatus status) {
+        return Hotel.builder().id(id).name(name).location(location).managerEmail("manager@test").status(status).build();
+    }
+}
@@ -0,0 +1,152 @@
+package org.example.service;
+
+import org.example.dto.Response.HotelSearchPageResponse;
+import org.example.dto.Response.HotelSummaryResponse;
+import org.example.entity.Hotel;
+import org.example.entity.Room;
+import org.example.entity.RoomRate;
+import org.example.enums.HotelStatus;
+import org.example.enums.RoomType;
+import org.example.repository.HotelRepository;
+import org.example.repository.RecordingStatementInspector;
+import org.example.repository.RoomRateRepository;
+import org.example.repository.RoomRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+class HotelServiceTest {
+
+    @Autowired
+    private HotelService hotelService;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomRateRepository roomRateRepository;
+
+    @Autowired
+    private HotelSearchIndex hotelSearchIndex;
+
+    @Autowired
+    private OccupancyIndex occupancyIndex;
+
+    private final String location = "Searchtown" + System.nanoTime();
+
+    @Test
+    void ratingPagesContinuePastHotelsWithoutRating() {
+        List<Hotel> hotels = List.of(hotel(4.5), hotel(null), hotel(3.0), hotel(null), hotel(null));
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            HotelSearchPageResponse page = hotelService.searchHotels(location, null, null, null, "rating", cursor, 2);
+            page.getHotels().forEach(hotel -> seen.add(hotel.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // Unrated hotels come last, in id order
+        assertEquals(List.of(hotels.get(0), hotels.get(2), hotels.get(1), hotels.get(3), hotels.get(4)).stream()
+                .map(hotel -> hotel.getId().toString()).toList(), seen);
+    }
+
+    @Test
+    void shortLaterBatchEndsTheSearch() {
+        LocalDate checkin = LocalDate.now().plusDays(60);
+        LocalDate checkout = checkin.plusDays(1);
+        // A page of one reads batches of three; every hotel is sold out, so the first
+        // batch is full and the second one short
+        for (int i = 0; i < 4; i++) {
+            Hotel hotel = hotel(4.0);
+            occupancyIndex.registerRoom(hotel.getId(), RoomType.STANDARD, 1);
+            occupancyIndex.reserve(hotel.getId(), RoomType.STANDARD, checkin, checkout);
+        }
+
+        HotelSearchPageResponse page = hotelService.searchHotels(location, null, checkin.toString(),
+                checkout.toString(), "id", null, 1);
+
+        assertEquals(List.<HotelSummaryResponse>of(), page.getHotels());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void basePriceSortOrdersByTheBasePriceItReturns() {
+        Hotel cheapBase = hotel(4.0);
+        Hotel dearBase = hotel(4.0);
+        room(cheapBase, 100.0);
+        room(dearBase, 200.0);
+        // Tonight the cheaper hotel charges more than the other one's base price
+        LocalDate today = LocalDate.now();
+        roomRateRepository.save(RoomRate.builder().hotelId(cheapBase.getId()).roomType(RoomType.SUITE)
+                .startDate(today.minusDays(1)).endDate(today.plusDays(7)).price(300.0).weekendPrice(300.0).build());
+
+        for (String sort : List.of("base_price", "price")) {
+            List<HotelSummaryResponse> hotels = hotelService.searchHotels(location, null, null, null, sort, null, 10)
+                    .getHotels();
+
+            assertEquals(List.of(cheapBase.getId().toString(), dearBase.getId().toString()),
+                    hotels.stream().map(HotelSummaryResponse::getId).toList());
+            assertEquals(List.of(100.0, 200.0), hotels.stream().map(HotelSummaryResponse::getBasePrice).toList());
+            assertEquals(300.0, hotels.get(0).getPrice());
+        }
+    }
+
+    @Test
+    void statementCountDoesNotGrowWithThePage() {
+        List<Integer> counts = new ArrayList<>();
+        for (int hotels : List.of(5, 50)) {
+            String town = location + "-" + hotels;
+            for (int i = 0; i < hotels; i++) {
+                Hotel hotel = hotel(4.0, town, List.of("b.jpg", "a.jpg"), List.of("Pool", "Gym"));
+                room(hotel, 100.0);
+            }
+
+            RecordingStatementInspector.start();
+            List<HotelSummaryResponse> page = hotelService.searchHotels(town, null, null, null, "id", null, 100)
+                    .getHotels();
+            counts.add(RecordingStatementInspector.stop().size());
+
+            assertEquals(hotels, page.size());
+            // The collections were saved out of order; the first image is still the same one
+            assertEquals("a.jpg", page.get(0).getImage());
+            assertArrayEquals(new String[]{"Gym", "Pool"}, page.get(0).getAmenities());
+        }
+
+        assertEquals(counts.get(0), counts.get(1), "statements for 5 and 50 hotels: " + counts);
+    }
+
+    private void room(Hotel hotel, double price) {
+        roomRepository.save(Room.builder().hotel(hotel).type(RoomType.SUITE).price(price).available(1).build());
+    }
+
+    private Hotel hotel(Double rating) {
+        return hotel(rating, location, List.of(), List.of());
+    }
+
+    private Hotel hotel(Double rating, String location, List<String> images, List<String> amenities) {
+        Hotel hotel = hotelRepository.save(Hotel.builder()
+                .name("Hotel " + System.nanoTime())
+                .location(location)
+                .images(new ArrayList<>(images))
+                .amenities(new ArrayList<>(amenities))
+                .managerEmail("manager@test")
+                .rating(rating)
+                .status(HotelStatus.APPROVED)
+                .build());
+        hotelSearchIndex.indexHotel(hotel);
+        return hotel;
+    }
+}
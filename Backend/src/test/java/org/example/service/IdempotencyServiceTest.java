@@ -0,0 +1,129 @@
+package org.example.service;
+
+import org.example.entity.IdempotencyRecord;
+import org.example.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class IdempotencyServiceTest {
+
+    private static final String USER = "guest@test";
+    private static final String ENDPOINT = "POST /api/user/bookings";
+    private static final Map<String, Object> REQUEST = Map.of("hotelId", "1", "roomType", "SUITE");
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @AfterEach
+    void clear() {
+        idempotencyRecordRepository.deleteAll();
+        jdbcTemplate.execute("DROP TABLE IF EXISTS idempotency_effects");
+    }
+
+    @Test
+    void theResponseIsStoredInTheHandlersTransactionAndReplayed() {
+        ResponseEntity<?> first = idempotencyService.execute("key-1", USER, ENDPOINT, REQUEST, this::book);
+        ResponseEntity<?> second = idempotencyService.execute("key-1", USER, ENDPOINT, REQUEST, this::book);
+
+        assertEquals(200, first.getStatusCode().value());
+        assertEquals("true", second.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertEquals(first.getBody(), second.getBody());
+        assertEquals(1, executions.get());
+        IdempotencyRecord record = idempotencyRecordRepository.findByUserEmailAndIdempotencyKey(USER, "key-1").orElseThrow();
+        assertEquals(200, record.getStatus());
+        assertNull(record.getClaimedUntil());
+    }
+
+    @Test
+    void aLiveClaimAnswersInProgress() {
+        claim("key-2", LocalDateTime.now().plusMinutes(1));
+
+        ResponseEntity<?> response = idempotencyService.execute("key-2", USER, ENDPOINT, REQUEST, this::book);
+
+        assertEquals(409, response.getStatusCode().value());
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void anExpiredClaimIsTakenOver() {
+        claim("key-3", LocalDateTime.now().minusSeconds(1));
+
+        ResponseEntity<?> response = idempotencyService.execute("key-3", USER, ENDPOINT, REQUEST, this::book);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(1, executions.get());
+        assertEquals(200, idempotencyRecordRepository.findByUserEmailAndIdempotencyKey(USER, "key-3").orElseThrow().getStatus());
+    }
+
+    @Test
+    void aHolderThatLostItsClaimRollsBackItsWrites() {
+        jdbcTemplate.execute("CREATE TABLE idempotency_effects (id INT)");
+
+        assertThrows(IllegalStateException.class, () -> idempotencyService.execute("key-4", USER, ENDPOINT, REQUEST, () -> {
+            // Another request takes the key over while this one is still running
+            jdbcTemplate.update("UPDATE idempotency_keys SET claim_token = 'other' WHERE idempotency_key = 'key-4'");
+            return transactionTemplate.execute(status -> {
+                jdbcTemplate.update("INSERT INTO idempotency_effects VALUES (1)");
+                idempotencyService.completeInTransaction(Map.of("id", 1));
+                return ResponseEntity.ok(Map.of("id", 1));
+            });
+        }));
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM idempotency_effects", Integer.class));
+        assertNull(idempotencyRecordRepository.findByUserEmailAndIdempotencyKey(USER, "key-4").orElseThrow().getStatus());
+    }
+
+    @Test
+    void aServerErrorReleasesTheKey() {
+        ResponseEntity<?> failed = idempotencyService.execute("key-5", USER, ENDPOINT, REQUEST,
+                () -> ResponseEntity.internalServerError().body(Map.of("error", "down")));
+
+        assertEquals(500, failed.getStatusCode().value());
+        assertFalse(idempotencyRecordRepository.findByUserEmailAndIdempotencyKey(USER, "key-5").isPresent());
+        assertTrue(idempotencyService.execute("key-5", USER, ENDPOINT, REQUEST, this::book).getStatusCode().is2xxSuccessful());
+    }
+
+    private ResponseEntity<?> book() {
+        return transactionTemplate.execute(status -> {
+            Map<String, Object> body = Map.of("bookingId", executions.incrementAndGet());
+            idempotencyService.completeInTransaction(body);
+            return ResponseEntity.ok(body);
+        });
+    }
+
+    // Leaves the key claimed by another holder whose lease ends at the given time
+    private void claim(String key, LocalDateTime claimedUntil) {
+        idempotencyService.execute(key, USER, ENDPOINT, REQUEST, () -> {
+            jdbcTemplate.update("UPDATE idempotency_keys SET claim_token = 'holder', claimed_until = ? " +
+                    "WHERE idempotency_key = ?", claimedUntil, key);
+            return ResponseEntity.ok().build();
+        });
+    }
+}
@@ -0,0 +1,160 @@
+package org.example.service;
+
+import org.example.entity.Hotel;
+import org.example.entity.Room;
+import org.example.enums.RoomType;
+import org.example.exceptions.RoomUnavailableException;
+import org.example.repository.HotelRepository;
+import org.example.repository.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class InventoryServiceTest {
+
+    private static final int BUYERS = 16;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long hotelId;
+    private final LocalDate checkin = LocalDate.now().plusDays(30);
+    private final LocalDate checkout = checkin.plusDays(3);
+
+    @BeforeEach
+    void createHotelWithOneSuite() {
+        Hotel hotel = hotelRepository.save(Hotel.builder()
+                .name("Inventory Test " + System.nanoTime())
+                .location("Test")
+                .managerEmail("manager@test")
+                .build());
+        roomRepository.save(Room.builder().hotel(hotel).type(RoomType.SUITE).price(200.0).available(1).build());
+        hotelId = hotel.getId();
+    }
+
+    @Test
+    void theLastRoomIsSoldOnlyOnceUnderConcurrentBookings() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(BUYERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < BUYERS; i++) {
+            attempts.add(pool.submit(() -> {
+                start.await();
+                inventoryService.prepareNights(hotelId, RoomType.SUITE, checkin, checkout);
+                try {
+                    transactionTemplate.executeWithoutResult(status ->
+                            inventoryService.reserve(hotelId, RoomType.SUITE, checkin, checkout));
+                    return true;
+                } catch (RoomUnavailableException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        int sold = 0;
+        for (Future<Boolean> attempt : attempts) {
+            if (attempt.get(30, TimeUnit.SECONDS)) {
+                sold++;
+            }
+        }
+        pool.shutdown();
+
+        assertEquals(1, sold);
+        assertEquals(List.of(1, 1, 1), reservedPerNight());
+    }
+
+    @Test
+    void aStayOverlappingASoldOutNightTakesNoNights() {
+        inventoryService.prepareNights(hotelId, RoomType.SUITE, checkin, checkout.plusDays(2));
+        transactionTemplate.executeWithoutResult(status ->
+                inventoryService.reserve(hotelId, RoomType.SUITE, checkout.minusDays(1), checkout));
+
+        assertThrows(RoomUnavailableException.class, () -> transactionTemplate.executeWithoutResult(status ->
+                inventoryService.reserve(hotelId, RoomType.SUITE, checkin, checkout.plusDays(2))));
+
+        // The failed stay rolled back the free nights it had already taken
+        assertEquals(List.of(0, 0, 1, 0, 0), reservedPerNight());
+    }
+
+    @Test
+    void reserveRequiresTheCallersTransaction() {
+        inventoryService.prepareNights(hotelId, RoomType.SUITE, checkin, checkout);
+
+        assertThrows(Exception.class, () -> inventoryService.reserve(hotelId, RoomType.SUITE, checkin, checkout));
+        assertTrue(reservedPerNight().stream().allMatch(reserved -> reserved == 0));
+    }
+
+    @Test
+    void roomsListedInSeveralRowsAreSummed() {
+        Hotel hotel = hotelRepository.findById(hotelId).orElseThrow();
+        roomRepository.save(Room.builder().hotel(hotel).type(RoomType.SUITE).price(250.0).available(2).build());
+
+        inventoryService.prepareNights(hotelId, RoomType.SUITE, checkin, checkout);
+
+        assertEquals(List.of(3, 3, 3), totalPerNight());
+    }
+
+    @Test
+    void nightsAnotherInstanceCreatedMidBatchDoNotLoseTheRest() throws Exception {
+        CountDownLatch inserted = new CountDownLatch(1);
+        ExecutorService otherInstance = Executors.newSingleThreadExecutor();
+        // Holds the middle night uncommitted, so our batch misses it, blocks on it and fails
+        Future<?> creation = otherInstance.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO room_inventory (hotel_id, room_type, night, total, reserved) " +
+                    "VALUES (?, ?, ?, 1, 0)", hotelId, RoomType.SUITE.name(), checkin.plusDays(1));
+            inserted.countDown();
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(inserted.await(10, TimeUnit.SECONDS));
+
+        inventoryService.prepareNights(hotelId, RoomType.SUITE, checkin, checkout);
+        creation.get(10, TimeUnit.SECONDS);
+        otherInstance.shutdown();
+
+        assertEquals(List.of(1, 1, 1), totalPerNight());
+    }
+
+    private List<Integer> totalPerNight() {
+        return jdbcTemplate.queryForList("SELECT total FROM room_inventory WHERE hotel_id = ? AND room_type = ? " +
+                "ORDER BY night", Integer.class, hotelId, RoomType.SUITE.name());
+    }
+
+    private List<Integer> reservedPerNight() {
+        return jdbcTemplate.queryForList("SELECT reserved FROM room_inventory WHERE hotel_id = ? AND room_type = ? " +
+                "ORDER BY night", Integer.class, hotelId, RoomType.SUITE.name());
+    }
+}
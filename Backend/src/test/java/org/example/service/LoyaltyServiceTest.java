@@ -0,0 +1,95 @@
+package org.example.service;
+
+import org.example.entity.Loyalty;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class LoyaltyServiceTest {
+
+    private static final int THREADS = 8;
+    private static final int OPERATIONS = 25;
+
+    @Autowired
+    private LoyaltyService loyaltyService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final String userEmail = "loyalty" + System.nanoTime() + "@test";
+
+    @Test
+    void concurrentAwardsAndRedeemsKeepTheBalanceAndLedgerInStep() throws Exception {
+        loyaltyService.awardPoints(userEmail, 20, "Opening balance");
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger(1);
+        List<Future<Integer>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Random random = new Random(t);
+            workers.add(pool.submit(() -> {
+                start.await();
+                // Net change of this worker's successful operations
+                int net = 0;
+                for (int i = 0; i < OPERATIONS; i++) {
+                    if (random.nextBoolean()) {
+                        int points = 1 + random.nextInt(10);
+                        loyaltyService.awardPoints(userEmail, points, "Award");
+                        net += points;
+                        succeeded.incrementAndGet();
+                    } else {
+                        int points = 1 + random.nextInt(20);
+                        try {
+                            loyaltyService.redeemPoints(userEmail, points);
+                            net -= points;
+                            succeeded.incrementAndGet();
+                        } catch (RuntimeException e) {
+                            assertTrue(e.getMessage().startsWith("Insufficient loyalty points"), e.getMessage());
+                        }
+                    }
+                }
+                return net;
+            }));
+        }
+        start.countDown();
+
+        int expected = 20;
+        for (Future<Integer> worker : workers) {
+            expected += worker.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        Loyalty loyalty = loyaltyService.getUserLoyalty(userEmail);
+        assertEquals(expected, loyalty.getAvailable());
+
+        // Entries are written under the account's row lock, so id order is commit order
+        List<Map<String, Object>> ledger = jdbcTemplate.queryForList("SELECT type, points, balance_after " +
+                "FROM loyalty_history WHERE loyalty_id = ? ORDER BY id", loyalty.getId());
+        assertEquals(succeeded.get(), ledger.size());
+        int balance = 0;
+        for (Map<String, Object> entry : ledger) {
+            int points = (Integer) entry.get("points");
+            balance += "EARNED".equals(entry.get("type")) ? points : -points;
+            assertEquals(balance, entry.get("balance_after"));
+            assertTrue(balance >= 0, "balance went negative: " + balance);
+        }
+        assertEquals(loyalty.getAvailable(), balance);
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.service;
+
+import org.example.enums.RoomType;
+import org.example.repository.RoomInventoryRepository;
+import org.example.repository.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OccupancyIndexTest {
+
+    private static final Long HOTEL = 1L;
+    private static final LocalDate NIGHT = LocalDate.now().plusDays(10);
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private RoomInventoryRepository roomInventoryRepository;
+
+    @InjectMocks
+    private OccupancyIndex occupancyIndex;
+
+    private final List<Object[]> ledger = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(roomRepository.findCapacities()).thenReturn(List.<Object[]>of(new Object[]{HOTEL, RoomType.SUITE, 1}));
+    }
+
+    @Test
+    void rebuildReadsSoldOutNightsFromTheLedger() {
+        ledger.add(new Object[]{HOTEL, RoomType.SUITE, NIGHT, 1, 1});
+        when(roomInventoryRepository.findOccupancyFrom(any())).thenReturn(ledger);
+
+        occupancyIndex.rebuild();
+
+        assertFalse(available());
+        assertTrue(occupancyIndex.isAvailable(HOTEL, RoomType.SUITE, NIGHT.plusDays(1), NIGHT.plusDays(2)));
+    }
+
+    @Test
+    void rebuildReplacesWhatTheOldSnapshotCounted() {
+        when(roomInventoryRepository.findOccupancyFrom(any())).thenReturn(ledger);
+        occupancyIndex.rebuild();
+        occupancyIndex.reserve(HOTEL, RoomType.SUITE, NIGHT, NIGHT.plusDays(1));
+        assertFalse(available());
+
+        // The booking was cancelled elsewhere, so the ledger no longer has it
+        occupancyIndex.rebuild();
+
+        assertTrue(available());
+    }
+
+    @Test
+    void releaseDuringRebuildIsNotLost() {
+        occupancyIndex.reserve(HOTEL, RoomType.SUITE, NIGHT, NIGHT.plusDays(1));
+        when(roomInventoryRepository.findOccupancyFrom(any())).thenAnswer(invocation -> {
+            // The ledger was read before the release committed
+            List<Object[]> read = List.<Object[]>of(new Object[]{HOTEL, RoomType.SUITE, NIGHT, 1, 1});
+            occupancyIndex.release(HOTEL, RoomType.SUITE, NIGHT, NIGHT.plusDays(1));
+            return read;
+        });
+
+        occupancyIndex.rebuild();
+
+        assertTrue(available());
+    }
+
+    @Test
+    void reserveDuringRebuildIsNotCountedTwice() {
+        when(roomRepository.findCapacities()).thenReturn(List.<Object[]>of(new Object[]{HOTEL, RoomType.SUITE, 2}));
+        when(roomInventoryRepository.findOccupancyFrom(any())).thenAnswer(invocation -> {
+            // The ledger already includes the booking whose callback runs now
+            occupancyIndex.reserve(HOTEL, RoomType.SUITE, NIGHT, NIGHT.plusDays(1));
+            return List.<Object[]>of(new Object[]{HOTEL, RoomType.SUITE, NIGHT, 2, 1});
+        });
+
+        occupancyIndex.rebuild();
+
+        assertTrue(available());
+    }
+
+    @Test
+    void removedHotelStaysRemovedAfterRebuild() {
+        when(roomInventoryRepository.findOccupancyFrom(any())).thenAnswer(invocation -> {
+            occupancyIndex.removeHotel(HOTEL);
+            return List.<Object[]>of(new Object[]{HOTEL, RoomType.SUITE, NIGHT, 1, 1});
+        });
+
+        occupancyIndex.rebuild();
+
+        // Unknown hotels are reported as available
+        assertTrue(available());
+    }
+
+    private boolean available() {
+        return occupancyIndex.isAvailable(HOTEL, RoomType.SUITE, NIGHT, NIGHT.plusDays(1));
+    }
+}
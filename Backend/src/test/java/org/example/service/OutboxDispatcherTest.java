@@ -0,0 +1,72 @@
+package org.example.service;
+
+import org.example.entity.OutboxEvent;
+import org.example.enums.OutboxEventType;
+import org.example.repository.OutboxEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class OutboxDispatcherTest {
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @AfterEach
+    void clear() {
+        outboxEventRepository.deleteAll();
+    }
+
+    @Test
+    void eventsInBackoffDoNotStallNewerEvents() {
+        // More retrying events than one poll reads, all older than the event that is due
+        List<OutboxEvent> retrying = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            retrying.add(award("user:stuck@test", "stuck@test", LocalDateTime.now().plusMinutes(10)));
+        }
+        outboxEventRepository.saveAll(retrying);
+        OutboxEvent fresh = outboxEventRepository.save(award("user:fresh@test", "fresh@test", null));
+
+        outboxDispatcher.dispatch();
+
+        assertFalse(outboxEventRepository.existsById(fresh.getId()));
+        assertEquals(250, outboxEventRepository.count());
+    }
+
+    @Test
+    void anEventInBackoffHoldsBackLaterEventsOfItsKeyOnly() {
+        OutboxEvent before = outboxEventRepository.save(award("user:a@test", "a@test", null));
+        OutboxEvent waiting = outboxEventRepository.save(award("user:a@test", "a@test", LocalDateTime.now().plusMinutes(10)));
+        OutboxEvent after = outboxEventRepository.save(award("user:a@test", "a@test", null));
+        OutboxEvent other = outboxEventRepository.save(award("user:b@test", "b@test", null));
+
+        outboxDispatcher.dispatch();
+
+        assertFalse(outboxEventRepository.existsById(before.getId()));
+        assertTrue(outboxEventRepository.existsById(waiting.getId()));
+        assertTrue(outboxEventRepository.existsById(after.getId()));
+        assertFalse(outboxEventRepository.existsById(other.getId()));
+    }
+
+    private static OutboxEvent award(String key, String email, LocalDateTime availableAt) {
+        return OutboxEvent.builder()
+                .eventType(OutboxEventType.LOYALTY_AWARD)
+                .orderingKey(key)
+                .payload("{\"userEmail\":\"" + email + "\",\"points\":10,\"description\":\"test\"}")
+                .availableAt(availableAt)
+                .build();
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.service;
+
+import org.example.entity.RoomRate;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RateCalendarTest {
+
+    // 2026-06-01 is a Monday, so the 5th and 6th are the Friday and Saturday nights
+    private static final LocalDate FROM = LocalDate.of(2026, 6, 1);
+    private static final LocalDate TO = LocalDate.of(2026, 7, 1);
+
+    @Test
+    void withoutRulesEveryNightCostsTheBasePrice() {
+        RateCalendar calendar = RateCalendar.build(50.0, List.of(), FROM, TO);
+
+        assertEquals(350.0, calendar.price(day(1), day(8)));
+        assertEquals(50.0, calendar.nightly(day(10)));
+    }
+
+    @Test
+    void weekendNightsUseTheWeekendPrice() {
+        RateCalendar calendar = RateCalendar.build(50.0, List.of(rule(1, 8, 100.0, 150.0, null)), FROM, TO);
+
+        assertEquals(5 * 100.0 + 2 * 150.0, calendar.price(day(1), day(8)));
+        assertEquals(150.0, calendar.nightly(day(5)));
+        assertEquals(100.0, calendar.nightly(day(7)));
+    }
+
+    @Test
+    void laterRulesOverrideEarlierOnes() {
+        RateCalendar calendar = RateCalendar.build(50.0, List.of(
+                rule(1, 8, 100.0, 150.0, null),
+                rule(3, 5, 80.0, null, null)), FROM, TO);
+
+        assertEquals(100 + 100 + 80 + 80 + 150 + 150 + 100, calendar.price(day(1), day(8)));
+    }
+
+    @Test
+    void nightsOutsideTheWindowUseTheBasePrice() {
+        RateCalendar calendar = RateCalendar.build(50.0, List.of(rule(1, 8, 100.0, null, null)), FROM, TO);
+
+        assertEquals(50 + 50 + 100, calendar.price(LocalDate.of(2026, 5, 30), day(2)));
+        assertEquals(4 * 50.0, calendar.price(day(29), LocalDate.of(2026, 7, 3)));
+        assertEquals(3 * 50.0, calendar.price(LocalDate.of(2026, 8, 1), LocalDate.of(2026, 8, 4)));
+    }
+
+    @Test
+    void prefixSumsMatchANightByNightTotalForEveryStay() {
+        List<RoomRate> rules = List.of(rule(2, 20, 120.0, 170.0, null), rule(10, 14, 90.0, 95.0, null));
+        RateCalendar calendar = RateCalendar.build(60.0, rules, FROM, TO);
+
+        for (LocalDate in = FROM.minusDays(3); in.isBefore(TO.plusDays(3)); in = in.plusDays(1)) {
+            double total = 0;
+            for (LocalDate out = in.plusDays(1); !out.isAfter(TO.plusDays(3)); out = out.plusDays(1)) {
+                total += calendar.nightly(out.minusDays(1));
+                assertEquals(total, calendar.price(in, out), 1e-9, in + " to " + out);
+            }
+        }
+    }
+
+    @Test
+    void minStayComesFromTheRuleCoveringCheckin() {
+        RateCalendar calendar = RateCalendar.build(50.0, List.of(rule(5, 7, 100.0, null, 2)), FROM, TO);
+
+        assertEquals(2, calendar.minStay(day(5)));
+        assertEquals(1, calendar.minStay(day(7)));
+        assertEquals(1, calendar.minStay(LocalDate.of(2026, 5, 1)));
+    }
+
+    private static LocalDate day(int dayOfJune) {
+        return LocalDate.of(2026, 6, dayOfJune);
+    }
+
+    private static RoomRate rule(int startDay, int endDay, Double price, Double weekendPrice, Integer minStay) {
+        return RoomRate.builder()
+                .startDate(day(startDay))
+                .endDate(day(endDay))
+                .price(price)
+                .weekendPrice(weekendPrice)
+                .minStay(minStay)
+                .build();
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReviewDuplicateServiceTest {
+
+    private static final String FIRST = "The breakfast buffet was excellent and the pool area was very clean";
+    private static final String SECOND = "Parking was expensive but the rooftop bar had a great view at night";
+    private static final String DURING_LOAD = "Check-in took forty minutes and nobody at the desk apologised to us";
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ReviewDuplicateService service = new ReviewDuplicateService(0.8, 40);
+
+    @Test
+    void reviewsCommittedDuringTheLoadAreKept() {
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+        int[] reads = {0};
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(), any())).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(2);
+            if (afterId == 0) {
+                // Review 3 commits while the first chunk is being read and goes to the live index
+                service.index(3L, 20L, "late@test", DURING_LOAD);
+                return List.<Object[]>of(row(1, FIRST), row(2, SECOND));
+            }
+            // The load ends at review 2; the catch-up read after the swap finds review 3
+            return afterId == 2 && reads[0]++ == 1 ? List.<Object[]>of(row(3, DURING_LOAD)) : List.of();
+        });
+
+        service.loadIndex();
+
+        assertEquals(1L, service.findDuplicate(30L, "other@test", FIRST));
+        assertEquals(3L, service.findDuplicate(30L, "other@test", DURING_LOAD));
+    }
+
+    private static Object[] row(long id, String comment) {
+        return new Object[]{id, 10L + id, "author" + id + "@test", comment, false};
+    }
+}
@@ -0,0 +1,116 @@
+package org.example.service;
+
+import org.example.entity.Booking;
+import org.example.entity.Hotel;
+import org.example.entity.HotelRatingAggregate;
+import org.example.entity.Review;
+import org.example.enums.BookingStatus;
+import org.example.enums.HotelStatus;
+import org.example.enums.RoomType;
+import org.example.repository.BookingRepository;
+import org.example.repository.HotelRatingAggregateRepository;
+import org.example.repository.HotelRepository;
+import org.example.repository.ReviewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ReviewServiceTest {
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private HotelRatingAggregateRepository hotelRatingAggregateRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Hotel hotel;
+    private final String userEmail = "reviewer" + System.nanoTime() + "@test";
+
+    @BeforeEach
+    void createHotel() {
+        hotel = hotelRepository.save(Hotel.builder()
+                .name("Review Test " + System.nanoTime())
+                .location("Test")
+                .managerEmail("manager@test")
+                .status(HotelStatus.APPROVED)
+                .build());
+    }
+
+    @Test
+    void clearingAFlaggedReviewCountsAndRewardsItOnce() {
+        Review review = flaggedReview(4, false);
+
+        reviewService.unflagReview(review.getId());
+        assertThrows(IllegalStateException.class, () -> reviewService.unflagReview(review.getId()));
+
+        Review cleared = reviewRepository.findById(review.getId()).orElseThrow();
+        assertFalse(cleared.getFlagged());
+        assertTrue(cleared.getPointsAwarded());
+        HotelRatingAggregate ratings = hotelRatingAggregateRepository.findById(hotel.getId()).orElseThrow();
+        assertEquals(1L, ratings.getReviewCount());
+        assertEquals(4L, ratings.getRatingSum());
+        assertEquals(1, loyaltyAwards());
+    }
+
+    @Test
+    void clearingAReviewThatAlreadyEarnedPointsAwardsNoMore() {
+        // Flagged by a scan after it had been counted and rewarded
+        Review review = flaggedReview(5, true);
+
+        reviewService.unflagReview(review.getId());
+
+        assertEquals(0, loyaltyAwards());
+    }
+
+    private Review flaggedReview(int rating, boolean pointsAwarded) {
+        LocalDate checkin = LocalDate.now().minusDays(3);
+        Booking booking = bookingRepository.save(Booking.builder()
+                .hotel(hotel)
+                .userEmail(userEmail)
+                .roomType(RoomType.STANDARD)
+                .checkin(checkin)
+                .checkout(checkin.plusDays(1))
+                .nights(1)
+                .pricePerNight(100.0)
+                .total(100.0)
+                .status(BookingStatus.PAID)
+                .build());
+        return reviewRepository.save(Review.builder()
+                .booking(booking)
+                .hotel(hotel)
+                .userEmail(userEmail)
+                .rating(rating)
+                .comment("Lovely stay, the staff were friendly and the room was spotless")
+                .flagged(true)
+                .duplicateOfId(1L)
+                .pointsAwarded(pointsAwarded)
+                .build());
+    }
+
+    private int loyaltyAwards() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events WHERE event_type = 'LOYALTY_AWARD' " +
+                "AND ordering_key = ?", Integer.class, "user:" + userEmail);
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvReaderTest {
+
+    @Test
+    void readsPlainRecords() throws IOException {
+        assertEquals(List.of(List.of("name", "location"), List.of("Sea View", "Goa")),
+                readAll("name,location\nSea View,Goa\n"));
+    }
+
+    @Test
+    void quotedFieldsKeepCommasDoubledQuotesAndLineBreaks() throws IOException {
+        List<List<String>> records = readAll("\"Hotel, Inn\",\"say \"\"hi\"\"\",\"line one\r\nline two\"\r\nnext,row\r\n");
+
+        assertEquals(List.of("Hotel, Inn", "say \"hi\"", "line one\r\nline two"), records.get(0));
+        assertEquals(List.of("next", "row"), records.get(1));
+        assertEquals(2, records.size());
+    }
+
+    @Test
+    void crlfAndLfBothEndRecordsAndBlankLinesAreSkipped() throws IOException {
+        assertEquals(List.of(List.of("a", "b"), List.of("c", "d"), List.of("e")),
+                readAll("a,b\r\n\r\nc,d\n\ne"));
+    }
+
+    @Test
+    void emptyFieldsArePreserved() throws IOException {
+        assertEquals(List.of(List.of("", "x", "", "")), readAll(",x,,\n"));
+        assertEquals(List.of(List.of("", "")), readAll("\"\",\n"));
+    }
+
+    @Test
+    void unterminatedQuoteFails() {
+        assertThrows(IOException.class, () -> readAll("a,\"open\nstill open"));
+    }
+
+    @Test
+    void emptyInputHasNoRecords() throws IOException {
+        assertEquals(List.of(), readAll(""));
+    }
+
+    private static List<List<String>> readAll(String csv) throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(csv));
+        List<List<String>> records = new ArrayList<>();
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashedTimingWheelTest {
+
+    // 8 buckets of 100 ms, so one revolution is 800 ms
+    private final HashedTimingWheel wheel = new HashedTimingWheel(8, 100, 0);
+
+    @Test
+    void idsExpireTickByTickInDeadlineOrder() {
+        wheel.schedule(1, 300);
+        wheel.schedule(2, 100);
+        wheel.schedule(3, 200);
+
+        assertEquals(List.of(), wheel.advance(50));
+        assertEquals(List.of(2L), wheel.advance(150));
+        assertEquals(List.of(3L), wheel.advance(250));
+        assertEquals(List.of(1L), wheel.advance(350));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void oneAdvanceOverSeveralTicksReturnsThemInDeadlineOrder() {
+        wheel.schedule(1, 300);
+        wheel.schedule(2, 100);
+        wheel.schedule(3, 200);
+        wheel.schedule(4, 500);
+
+        assertEquals(List.of(2L, 3L, 1L), wheel.advance(399));
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void deadlinesBeyondOneRevolutionWaitForTheirRound() {
+        // Tick 10 shares a bucket with tick 2
+        wheel.schedule(9, 1000);
+
+        assertEquals(List.of(), wheel.advance(250));
+        assertEquals(List.of(), wheel.advance(999));
+        assertEquals(List.of(9L), wheel.advance(1000));
+    }
+
+    @Test
+    void pastDeadlinesFireOnTheNextAdvance() {
+        wheel.advance(500);
+        wheel.schedule(5, 100);
+
+        assertEquals(List.of(5L), wheel.advance(600));
+    }
+
+    @Test
+    void fallingBehindMoreThanARevolutionStillReturnsEveryDueId() {
+        for (long id = 0; id < 20; id++) {
+            wheel.schedule(id, id * 150);
+        }
+
+        List<Long> due = wheel.advance(10_000);
+
+        assertEquals(20, due.size());
+        assertTrue(due.containsAll(List.of(0L, 7L, 19L)));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void rejectsNonPositiveSizes() {
+        assertThrows(IllegalArgumentException.class, () -> new HashedTimingWheel(0, 100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new HashedTimingWheel(8, 0, 0));
+    }
+}
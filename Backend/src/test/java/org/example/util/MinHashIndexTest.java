@@ -0,0 +1,95 @@
+package org.example.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MinHashIndexTest {
+
+    private static final String REVIEW = "The room was spotless and the staff at the front desk were friendly. "
+            + "Breakfast had plenty of choice and the pool was warm. Would happily stay here again next summer.";
+
+    private final MinHashIndex<String> index = new MinHashIndex<>(16, 4, 42L);
+
+    @Test
+    void identicalTextsHaveSimilarityOne() {
+        int[] a = index.signature(REVIEW, 40);
+        int[] b = index.signature(REVIEW, 40);
+
+        assertEquals(1.0, MinHashIndex.similarity(a, b));
+    }
+
+    @Test
+    void caseAndPunctuationAreIgnored() {
+        int[] plain = index.signature(REVIEW, 40);
+        int[] shouted = index.signature(REVIEW.toUpperCase().replace(".", "!!!").replace(" ", "  "), 40);
+
+        assertArrayEquals(plain, shouted);
+    }
+
+    @Test
+    void nearDuplicateScoresHighAndUnrelatedTextScoresLow() {
+        int[] original = index.signature(REVIEW, 40);
+        int[] edited = index.signature(REVIEW.replace("next summer", "next winter"), 40);
+        int[] unrelated = index.signature("Parking was expensive, the lift was broken for two days "
+                + "and nobody answered the phone at reception during the night shift.", 40);
+
+        assertTrue(MinHashIndex.similarity(original, edited) > 0.7);
+        assertTrue(MinHashIndex.similarity(original, unrelated) < 0.2);
+    }
+
+    @Test
+    void textsShorterThanTheMinimumHaveNoSignature() {
+        assertNull(index.signature("Great stay!", 40));
+        assertNull(index.signature("abcd", 0));
+        assertNull(index.signature(null, 0));
+    }
+
+    @Test
+    void matchesFindsStoredNearDuplicates() {
+        index.put(1L, index.signature(REVIEW, 40), "first");
+        index.put(2L, index.signature("Parking was expensive, the lift was broken for two days "
+                + "and nobody answered the phone at reception during the night shift.", 40), "second");
+
+        List<MinHashIndex.Match<String>> matches =
+                index.matches(index.signature(REVIEW.replace("friendly", "welcoming"), 40), 0.6);
+
+        assertEquals(1, matches.size());
+        assertEquals(1L, matches.get(0).id());
+        assertEquals("first", matches.get(0).value());
+    }
+
+    @Test
+    void signaturesSharingOneBandBecomeCandidates() {
+        int[] stored = new int[64];
+        Arrays.setAll(stored, i -> i);
+        index.put(7L, stored, "stored");
+
+        // Differs everywhere except the four rows of band 3
+        int[] oneBand = new int[64];
+        Arrays.setAll(oneBand, i -> i >= 12 && i < 16 ? i : i + 1000);
+        int[] noBand = new int[64];
+        Arrays.setAll(noBand, i -> i == 12 ? i : i + 1000);
+
+        List<MinHashIndex.Match<String>> collided = index.matches(oneBand, 0.0);
+        assertEquals(1, collided.size());
+        assertEquals(4.0 / 64, collided.get(0).similarity());
+        assertTrue(index.matches(noBand, 0.0).isEmpty());
+    }
+
+    @Test
+    void removedEntriesAreNoLongerMatched() {
+        int[] signature = index.signature(REVIEW, 40);
+        index.put(1L, signature, "first");
+        index.remove(1L);
+
+        assertTrue(index.matches(signature, 0.0).isEmpty());
+        assertEquals(0, index.size());
+    }
+}
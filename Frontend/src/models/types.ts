@@ -16,6 +16,8 @@ export type HotelDetail = {
   images: string[];
   amenities: string[];
   rating: number;
+  reviewCount?: number;
+  ratingHistogram?: Record<number, number>;
   location: string;
   rooms: Record<RoomType, { price: number; available: number }>;
 };
@@ -31,7 +33,8 @@ export type Booking = {
   nights: number;
   pricePerNight: number;
   total: number;
-  status: 'pending_payment' | 'paid';
+  status: 'pending_payment' | 'paid' | 'expired';
+  holdExpiresAt?: string;
 };
 
 export type Payment = {
@@ -70,6 +73,8 @@ export type LoyaltyInfo = {
   totalEarned: number; 
   totalRedeemed: number; 
   history: LoyaltyHistoryItem[] 
+  // Cursor for the next, older page of history; null when there is none
+  nextCursor?: string | null;
 };
 
 export type User = {
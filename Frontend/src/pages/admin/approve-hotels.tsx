@@ -1,6 +1,12 @@
 import { useEffect, useState } from "react";
 import "./admin.css";
-import { getHotelsByStatus, approveHotel, rejectHotel } from "@/services/admin";
+import {
+  getAllHotels,
+  formatTotalCount,
+  approveHotel,
+  rejectHotel,
+  type ListingPage,
+} from "@/services/admin";
 import type { AdminHotel } from "@/models/types";
 import { Hotel, CheckCircle, X, Eye } from "lucide-react";
 
@@ -9,35 +15,76 @@ export default function AdminApproveHotelsPage() {
     document.title = "Approve Hotels | Admin Panel";
   }, []);
 
-  const [hotels, setHotels] = useState<AdminHotel[]>([]);
+  const [page, setPage] = useState<ListingPage<AdminHotel> | null>(null);
   const [filter, setFilter] = useState<"pending" | "approved" | "rejected">(
     "pending"
   );
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [actionLoading, setActionLoading] = useState<number | null>(null);
   const [error, setError] = useState("");
 
   useEffect(() => {
+    let cancelled = false;
     setLoading(true);
-    getHotelsByStatus(filter)
+    getAllHotels({ status: filter, count: "estimate" })
       .then((data) => {
-        setHotels(Array.isArray(data) ? data : []);
+        if (!cancelled) setPage(data);
       })
       .catch((err) => {
+        if (cancelled) return;
         console.error("Error loading hotels:", err);
         setError("Failed to load hotels");
-        setHotels([]);
+        setPage(null);
       })
-      .finally(() => setLoading(false));
+      .finally(() => {
+        if (!cancelled) setLoading(false);
+      });
+    return () => {
+      cancelled = true;
+    };
   }, [filter]);
 
+  const hotels = page?.items ?? [];
+
+  // Approved or rejected hotels leave the current status list
+  const removeHotel = (hotelId: number) =>
+    setPage((prev) =>
+      prev && {
+        ...prev,
+        items: prev.items.filter((h) => h.id !== hotelId),
+        totalCount:
+          prev.totalCount != null ? Math.max(prev.totalCount - 1, 0) : null,
+      }
+    );
+
+  const handleLoadMore = async () => {
+    if (!page?.nextCursor || loadingMore) return;
+
+    setLoadingMore(true);
+    setError("");
+    try {
+      const next = await getAllHotels({ status: filter, cursor: page.nextCursor });
+      setPage((prev) => ({
+        ...next,
+        items: [...(prev?.items ?? []), ...next.items],
+        totalCount: prev?.totalCount ?? null,
+        countAccuracy: prev?.countAccuracy ?? null,
+      }));
+    } catch (err) {
+      setError("Failed to load more hotels");
+      console.error("Load more error:", err);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleApprove = async (hotelId: number) => {
     setActionLoading(hotelId);
     setError("");
     try {
       await approveHotel(hotelId);
-      // CORRECTED: Filter the hotel out of the local state
-      setHotels(hotels.filter((h) => h.id !== hotelId));
+      removeHotel(hotelId);
     } catch (err) {
       setError("Failed to approve hotel");
       console.error("Approve error:", err);
@@ -51,8 +98,7 @@ export default function AdminApproveHotelsPage() {
     setError("");
     try {
       await rejectHotel(hotelId);
-      // CORRECTED: Filter the hotel out of the local state
-      setHotels(hotels.filter((h) => h.id !== hotelId));
+      removeHotel(hotelId);
     } catch (err) {
       setError("Failed to reject hotel");
       console.error("Reject error:", err);
@@ -99,7 +145,7 @@ export default function AdminApproveHotelsPage() {
           <div className="filter-group">
             <span className="filter-label">Total Results</span>
             <span className="filter-count">
-              {Array.isArray(hotels) ? hotels.length : 0} hotels
+              {page ? formatTotalCount(page) : 0} hotels
             </span>
           </div>
         </div>
@@ -108,7 +154,7 @@ export default function AdminApproveHotelsPage() {
       {error && <div className="alert error">{error}</div>}
 
       {/* Hotels Grid */}
-      {!Array.isArray(hotels) || hotels.length === 0 ? (
+      {hotels.length === 0 ? (
         <div className="empty-state">
           <h3>No hotels found</h3>
           <p>No hotels match the current filter criteria.</p>
@@ -188,6 +234,18 @@ export default function AdminApproveHotelsPage() {
           ))}
         </div>
       )}
+      {page?.nextCursor && (
+        <div className="mt-4">
+          <button
+            type="button"
+            className="view-button"
+            onClick={handleLoadMore}
+            disabled={loadingMore}
+          >
+            {loadingMore ? "Loading..." : "Load more"}
+          </button>
+        </div>
+      )}
     </div>
   );
 }
@@ -1,7 +1,7 @@
 import { useEffect, useState } from "react";
 import "./admin.css";
 // 1. IMPORT the services we need
-import { getHotelsByStatus, getAllUsers } from "@/services/admin";
+import { getAllHotels, getAllUsers } from "@/services/admin";
 import { Hotel, Users, CheckCircle, Clock, XCircle } from "lucide-react";
 
 export default function AdminDashboardPage() {
@@ -27,22 +27,23 @@ export default function AdminDashboardPage() {
         // 2. Use Promise.all to fetch all data concurrently
         const [pendingHotels, approvedHotels, rejectedHotels, allUsers] =
           await Promise.all([
-            getHotelsByStatus("pending"),
-            getHotelsByStatus("approved"),
-            getHotelsByStatus("rejected"),
-            getAllUsers(),
+            getAllHotels({ status: "pending", size: 1, count: "estimate" }),
+            getAllHotels({ status: "approved", size: 1, count: "estimate" }),
+            getAllHotels({ status: "rejected", size: 1, count: "estimate" }),
+            getAllUsers({ size: 1, count: "estimate" }),
           ]);
 
-        const totalHotels =
-          pendingHotels.length + approvedHotels.length + rejectedHotels.length;
+        const pending = pendingHotels.totalCount ?? 0;
+        const approved = approvedHotels.totalCount ?? 0;
+        const rejected = rejectedHotels.totalCount ?? 0;
 
         // 3. Set the state with the complete, accurate data
         setStats({
-          totalHotels: totalHotels,
-          approved: approvedHotels.length,
-          pending: pendingHotels.length,
-          rejected: rejectedHotels.length,
-          totalUsers: allUsers.length,
+          totalHotels: pending + approved + rejected,
+          approved,
+          pending,
+          rejected,
+          totalUsers: allUsers.totalCount ?? 0,
         });
       } catch (err) {
         console.error("Error loading dashboard:", err);
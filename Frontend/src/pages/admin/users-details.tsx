@@ -1,6 +1,10 @@
 import { useEffect, useState } from "react";
 import "./admin.css";
-import { getAllUsers } from "@/services/admin";
+import {
+  getAllUsers,
+  formatTotalCount,
+  type ListingPage,
+} from "@/services/admin";
 import type { User } from "@/models/types";
 import { Users, Search, Filter } from "lucide-react";
 
@@ -18,59 +22,98 @@ const formatRole = (role: string) => {
   }
 };
 
+type RoleFilter = "all" | "ROLE_USER" | "ROLE_MANAGER" | "ROLE_ADMIN";
+type UserCounts = Record<RoleFilter, ListingPage<User> | null>;
+
 export default function AdminUsersDetailsPage() {
   useEffect(() => {
     document.title = "Users Details | Admin Panel";
   }, []);
 
-  const [users, setUsers] = useState<User[]>([]);
-  const [filteredUsers, setFilteredUsers] = useState<User[]>([]);
+  const [page, setPage] = useState<ListingPage<User> | null>(null);
+  const [counts, setCounts] = useState<UserCounts | null>(null);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [searchTerm, setSearchTerm] = useState("");
   // Updated state type to match backend role values
-  const [roleFilter, setRoleFilter] = useState<
-    "all" | "ROLE_USER" | "ROLE_MANAGER" | "ROLE_ADMIN"
-  >("all");
+  const [roleFilter, setRoleFilter] = useState<RoleFilter>("all");
   const [error, setError] = useState("");
 
+  // Stats count every user on the server, not just the loaded page
   useEffect(() => {
-    setLoading(true);
-    getAllUsers()
-      .then((userData) => {
-        setUsers(userData);
-        setFilteredUsers(userData);
-      })
-      .catch(() => setError("Failed to load users"))
-      .finally(() => setLoading(false));
+    Promise.all(
+      (["all", "ROLE_USER", "ROLE_MANAGER", "ROLE_ADMIN"] as RoleFilter[]).map(
+        (role) =>
+          getAllUsers({
+            role: role === "all" ? undefined : role,
+            size: 1,
+            count: "estimate",
+          })
+      )
+    )
+      .then(([all, user, manager, admin]) =>
+        setCounts({
+          all,
+          ROLE_USER: user,
+          ROLE_MANAGER: manager,
+          ROLE_ADMIN: admin,
+        })
+      )
+      .catch(() => setError("Failed to load user counts"));
   }, []);
 
+  // The server filters by email prefix and role; wait for typing to pause
   useEffect(() => {
-    let filtered = users;
+    let cancelled = false;
+    const timer = setTimeout(() => {
+      getAllUsers({
+        email: searchTerm.trim() || undefined,
+        role: roleFilter === "all" ? undefined : roleFilter,
+        count: "estimate",
+      })
+        .then((data) => {
+          if (cancelled) return;
+          setPage(data);
+          setError("");
+        })
+        .catch(() => {
+          if (!cancelled) setError("Failed to load users");
+        })
+        .finally(() => {
+          if (!cancelled) setLoading(false);
+        });
+    }, searchTerm ? 300 : 0);
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+  }, [searchTerm, roleFilter]);
 
-    // Filter by search term
-    if (searchTerm) {
-      filtered = filtered.filter((user) =>
-        user.email.toLowerCase().includes(searchTerm.toLowerCase())
-      );
-    }
+  const onLoadMore = async () => {
+    if (!page?.nextCursor || loadingMore) return;
 
-    // Filter by role (this logic remains the same)
-    if (roleFilter !== "all") {
-      filtered = filtered.filter((user) => user.role === roleFilter);
+    try {
+      setLoadingMore(true);
+      setError("");
+      const next = await getAllUsers({
+        email: searchTerm.trim() || undefined,
+        role: roleFilter === "all" ? undefined : roleFilter,
+        cursor: page.nextCursor,
+      });
+      setPage((prev) => ({
+        ...next,
+        items: [...(prev?.items ?? []), ...next.items],
+        totalCount: prev?.totalCount ?? null,
+        countAccuracy: prev?.countAccuracy ?? null,
+      }));
+    } catch (err) {
+      setError("Failed to load more users");
+    } finally {
+      setLoadingMore(false);
     }
-
-    setFilteredUsers(filtered);
-  }, [users, searchTerm, roleFilter]);
-
-  const getRoleStats = () => {
-    const stats = users.reduce((acc, user) => {
-      acc[user.role] = (acc[user.role] || 0) + 1;
-      return acc;
-    }, {} as Record<string, number>);
-    return stats;
   };
 
-  const roleStats = getRoleStats();
+  const users = page?.items ?? [];
 
   if (loading) {
     return (
@@ -95,19 +138,27 @@ export default function AdminUsersDetailsPage() {
       {/* User Stats - Updated to use backend role keys */}
       <div className="quick-stats">
         <div className="quick-stat">
-          <div className="quick-stat-value">{users.length}</div>
+          <div className="quick-stat-value">
+            {counts ? formatTotalCount(counts.all) : "—"}
+          </div>
           <div className="quick-stat-label">Total Users</div>
         </div>
         <div className="quick-stat">
-          <div className="quick-stat-value">{roleStats.ROLE_USER || 0}</div>
+          <div className="quick-stat-value">
+            {counts ? formatTotalCount(counts.ROLE_USER) : "—"}
+          </div>
           <div className="quick-stat-label">Customers</div>
         </div>
         <div className="quick-stat">
-          <div className="quick-stat-value">{roleStats.ROLE_MANAGER || 0}</div>
+          <div className="quick-stat-value">
+            {counts ? formatTotalCount(counts.ROLE_MANAGER) : "—"}
+          </div>
           <div className="quick-stat-label">Managers</div>
         </div>
         <div className="quick-stat">
-          <div className="quick-stat-value">{roleStats.ROLE_ADMIN || 0}</div>
+          <div className="quick-stat-value">
+            {counts ? formatTotalCount(counts.ROLE_ADMIN) : "—"}
+          </div>
           <div className="quick-stat-label">Admins</div>
         </div>
       </div>
@@ -120,7 +171,7 @@ export default function AdminUsersDetailsPage() {
             <input
               className="filter-input"
               type="text"
-              placeholder="Search by name or email..."
+              placeholder="Search by email..."
               value={searchTerm}
               onChange={(e) => setSearchTerm(e.target.value)}
             />
@@ -144,7 +195,7 @@ export default function AdminUsersDetailsPage() {
           <div className="filter-group">
             <span className="filter-label">Results</span>
             <span className="hotel-detail-value">
-              {filteredUsers.length} users
+              {page ? formatTotalCount(page) : "—"} users
             </span>
           </div>
         </div>
@@ -153,7 +204,7 @@ export default function AdminUsersDetailsPage() {
       {error && <div className="alert error">{error}</div>}
 
       {/* Users Table */}
-      {filteredUsers.length === 0 ? (
+      {users.length === 0 ? (
         <div className="empty-state">
           <h3>No users found</h3>
           <p>No users match the current search and filter criteria.</p>
@@ -170,7 +221,7 @@ export default function AdminUsersDetailsPage() {
               </tr>
             </thead>
             <tbody>
-              {filteredUsers.map((user) => {
+              {users.map((user) => {
                 // Use the helper to get display-friendly values
                 const roleInfo = formatRole(user.role);
                 return (
@@ -202,6 +253,18 @@ export default function AdminUsersDetailsPage() {
           </table>
         </div>
       )}
+      {page?.nextCursor && (
+        <div className="mt-4">
+          <button
+            type="button"
+            className="view-button"
+            onClick={onLoadMore}
+            disabled={loadingMore}
+          >
+            {loadingMore ? "Loading..." : "Load more"}
+          </button>
+        </div>
+      )}
     </div>
   );
 }
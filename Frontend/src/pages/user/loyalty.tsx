@@ -1,6 +1,6 @@
 import { useEffect, useState } from "react";
 import { useAuth } from "@/context/AuthContext";
-import { getLoyalty, redeemLoyalty } from "@/services/hotel";
+import { getLoyalty, getLoyaltyHistory, redeemLoyalty } from "@/services/hotel";
 import { Gift } from "lucide-react";
 import "./loyalty.css";
 
@@ -13,6 +13,7 @@ export default function UserLoyaltyPage() {
   const [redeem, setRedeem] = useState(100);
   const [error, setError] = useState(null);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
 
   useEffect(() => {
     // Only fetch if auth and user are available
@@ -43,13 +44,37 @@ export default function UserLoyaltyPage() {
     try {
       setError(null);
       const updated = await redeemLoyalty(auth.user.email, redeem);
-      setInfo(updated);
+      // The redeem response carries only the new entry; keep the history already shown
+      setInfo((prev) => ({
+        ...updated,
+        history: [...(updated.history ?? []), ...(prev?.history ?? [])],
+        nextCursor: prev?.nextCursor ?? null,
+      }));
       setRedeem(100);
     } catch (err) {
       setError(err?.message || "Failed to redeem points");
     }
   };
 
+  const onLoadMore = async () => {
+    if (!info?.nextCursor || loadingMore) return;
+
+    try {
+      setLoadingMore(true);
+      setError(null);
+      const page = await getLoyaltyHistory(info.nextCursor);
+      setInfo((prev) => ({
+        ...prev,
+        history: [...(prev?.history ?? []), ...page.history],
+        nextCursor: page.nextCursor,
+      }));
+    } catch (err) {
+      setError(err?.message || "Failed to load more history");
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   // Show loading state
   if (loading) {
     return (
@@ -206,6 +231,18 @@ export default function UserLoyaltyPage() {
             <p>Your points activity will appear here.</p>
           </div>
         )}
+        {info?.nextCursor && (
+          <div className="form-group mt-4">
+            <button
+              type="button"
+              className="submit-button"
+              onClick={onLoadMore}
+              disabled={loadingMore}
+            >
+              {loadingMore ? "Loading..." : "Load more"}
+            </button>
+          </div>
+        )}
       </div>
     </div>
   );
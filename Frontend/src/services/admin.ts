@@ -16,16 +16,50 @@ export type AdminHotel = {
 };
 
 // Hotel endpoints
+export type ListingParams = {
+  cursor?: string;
+  size?: number;
+  count?: "none" | "exact" | "estimate";
+};
+
+export type ListingPage<T> = {
+  items: T[];
+  nextCursor: string | null;
+  totalCount: number | null;
+  countAccuracy: "exact" | "estimate" | "at-least" | null;
+};
+
+function toListingPage<T>(res: { data: unknown; headers: Record<string, any> }): ListingPage<T> {
+  const total = res.headers["x-total-count"];
+  return {
+    items: res.data as T[],
+    nextCursor: res.headers["x-next-cursor"] ?? null,
+    totalCount: total != null ? Number(total) : null,
+    countAccuracy: res.headers["x-total-count-accuracy"] ?? null,
+  };
+}
+
+// "estimate" counts come from table statistics, "at-least" from a capped scan
+export function formatTotalCount(page: Pick<ListingPage<unknown>, "totalCount" | "countAccuracy">) {
+  if (page.totalCount == null) return "—";
+  if (page.countAccuracy === "at-least") return `${page.totalCount}+`;
+  if (page.countAccuracy === "estimate") return `~${page.totalCount}`;
+  return `${page.totalCount}`;
+}
+
 export async function getHotelsByStatus(
-  status: "approved" | "pending" | "rejected"
+  status: "approved" | "pending" | "rejected",
+  params: ListingParams = {}
 ) {
-  const res = await api.get(`/api/admin/hotels/${status}`);
+  const res = await api.get(`/api/admin/hotels/${status}`, { params });
   return res.data as AdminHotel[];
 }
 
-export async function getAllHotels() {
-  const res = await api.get("/api/admin/hotels");
-  return res.data as AdminHotel[];
+export async function getAllHotels(
+  params: ListingParams & { status?: string; managerEmail?: string; name?: string } = {}
+) {
+  const res = await api.get("/api/admin/hotels", { params });
+  return toListingPage<AdminHotel>(res);
 }
 
 export async function approveHotel(id: string) {
@@ -38,6 +72,26 @@ export async function rejectHotel(id: string) {
   return res.data as string;
 }
 
+export type ModerationOutcome = "UPDATED" | "UNCHANGED" | "CONFLICT" | "NOT_FOUND";
+
+export interface HotelModerationReport {
+  status: string;
+  requested: number;
+  updated: number;
+  unchanged: number;
+  conflicts: number;
+  notFound: number;
+  outcomes: { hotelId: number; outcome: ModerationOutcome; previousStatus: string | null }[];
+  durationMs: number;
+}
+
+// Moves many hotels to one status at once; with expectedStatus only hotels
+// still in that status are changed and the rest come back as conflicts.
+export async function moderateHotels(hotelIds: number[], status: string, expectedStatus?: string) {
+  const res = await api.post(`/api/admin/hotels/moderation`, { hotelIds, status, expectedStatus });
+  return res.data as HotelModerationReport;
+}
+
 export async function setHotelPending(id: string) {
   const res = await api.put(`/api/admin/hotels/${id}/pending`);
   return res.data as string;
@@ -49,9 +103,11 @@ export async function deleteHotel(id: string) {
 }
 
 // User endpoints
-export async function getAllUsers() {
-  const res = await api.get("/api/admin/users");
-  return res.data as User[];
+export async function getAllUsers(
+  params: ListingParams & { role?: string; email?: string } = {}
+) {
+  const res = await api.get("/api/admin/users", { params });
+  return toListingPage<User>(res);
 }
 
 export async function updateUserRole(userId: number, role: string) {
@@ -69,3 +125,46 @@ export async function getDashboardStats() {
   const res = await api.get("/api/admin/dashboard/stats");
   return res.data as Record<string, any>;
 }
+
+// Live dashboard stats over Server-Sent Events. EventSource cannot send the bearer
+// token, so the stream is read with fetch. Returns a function that closes it.
+export function streamDashboardStats(
+  onStats: (stats: Record<string, any>) => void,
+  onError?: (error: unknown) => void
+) {
+  const controller = new AbortController();
+  const token = localStorage.getItem("token");
+
+  (async () => {
+    const res = await fetch(`${api.defaults.baseURL}/api/admin/dashboard/stream`, {
+      headers: token ? { Authorization: `Bearer ${token}` } : {},
+      credentials: "include",
+      signal: controller.signal,
+    });
+    if (!res.ok || !res.body) {
+      throw new Error(`Dashboard stream failed with status ${res.status}`);
+    }
+    const reader = res.body.pipeThrough(new TextDecoderStream()).getReader();
+    let buffer = "";
+    for (;;) {
+      const { value, done } = await reader.read();
+      if (done) break;
+      buffer += value;
+      let end;
+      while ((end = buffer.indexOf("\n\n")) >= 0) {
+        const data = buffer
+          .slice(0, end)
+          .split("\n")
+          .filter((line) => line.startsWith("data:"))
+          .map((line) => line.slice(5))
+          .join("\n");
+        buffer = buffer.slice(end + 2);
+        if (data) onStats(JSON.parse(data));
+      }
+    }
+  })().catch((error) => {
+    if (!controller.signal.aborted) onError?.(error);
+  });
+
+  return () => controller.abort();
+}
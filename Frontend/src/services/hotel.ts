@@ -7,6 +7,7 @@ import type {
   Payment,
   Review,
   LoyaltyInfo,
+  LoyaltyHistoryItem,
 } from "@/models/types";
 
 export interface BookingRequest {
@@ -97,6 +98,12 @@ export async function getLoyalty(userEmail) {
   return res.data;
 }
 
+// Older history entries, one keyset page at a time; pass the nextCursor of the page before
+export async function getLoyaltyHistory(cursor: string, size?: number) {
+  const res = await api.get("/api/user/loyalty/history", { params: { cursor, size } });
+  return res.data as { history: LoyaltyHistoryItem[]; nextCursor: string | null };
+}
+
 export async function redeemLoyalty(userEmail, points) {
   const res = await api.post("/api/user/loyalty/redeem", { points });
   return res.data;
@@ -21,6 +21,27 @@ export type NewHotelPayload = {
   imageUrl: string;
   rooms: { type: RoomType; price: number; available: number }[];
 };
+export type AnalyticsRow = {
+  hotelId: string;
+  hotelName: string;
+  date: string | null;
+  roomType: RoomType;
+  bookings: number;
+  arrivals: number;
+  roomNights: number;
+  capacity: number;
+  occupancy: number | null;
+  revenue: number;
+  adr: number | null;
+};
+
+export type ManagerAnalytics = {
+  from: string;
+  to: string;
+  daily: AnalyticsRow[];
+  totals: AnalyticsRow[];
+};
+
 export const replyToReview = async (
   reviewId: string,
   replyText: string
@@ -41,12 +62,72 @@ export async function addHotel(payload: NewHotelPayload) {
   return res.data as ManagerHotel;
 }
 
-export async function getManagerBookings(managerEmail: string) {
-  const res = await api.get("/api/manager/bookings");
+export type HotelImportReport = {
+  rowsRead: number;
+  hotelsImported: number;
+  roomsImported: number;
+  rowsFailed: number;
+  hotelIds: number[];
+  errors: { row: number; name: string | null; error: string }[];
+  durationMs: number;
+};
+
+export async function importHotels(file: File) {
+  const format = file.name.toLowerCase().endsWith(".csv") ? "csv" : "json";
+  const res = await api.post("/api/manager/hotels/import", file, {
+    params: { format },
+    headers: { "Content-Type": format === "csv" ? "text/csv" : "application/json" },
+  });
+  return res.data as HotelImportReport;
+}
+
+export type ManagerBookingFilters = {
+  hotelId?: string;
+  status?: string;
+  from?: string;
+  to?: string;
+  guest?: string;
+  cursor?: string;
+  size?: number;
+};
+
+export async function getManagerBookings(
+  managerEmail: string,
+  filters: ManagerBookingFilters = {}
+) {
+  const res = await api.get("/api/manager/bookings", { params: filters });
   return res.data as Booking[];
 }
 
+export async function getManagerBookingsPage(filters: ManagerBookingFilters = {}) {
+  const res = await api.get("/api/manager/bookings", { params: filters });
+  return {
+    bookings: res.data as Booking[],
+    nextCursor: (res.headers["x-next-cursor"] as string | undefined) ?? null,
+  };
+}
+
 export async function getManagerReviews(managerEmail: string) {
   const res = await api.get("/api/manager/reviews");
   return res.data as Review[];
 }
+
+export async function getManagerAnalytics(params: {
+  hotelId?: string;
+  from?: string;
+  to?: string;
+}) {
+  const res = await api.get("/api/manager/analytics", { params });
+  return res.data as ManagerAnalytics;
+}
+
+export async function downloadManagerExport(
+  kind: "bookings" | "reviews",
+  params: { format?: "csv" | "ndjson"; from?: string; to?: string; gzip?: boolean }
+) {
+  const res = await api.get(`/api/manager/exports/${kind}`, {
+    params,
+    responseType: "blob",
+  });
+  return res.data as Blob;
+}